@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.xml.bind.Marshaller;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.mining.MiningModel;
+import org.jpmml.model.JAXBUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Compares JAXB marshalling against direct serialization.
+ * </p>
+ *
+ * <p>
+ * A depth 8 decision tree takes roughly 50 kB in serialized form,
+ * so the largest configuration (20'000 trees) corresponds to a 1 GB forest.
+ * It requires a correspondingly large heap (eg. <code>-Xmx16G</code>).
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16G"})
+@State(Scope.Benchmark)
+public class DirectPMMLSerializerBenchmark {
+
+	@Param({"1000", "20000"})
+	public int trees;
+
+	@Param({"8"})
+	public int depth;
+
+	private PMML pmml = null;
+
+	private Marshaller marshaller = null;
+
+	private DirectPMMLSerializer serializer = null;
+
+
+	@Setup
+	public void setup() throws Exception {
+		ModelEncoder encoder = new ModelEncoder();
+
+		Schema schema = SyntheticForest.createSchema(encoder, 100);
+
+		MiningModel miningModel = SyntheticForest.createForest(schema, this.trees, this.depth, 42L);
+
+		this.pmml = encoder.encodePMML(miningModel);
+
+		this.marshaller = (JAXBUtil.getContext()).createMarshaller();
+		this.marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+
+		this.serializer = new DirectPMMLSerializer();
+	}
+
+	@Benchmark
+	public void jaxb() throws Exception {
+		this.marshaller.marshal(this.pmml, OutputStream.nullOutputStream());
+	}
+
+	@Benchmark
+	public void direct() throws Exception {
+		this.serializer.serialize(this.pmml, OutputStream.nullOutputStream());
+	}
+}
\ No newline at end of file
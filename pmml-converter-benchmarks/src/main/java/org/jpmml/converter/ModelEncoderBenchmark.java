@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.mining.MiningModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the end-to-end encoding (including cleaning) of random forests.
+ * </p>
+ *
+ * <p>
+ * The encoding modifies the model in place, so every invocation gets a freshly generated model.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelEncoderBenchmark {
+
+	@Param({"100", "1000", "10000"})
+	public int trees;
+
+	@Param({"8"})
+	public int depth;
+
+	@Param({"100"})
+	public int features;
+
+	private ModelEncoder encoder = null;
+
+	private MiningModel miningModel = null;
+
+
+	@Setup(Level.Invocation)
+	public void setup(){
+		this.encoder = new ModelEncoder();
+
+		Schema schema = SyntheticForest.createSchema(this.encoder, this.features);
+
+		this.miningModel = SyntheticForest.createForest(schema, this.trees, this.depth, 42L);
+	}
+
+	@Benchmark
+	public PMML encodePMML(){
+		return this.encoder.encodePMML(this.miningModel);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.True;
+import org.dmg.pmml.mining.MiningModel;
+import org.dmg.pmml.mining.Segmentation;
+import org.dmg.pmml.tree.BranchNode;
+import org.dmg.pmml.tree.LeafNode;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.converter.mining.MiningModelUtil;
+
+/**
+ * <p>
+ * Generates random, but reproducible, decision tree ensembles.
+ * </p>
+ */
+public class SyntheticForest {
+
+	private SyntheticForest(){
+	}
+
+	static
+	public Schema createSchema(ModelEncoder encoder, int numberOfFeatures){
+		DataField targetField = encoder.createDataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		List<Feature> features = new ArrayList<>();
+
+		for(int i = 0; i < numberOfFeatures; i++){
+			DataField dataField = encoder.createDataField("x" + (i + 1), OpType.CONTINUOUS, DataType.DOUBLE);
+
+			features.add(new ContinuousFeature(encoder, dataField));
+		}
+
+		return new Schema(encoder, new ContinuousLabel(targetField), features);
+	}
+
+	static
+	public MiningModel createForest(Schema schema, int numberOfTrees, int depth, long seed){
+		SplittableRandom random = new SplittableRandom(seed);
+
+		List<TreeModel> treeModels = new ArrayList<>(numberOfTrees);
+
+		for(int i = 0; i < numberOfTrees; i++){
+			treeModels.add(createTree(schema, depth, random));
+		}
+
+		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(schema.getLabel()))
+			.setSegmentation(MiningModelUtil.createSegmentation(Segmentation.MultipleModelMethod.SUM, Segmentation.MissingPredictionTreatment.RETURN_MISSING, treeModels));
+
+		return miningModel;
+	}
+
+	static
+	public TreeModel createTree(Schema schema, int depth, SplittableRandom random){
+		Node root = createNode(schema, True.INSTANCE, 0, depth, random);
+
+		TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(schema.getLabel()), root)
+			.setSplitCharacteristic(TreeModel.SplitCharacteristic.BINARY_SPLIT);
+
+		return treeModel;
+	}
+
+	static
+	private Node createNode(Schema schema, Predicate predicate, int level, int depth, SplittableRandom random){
+
+		if(level >= depth){
+			return new LeafNode(random.nextDouble(), predicate);
+		}
+
+		Feature feature = schema.getFeature(random.nextInt((schema.getFeatures()).size()));
+
+		Double threshold = random.nextDouble();
+
+		Node node = new BranchNode(null, predicate)
+			.addNodes(
+				createNode(schema, new SimplePredicate(feature.getName(), SimplePredicate.Operator.LESS_OR_EQUAL, threshold), level + 1, depth, random),
+				createNode(schema, new SimplePredicate(feature.getName(), SimplePredicate.Operator.GREATER_THAN, threshold), level + 1, depth, random)
+			);
+
+		return node;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * <p>
+ * Simulates the conversion of a deep decision tree, where the category manager is forked at every split.
+ * </p>
+ *
+ * <p>
+ * The "copying" benchmark uses the original {@link CategoryManager} implementation,
+ * which copies the complete value map on every fork.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValueManagerBenchmark {
+
+	@Param({"300"})
+	public int fields;
+
+	@Param({"12", "16"})
+	public int depth;
+
+	private List<String> names = null;
+
+	private List<List<Object>> categories = null;
+
+
+	@Setup
+	public void setup(){
+		SplittableRandom random = new SplittableRandom(42L);
+
+		this.names = new ArrayList<>();
+		this.categories = new ArrayList<>();
+
+		for(int i = 0; i < this.fields; i++){
+			this.names.add("x" + i);
+
+			List<Object> values = new ArrayList<>();
+
+			for(int j = 0, max = 2 + random.nextInt(30); j < max; j++){
+				values.add("category" + j);
+			}
+
+			this.categories.add(values);
+		}
+	}
+
+	@Benchmark
+	public void persistent(Blackhole blackhole){
+		CategoryManager categoryManager = new CategoryManager();
+
+		for(int i = 0; i < this.fields; i++){
+			categoryManager = categoryManager.fork(this.names.get(i), this.categories.get(i));
+		}
+
+		descend(categoryManager, 0, 0, blackhole);
+	}
+
+	@Benchmark
+	public void copying(Blackhole blackhole){
+		CopyingCategoryManager categoryManager = new CopyingCategoryManager(new LinkedHashMap<>());
+
+		for(int i = 0; i < this.fields; i++){
+			categoryManager = categoryManager.fork(this.names.get(i), this.categories.get(i));
+		}
+
+		descend(categoryManager, 0, 0, blackhole);
+	}
+
+	private void descend(CategoryManager categoryManager, int level, int position, Blackhole blackhole){
+		int index = mix(level, position) % this.fields;
+
+		String name = this.names.get(index);
+
+		Predicate<Object> valueFilter = categoryManager.getValueFilter(name);
+
+		List<Object> values = filter(this.categories.get(index), valueFilter);
+
+		blackhole.consume(values);
+
+		if(level < this.depth && values.size() > 1){
+			int split = values.size() / 2;
+
+			descend(categoryManager.fork(name, values.subList(0, split)), level + 1, 2 * position, blackhole);
+			descend(categoryManager.fork(name, values.subList(split, values.size())), level + 1, 2 * position + 1, blackhole);
+		}
+	}
+
+	private void descend(CopyingCategoryManager categoryManager, int level, int position, Blackhole blackhole){
+		int index = mix(level, position) % this.fields;
+
+		String name = this.names.get(index);
+
+		Predicate<Object> valueFilter = categoryManager.getValueFilter(name);
+
+		List<Object> values = filter(this.categories.get(index), valueFilter);
+
+		blackhole.consume(values);
+
+		if(level < this.depth && values.size() > 1){
+			int split = values.size() / 2;
+
+			descend(categoryManager.fork(name, values.subList(0, split)), level + 1, 2 * position, blackhole);
+			descend(categoryManager.fork(name, values.subList(split, values.size())), level + 1, 2 * position + 1, blackhole);
+		}
+	}
+
+	static
+	private List<Object> filter(List<Object> values, Predicate<Object> valueFilter){
+		List<Object> result = new ArrayList<>(values.size());
+
+		for(Object value : values){
+
+			if(valueFilter.test(value)){
+				result.add(value);
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private int mix(int level, int position){
+		int hash = (31 * level) + position;
+
+		hash ^= (hash >>> 16);
+		hash *= 0x45d9f3b;
+		hash ^= (hash >>> 16);
+
+		return hash & Integer.MAX_VALUE;
+	}
+
+	static
+	private class CopyingCategoryManager {
+
+		private Map<String, Set<Object>> valueMap = null;
+
+
+		private CopyingCategoryManager(Map<String, Set<Object>> valueMap){
+			this.valueMap = valueMap;
+		}
+
+		public CopyingCategoryManager fork(String name, Collection<Object> values){
+			Map<String, Set<Object>> valueMap = new LinkedHashMap<>(this.valueMap);
+
+			valueMap.put(name, new LinkedHashSet<>(values));
+
+			return new CopyingCategoryManager(valueMap);
+		}
+
+		public Predicate<Object> getValueFilter(String name){
+			Set<Object> values = this.valueMap.get(name);
+
+			Predicate<Object> predicate = new Predicate<Object>(){
+
+				@Override
+				public boolean test(Object value){
+
+					if(values != null){
+						return values.contains(value);
+					}
+
+					return true;
+				}
+			};
+
+			return predicate;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.mining;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.mining.MiningModel;
+import org.jpmml.converter.CategoricalLabel;
+import org.jpmml.converter.ContinuousLabel;
+import org.jpmml.converter.ModelEncoder;
+import org.jpmml.converter.Schema;
+import org.jpmml.converter.SyntheticForest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures the assembly of a multi-class classifier from per-class boosted tree ensembles.
+ * </p>
+ *
+ * <p>
+ * The assembly modifies member models in place, so every invocation gets freshly generated models.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class MiningModelUtilBenchmark {
+
+	@Param({"10", "100"})
+	public int classes;
+
+	@Param({"100"})
+	public int trees;
+
+	private Schema schema = null;
+
+	private List<MiningModel> models = null;
+
+
+	@Setup(Level.Invocation)
+	public void setup(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Schema regressorSchema = SyntheticForest.createSchema(encoder, 50);
+
+		List<String> categories = new ArrayList<>();
+
+		this.models = new ArrayList<>();
+
+		for(int i = 0; i < this.classes; i++){
+			categories.add("class" + i);
+
+			Schema segmentSchema = regressorSchema.toRelabeledSchema(new ContinuousLabel(DataType.DOUBLE));
+
+			this.models.add(SyntheticForest.createForest(segmentSchema, this.trees, 4, i));
+		}
+
+		this.schema = regressorSchema.toRelabeledSchema(new CategoricalLabel(DataType.STRING, categories));
+	}
+
+	@Benchmark
+	public MiningModel createClassification(){
+		return MiningModelUtil.createClassification(this.models, null, true, this.schema);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.regression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.regression.RegressionTable;
+import org.jpmml.converter.ContinuousFeature;
+import org.jpmml.converter.Feature;
+import org.jpmml.converter.ModelEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegressionModelUtilBenchmark {
+
+	@Param({"1000000"})
+	public int coefficients;
+
+	private List<Feature> features = null;
+
+	private List<Double> coefficientValues = null;
+
+
+	@Setup
+	public void setup(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		SplittableRandom random = new SplittableRandom(42L);
+
+		this.features = new ArrayList<>(this.coefficients);
+		this.coefficientValues = new ArrayList<>(this.coefficients);
+
+		for(int i = 0; i < this.coefficients; i++){
+			this.features.add(new ContinuousFeature(encoder, "x" + (i + 1), DataType.DOUBLE));
+
+			// Every tenth coefficient is zero
+			this.coefficientValues.add((i % 10) == 0 ? 0d : random.nextDouble());
+		}
+	}
+
+	@Benchmark
+	public RegressionTable createRegressionTable(){
+		return RegressionModelUtil.createRegressionTable(this.features, this.coefficientValues, 1d);
+	}
+}
\ No newline at end of file
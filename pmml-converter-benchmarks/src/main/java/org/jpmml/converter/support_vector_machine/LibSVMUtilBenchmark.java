@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.support_vector_machine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.primitives.Doubles;
+import org.dmg.pmml.support_vector_machine.VectorDictionary;
+import org.jpmml.converter.CMatrix;
+import org.jpmml.converter.DoubleMatrix;
+import org.jpmml.converter.ModelEncoder;
+import org.jpmml.converter.Schema;
+import org.jpmml.converter.SyntheticForest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LibSVMUtilBenchmark {
+
+	@Param({"10000"})
+	public int vectors;
+
+	@Param({"500"})
+	public int features;
+
+	@Param({"0.1", "0.9"})
+	public double density;
+
+	private CMatrix<Double> sv = null;
+
+	private DoubleMatrix primitiveSv = null;
+
+	private List<String> ids = null;
+
+	private Schema schema = null;
+
+
+	@Setup
+	public void setup(){
+		SplittableRandom random = new SplittableRandom(42L);
+
+		double[] primitiveValues = new double[this.vectors * this.features];
+
+		for(int i = 0; i < primitiveValues.length; i++){
+			primitiveValues[i] = (random.nextDouble() < this.density ? random.nextDouble() : 0d);
+		}
+
+		List<Double> values = new ArrayList<>(Doubles.asList(primitiveValues));
+
+		this.sv = new CMatrix<>(values, this.vectors, this.features);
+		this.primitiveSv = new DoubleMatrix(primitiveValues, this.vectors, this.features);
+
+		this.ids = new ArrayList<>(this.vectors);
+
+		for(int i = 0; i < this.vectors; i++){
+			this.ids.add(String.valueOf(i));
+		}
+
+		this.schema = SyntheticForest.createSchema(new ModelEncoder(), this.features);
+	}
+
+	@Benchmark
+	public VectorDictionary createVectorDictionary(){
+		return LibSVMUtil.createVectorDictionary(this.sv, this.ids, this.schema);
+	}
+
+	@Benchmark
+	public VectorDictionary createVectorDictionaryPrimitive(){
+		return LibSVMUtil.createVectorDictionary(this.primitiveSv, this.ids, this.schema);
+	}
+
+	@Benchmark
+	public VectorDictionary createVectorDictionaryParallel(){
+		return LibSVMUtil.createVectorDictionary(this.primitiveSv, this.ids, this.schema, ForkJoinPool.commonPool());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.True;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.tree.ComplexNode;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Compares the reflective and the precompiled implementation of {@link AttributeCleaner}.
+ * </p>
+ *
+ * <p>
+ * Redundant attribute values are cleared during the first invocation.
+ * All later invocations measure the steady-state cost of inspecting every optional attribute of every node,
+ * which is the dominant cost in practice.
+ * </p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttributeCleanerBenchmark {
+
+	@Param({"10", "16"})
+	public int depth;
+
+	private TreeModel treeModel = null;
+
+
+	@Setup
+	public void setup(){
+		MiningSchema miningSchema = new MiningSchema()
+			.addMiningFields(new MiningField("x").setUsageType(MiningField.UsageType.ACTIVE));
+
+		Node root = createNode(0, this.depth, True.INSTANCE);
+
+		this.treeModel = new TreeModel(MiningFunction.REGRESSION, miningSchema, root)
+			.setMissingValueStrategy(TreeModel.MissingValueStrategy.NONE)
+			.setNoTrueChildStrategy(TreeModel.NoTrueChildStrategy.RETURN_NULL_PREDICTION)
+			.setSplitCharacteristic(TreeModel.SplitCharacteristic.BINARY_SPLIT);
+	}
+
+	@Benchmark
+	public TreeModel precompiled(){
+		return clean(new AttributeCleaner());
+	}
+
+	@Benchmark
+	public TreeModel reflective(){
+		return clean(new ReflectiveAttributeCleaner());
+	}
+
+	private TreeModel clean(Visitor visitor){
+		visitor.applyTo(this.treeModel);
+
+		return this.treeModel;
+	}
+
+	static
+	private Node createNode(int level, int depth, Predicate predicate){
+		Node node = new ComplexNode()
+			.setId(level)
+			.setScore(level)
+			.setRecordCount(1 << (depth - level))
+			.setPredicate(predicate);
+
+		if(level < depth){
+			node.addNodes(
+				createNode(level + 1, depth, new SimplePredicate("x", SimplePredicate.Operator.LESS_THAN, level)),
+				createNode(level + 1, depth, new SimplePredicate("x", SimplePredicate.Operator.GREATER_OR_EQUAL, level))
+			);
+		}
+
+		return node;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.mining.MiningModel;
+import org.jpmml.converter.ModelEncoder;
+import org.jpmml.converter.Schema;
+import org.jpmml.converter.SyntheticForest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * <p>
+ * Measures every cleaner of {@link ModelCleanerBattery} and {@link PMMLCleanerBattery} on its own,
+ * applied to a raw (ie. not yet cleaned) PMML document.
+ * </p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class CleanerBenchmark {
+
+	@Param({
+		"DerivedFieldDeduplicator",
+		"TransformationDictionaryCleaner",
+		"DerivedFieldRelocator",
+		"DataDictionaryCleaner",
+		"DerivedOutputFieldTransformer",
+		"FunctionDictionaryCleaner",
+		"MiningSchemaCleaner",
+		"ModelVerificationCleaner",
+		"ModelCleaner",
+		"AttributeCleaner",
+		"PMMLCleaner"
+	})
+	public String visitor;
+
+	@Param({"1000"})
+	public int trees;
+
+	private Class<? extends Visitor> visitorClazz = null;
+
+	private PMML pmml = null;
+
+
+	@Setup(Level.Trial)
+	public void setupVisitor() throws ClassNotFoundException {
+		this.visitorClazz = Class.forName(CleanerBenchmark.class.getPackage().getName() + "." + this.visitor).asSubclass(Visitor.class);
+	}
+
+	@Setup(Level.Invocation)
+	public void setupPMML(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Schema schema = SyntheticForest.createSchema(encoder, 100);
+
+		MiningModel miningModel = SyntheticForest.createForest(schema, this.trees, 8, 42L);
+
+		this.pmml = encoder.encodePMML()
+			.addModels(miningModel);
+	}
+
+	@Benchmark
+	public PMML clean() throws ReflectiveOperationException {
+		Visitor visitor = (this.visitorClazz.getDeclaredConstructor()).newInstance();
+
+		visitor.applyTo(this.pmml);
+
+		return this.pmml;
+	}
+}
\ No newline at end of file
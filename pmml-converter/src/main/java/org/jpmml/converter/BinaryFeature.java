@@ -51,12 +51,12 @@ public class BinaryFeature extends Feature implements HasDerivedName {
 
 	@Override
 	public ContinuousFeature toContinuousFeature(){
-		return toContinuousFeature(getDerivedName(), DataType.DOUBLE, () -> new NormDiscrete(getName(), getValue()));
+		return memoizeContinuousFeature(null, () -> toContinuousFeature(getDerivedName(), DataType.DOUBLE, () -> new NormDiscrete(getName(), getValue())));
 	}
 
 	@Override
-	public int hashCode(){
-		return (31 * super.hashCode()) + Objects.hashCode(this.getValue());
+	protected int computeHashCode(){
+		return (31 * super.computeHashCode()) + Objects.hashCode(this.getValue());
 	}
 
 	@Override
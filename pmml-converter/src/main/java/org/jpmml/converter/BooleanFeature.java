@@ -45,7 +45,7 @@ public class BooleanFeature extends CategoricalFeature implements HasDerivedName
 
 	@Override
 	public ContinuousFeature toContinuousFeature(){
-		return toContinuousFeature(getDerivedName(), DataType.DOUBLE, () -> new NormDiscrete(getName(), Boolean.TRUE));
+		return memoizeContinuousFeature(null, () -> toContinuousFeature(getDerivedName(), DataType.DOUBLE, () -> new NormDiscrete(getName(), Boolean.TRUE)));
 	}
 
 	public static final Boolean VALUE_TRUE = true;
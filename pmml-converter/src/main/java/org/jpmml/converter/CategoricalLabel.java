@@ -74,8 +74,8 @@ public class CategoricalLabel extends DiscreteLabel {
 	}
 
 	@Override
-	public int hashCode(){
-		return super.hashCode();
+	protected int computeHashCode(){
+		return super.computeHashCode();
 	}
 
 	@Override
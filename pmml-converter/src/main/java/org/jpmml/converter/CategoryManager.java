@@ -19,7 +19,6 @@
 package org.jpmml.converter;
 
 import java.util.Collection;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
@@ -35,14 +34,12 @@ public class CategoryManager extends ValueManager<Set<Object>> {
 	}
 
 	public CategoryManager fork(String name, Collection<Object> values){
-		return fork(name, new LinkedHashSet<>(values));
+		return fork(name, new ValueSet(values));
 	}
 
 	@Override
 	public CategoryManager fork(String name, Set<Object> values){
-		Map<String, Set<Object>> valueMap = new LinkedHashMap<>(getValueMap());
-
-		valueMap.put(name, values);
+		Map<String, Set<Object>> valueMap = forkValueMap(name, values);
 
 		return new CategoryManager(valueMap);
 	}
@@ -50,19 +47,32 @@ public class CategoryManager extends ValueManager<Set<Object>> {
 	public Predicate<Object> getValueFilter(String name){
 		Set<Object> values = getValue(name);
 
-		Predicate<Object> predicate = new Predicate<Object>(){
+		if(values == null){
+			return CategoryManager.ALL_VALUES;
+		} else
+
+		// The value set doubles as its own value filter
+		if(values instanceof ValueSet){
+			ValueSet valueSet = (ValueSet)values;
 
-			@Override
-			public boolean test(Object value){
+			return valueSet;
+		}
 
-				if(values != null){
-					return values.contains(value);
-				}
+		return values::contains;
+	}
 
-				return true;
-			}
-		};
+	static
+	private class ValueSet extends LinkedHashSet<Object> implements Predicate<Object> {
 
-		return predicate;
+		private ValueSet(Collection<?> values){
+			super(values);
+		}
+
+		@Override
+		public boolean test(Object value){
+			return contains(value);
+		}
 	}
+
+	private static final Predicate<Object> ALL_VALUES = (value) -> true;
 }
\ No newline at end of file
@@ -45,12 +45,12 @@ public class ConstantFeature extends Feature implements HasDerivedName {
 
 	@Override
 	public ContinuousFeature toContinuousFeature(){
-		return toContinuousFeature(getDerivedName(), getDataType(), () -> ExpressionUtil.createConstant(getDataType(), getValue()));
+		return memoizeContinuousFeature(null, () -> toContinuousFeature(getDerivedName(), getDataType(), () -> ExpressionUtil.createConstant(getDataType(), getValue())));
 	}
 
 	@Override
-	public int hashCode(){
-		return (31 * super.hashCode()) + Objects.hashCode(this.getValue());
+	protected int computeHashCode(){
+		return (31 * super.computeHashCode()) + Objects.hashCode(this.getValue());
 	}
 
 	@Override
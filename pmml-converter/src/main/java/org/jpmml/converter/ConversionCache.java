@@ -0,0 +1,803 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Field;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.UnivariateStats;
+import org.jpmml.model.ReflectionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * A content-addressed, size-bounded on-disk cache of converted PMML objects.
+ * </p>
+ *
+ * <p>
+ * Converters that rebuild similar models over and over again (eg. retrained boosted ensembles, where most trees stay the same)
+ * can reuse previously converted segment models and derived fields, instead of rebuilding them.
+ * Cache keys are computed from the source object and the {@link Schema} that it is converted against,
+ * using {@link #computeKey(byte[], Schema)}.
+ * </p>
+ *
+ * <p>
+ * Cached objects are stored in Java serialization data format.
+ * Deserialization is restricted to PMML class model classes, and to JDK collection and value classes.
+ * Every read returns a fresh copy, so that the caller is free to modify it (eg. during cleaning).
+ * When the total size of the cache exceeds the limit, the least recently used entries are evicted.
+ * The recency of use is persisted as file modification times, so that it survives between JVM runs.
+ * </p>
+ *
+ * <p>
+ * A cache entry consists of the PMML object, and the changes that its conversion made to the encoder.
+ * Newly registered derived fields and decorators are recorded, and replayed into the encoder when the entry is read back.
+ * Conversions that make any other changes to the encoder (eg. registering data fields, feature importances or transformers)
+ * are not cached at all, because such changes cannot be replayed faithfully.
+ * </p>
+ *
+ * <p>
+ * Cache failures are not fatal.
+ * An entry that cannot be read is discarded, and an entry that cannot be written is skipped.
+ * </p>
+ */
+public class ConversionCache {
+
+	private Path directory = null;
+
+	private long maxSize = 0L;
+
+	private long size = 0L;
+
+	private Map<String, Long> entrySizes = new LinkedHashMap<>(16, 0.75f, true);
+
+
+	public ConversionCache(Path directory, long maxSize) throws IOException {
+		setDirectory(directory);
+		setMaxSize(maxSize);
+
+		Files.createDirectories(directory);
+
+		load();
+	}
+
+	/**
+	 * <p>
+	 * Gets the cached object, and replays the recorded changes into the encoder.
+	 * </p>
+	 *
+	 * <p>
+	 * The entry is treated as missing if its recorded changes conflict with the current state of the encoder
+	 * (eg. a recorded derived field is already defined differently).
+	 * </p>
+	 *
+	 * @return The cached object, or <code>null</code>.
+	 */
+	public <E extends PMMLObject> E get(String key, Class<? extends E> clazz, ModelEncoder encoder){
+		Entry entry = getEntry(key);
+
+		if(entry == null){
+			return null;
+		}
+
+		E object;
+
+		try {
+			object = clazz.cast(entry.getObject());
+		} catch(ClassCastException cce){
+			logger.warn("Failed to read cache entry " + getPath(key) + ", discarding it", cce);
+
+			remove(key);
+
+			return null;
+		}
+
+		if(!entry.replay(encoder, object)){
+			return null;
+		}
+
+		return object;
+	}
+
+	/**
+	 * <p>
+	 * Caches an object, whose conversion did not make any changes to the encoder.
+	 * </p>
+	 */
+	public void put(String key, PMMLObject object){
+		put(key, new Entry(object));
+	}
+
+	synchronized
+	private Entry getEntry(String key){
+		Long entrySize = this.entrySizes.get(key);
+
+		if(entrySize == null){
+			return null;
+		}
+
+		Path path = getPath(key);
+
+		try {
+			Object object;
+
+			try(InputStream is = new BufferedInputStream(Files.newInputStream(path))){
+				ObjectInputStream ois = new ObjectInputStream(is);
+				ois.setObjectInputFilter(ConversionCache.filter);
+
+				object = ois.readObject();
+			}
+
+			Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+
+			return (Entry)object;
+		} catch(IOException | ClassNotFoundException | ClassCastException e){
+			logger.warn("Failed to read cache entry " + path + ", discarding it", e);
+
+			remove(key);
+
+			return null;
+		}
+	}
+
+	synchronized
+	private void put(String key, Entry entry){
+		Path path = getPath(key);
+		Path tmpPath = this.directory.resolve(key + ".tmp");
+
+		try {
+			try(OutputStream os = new BufferedOutputStream(Files.newOutputStream(tmpPath))){
+				ObjectOutputStream oos = new ObjectOutputStream(os);
+
+				oos.writeObject(entry);
+				oos.flush();
+			}
+
+			Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch(IOException ioe){
+			logger.warn("Failed to write cache entry " + path + ", skipping it", ioe);
+
+			try {
+				Files.deleteIfExists(tmpPath);
+			} catch(IOException ioeIgnored){
+				// Ignored
+			}
+
+			return;
+		}
+
+		Long oldEntrySize = this.entrySizes.remove(key);
+		if(oldEntrySize != null){
+			this.size -= oldEntrySize;
+		}
+
+		long entrySize;
+
+		try {
+			entrySize = Files.size(path);
+		} catch(IOException ioe){
+			entrySize = 0L;
+		}
+
+		this.entrySizes.put(key, entrySize);
+		this.size += entrySize;
+
+		evict();
+	}
+
+	/**
+	 * <p>
+	 * Returns the cached object, or creates and caches a new one.
+	 * </p>
+	 *
+	 * <p>
+	 * A newly created object is cached right away, so the caller is free to modify it afterwards.
+	 * The derived fields and decorators that the supplier registered with the encoder are cached alongside it,
+	 * and are replayed into the encoder on subsequent cache hits.
+	 * If the supplier made any other changes to the encoder, then the newly created object is not cached.
+	 * </p>
+	 *
+	 * @see #get(String, Class, ModelEncoder)
+	 */
+	public <E extends PMMLObject> E computeIfAbsent(String key, Class<? extends E> clazz, ModelEncoder encoder, Supplier<? extends E> supplier){
+		E object = get(key, clazz, encoder);
+
+		if(object == null){
+			EncoderState encoderState = new EncoderState(encoder);
+
+			object = supplier.get();
+
+			if(object != null){
+				Entry entry = encoderState.diff(encoder, object);
+
+				if(entry != null){
+					put(key, entry);
+				} else
+
+				{
+					logger.debug("Not caching entry " + key + ", because its conversion made changes to the encoder that cannot be replayed");
+				}
+			}
+		}
+
+		return object;
+	}
+
+	synchronized
+	public boolean containsKey(String key){
+		return this.entrySizes.containsKey(key);
+	}
+
+	synchronized
+	public void remove(String key){
+		Long entrySize = this.entrySizes.remove(key);
+
+		if(entrySize != null){
+			this.size -= entrySize;
+		}
+
+		try {
+			Files.deleteIfExists(getPath(key));
+		} catch(IOException ioe){
+			logger.warn("Failed to delete cache entry " + getPath(key), ioe);
+		}
+	}
+
+	/**
+	 * @return The total size of cache entries in bytes.
+	 */
+	synchronized
+	public long size(){
+		return this.size;
+	}
+
+	public Path getDirectory(){
+		return this.directory;
+	}
+
+	private void setDirectory(Path directory){
+
+		if(directory == null){
+			throw new IllegalArgumentException();
+		}
+
+		this.directory = directory;
+	}
+
+	public long getMaxSize(){
+		return this.maxSize;
+	}
+
+	private void setMaxSize(long maxSize){
+
+		if(maxSize < 0L){
+			throw new IllegalArgumentException();
+		}
+
+		this.maxSize = maxSize;
+	}
+
+	private Path getPath(String key){
+		return this.directory.resolve(key + ConversionCache.EXTENSION);
+	}
+
+	private void load() throws IOException {
+		List<Path> paths = new ArrayList<>();
+
+		try(DirectoryStream<Path> directoryStream = Files.newDirectoryStream(this.directory, "*" + ConversionCache.EXTENSION)){
+
+			for(Path path : directoryStream){
+				paths.add(path);
+			}
+		}
+
+		Map<Path, FileTime> lastModifiedTimes = new LinkedHashMap<>();
+
+		for(Path path : paths){
+			lastModifiedTimes.put(path, Files.getLastModifiedTime(path));
+		}
+
+		// Least recently used first
+		paths.sort(Comparator.comparing(lastModifiedTimes::get));
+
+		for(Path path : paths){
+			String fileName = (path.getFileName()).toString();
+
+			String key = fileName.substring(0, fileName.length() - ConversionCache.EXTENSION.length());
+			long entrySize = Files.size(path);
+
+			this.entrySizes.put(key, entrySize);
+			this.size += entrySize;
+		}
+
+		evict();
+	}
+
+	private void evict(){
+		List<String> evictedKeys = new ArrayList<>();
+
+		long size = this.size;
+
+		Collection<Map.Entry<String, Long>> entries = this.entrySizes.entrySet();
+		for(Iterator<Map.Entry<String, Long>> it = entries.iterator(); it.hasNext() && size > this.maxSize; ){
+			Map.Entry<String, Long> entry = it.next();
+
+			evictedKeys.add(entry.getKey());
+
+			size -= entry.getValue();
+		}
+
+		for(String evictedKey : evictedKeys){
+			remove(evictedKey);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Computes a cache key for a source object.
+	 * </p>
+	 *
+	 * <p>
+	 * The key covers the source object, the label and features of the schema,
+	 * and the versions of the JPMML-Model and JPMML-Converter libraries.
+	 * Labels and features are identified by their type, name, data type, operational type and (if applicable) values.
+	 * </p>
+	 *
+	 * @param source The source object in some canonical binary representation (eg. the native dump of a decision tree).
+	 *
+	 * @return A hexadecimal SHA-256 digest.
+	 */
+	static
+	public String computeKey(byte[] source, Schema schema){
+		MessageDigest digest;
+
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch(NoSuchAlgorithmException nsae){
+			throw new RuntimeException(nsae);
+		}
+
+		update(digest, (PMMLObject.class.getPackage()).getImplementationVersion());
+		update(digest, (ConversionCache.class.getPackage()).getImplementationVersion());
+
+		digest.update(source);
+
+		Label label = schema.getLabel();
+
+		update(digest, label);
+
+		List<? extends Feature> features = schema.getFeatures();
+		for(Feature feature : features){
+			update(digest, feature);
+		}
+
+		byte[] hash = digest.digest();
+
+		StringBuilder sb = new StringBuilder(hash.length * 2);
+
+		for(byte b : hash){
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+			sb.append(Character.forDigit(b & 0xF, 16));
+		}
+
+		return sb.toString();
+	}
+
+	static
+	private void update(MessageDigest digest, Label label){
+
+		if(label == null){
+			update(digest, (String)null);
+
+			return;
+		}
+
+		update(digest, (label.getClass()).getName());
+
+		if(label instanceof ScalarLabel){
+			ScalarLabel scalarLabel = (ScalarLabel)label;
+
+			update(digest, scalarLabel.getName());
+			update(digest, scalarLabel.getDataType());
+			update(digest, scalarLabel.getOpType());
+
+			if(scalarLabel instanceof DiscreteLabel){
+				DiscreteLabel discreteLabel = (DiscreteLabel)scalarLabel;
+
+				update(digest, discreteLabel.getValues());
+			}
+		} else
+
+		if(label instanceof MultiLabel){
+			MultiLabel multiLabel = (MultiLabel)label;
+
+			List<? extends Label> labels = multiLabel.getLabels();
+			for(Label childLabel : labels){
+				update(digest, childLabel);
+			}
+		} else
+
+		{
+			throw new IllegalArgumentException();
+		}
+	}
+
+	static
+	private void update(MessageDigest digest, Feature feature){
+		PMMLEncoder encoder = feature.getEncoder();
+
+		String name = feature.getName();
+
+		Field<?> field = encoder.getDataField(name);
+		if(field == null){
+			field = encoder.getDerivedField(name);
+		}
+
+		update(digest, (feature.getClass()).getName());
+		update(digest, name);
+		update(digest, feature.getDataType());
+		update(digest, field != null ? field.getOpType() : null);
+
+		if(feature instanceof DiscreteFeature){
+			DiscreteFeature discreteFeature = (DiscreteFeature)feature;
+
+			update(digest, discreteFeature.getValues());
+		} else
+
+		if(feature instanceof BinaryFeature){
+			BinaryFeature binaryFeature = (BinaryFeature)feature;
+
+			update(digest, Collections.singletonList(binaryFeature.getValue()));
+		}
+	}
+
+	static
+	private void update(MessageDigest digest, DataType dataType){
+		update(digest, dataType != null ? dataType.value() : null);
+	}
+
+	static
+	private void update(MessageDigest digest, OpType opType){
+		update(digest, opType != null ? opType.value() : null);
+	}
+
+	static
+	private void update(MessageDigest digest, List<?> values){
+		update(digest, String.valueOf(values.size()));
+
+		for(Object value : values){
+
+			// Type-prefixed, so that the integer 1 and the string "1" are kept apart
+			if(value != null){
+				update(digest, (value.getClass()).getName());
+				update(digest, String.valueOf(value));
+			} else
+
+			{
+				update(digest, (String)null);
+			}
+		}
+	}
+
+	static
+	private void update(MessageDigest digest, String string){
+
+		if(string == null){
+			digest.update((byte)0);
+
+			return;
+		}
+
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+
+		// Length-prefixed, so that adjacent strings cannot run into one another
+		digest.update((byte)1);
+		digest.update((byte)(bytes.length >>> 24));
+		digest.update((byte)(bytes.length >>> 16));
+		digest.update((byte)(bytes.length >>> 8));
+		digest.update((byte)bytes.length);
+		digest.update(bytes);
+	}
+
+	/**
+	 * <p>
+	 * The state of an encoder before a conversion.
+	 * </p>
+	 */
+	static
+	private class EncoderState {
+
+		private Set<String> derivedFieldNames = null;
+
+		private Map<Model, ListMultimap<String, Decorator>> decorators = new LinkedHashMap<>();
+
+		private int dataFieldCount = 0;
+
+		private int defineFunctionCount = 0;
+
+		private int transformerCount = 0;
+
+		private int featureImportanceCount = 0;
+
+		private int univariateStatsCount = 0;
+
+
+		private EncoderState(ModelEncoder encoder){
+			this.derivedFieldNames = new HashSet<>((encoder.getDerivedFields()).keySet());
+
+			Map<Model, ListMultimap<String, Decorator>> decorators = encoder.getDecorators();
+			for(Map.Entry<Model, ListMultimap<String, Decorator>> entry : decorators.entrySet()){
+				this.decorators.put(entry.getKey(), ArrayListMultimap.create(entry.getValue()));
+			}
+
+			this.dataFieldCount = (encoder.getDataFields()).size();
+			this.defineFunctionCount = (encoder.getDefineFunctions()).size();
+			this.transformerCount = (encoder.getTransformers()).size();
+			this.featureImportanceCount = countFeatureImportances(encoder);
+			this.univariateStatsCount = countUnivariateStats(encoder);
+		}
+
+		/**
+		 * @return The changes that have been made to the encoder since, or <code>null</code> if they cannot be replayed.
+		 */
+		private Entry diff(ModelEncoder encoder, PMMLObject object){
+
+			if(this.dataFieldCount != (encoder.getDataFields()).size() || this.defineFunctionCount != (encoder.getDefineFunctions()).size() || this.transformerCount != (encoder.getTransformers()).size()){
+				return null;
+			} // End if
+
+			if(this.featureImportanceCount != countFeatureImportances(encoder) || this.univariateStatsCount != countUnivariateStats(encoder)){
+				return null;
+			}
+
+			Entry result = new Entry(object);
+
+			int oldDerivedFieldCount = 0;
+
+			Collection<DerivedField> derivedFields = (encoder.getDerivedFields()).values();
+			for(DerivedField derivedField : derivedFields){
+
+				if(this.derivedFieldNames.contains(derivedField.requireName())){
+					oldDerivedFieldCount++;
+
+					continue;
+				} // End if
+
+				// Derived output fields are bound to a model object, which is not part of the entry
+				if(derivedField instanceof DerivedOutputField){
+					return null;
+				}
+
+				result.addDerivedField(derivedField);
+			}
+
+			// Some derived fields have been removed
+			if(oldDerivedFieldCount != this.derivedFieldNames.size()){
+				return null;
+			}
+
+			Map<Model, ListMultimap<String, Decorator>> decorators = encoder.getDecorators();
+			for(Map.Entry<Model, ListMultimap<String, Decorator>> entry : decorators.entrySet()){
+				Model model = entry.getKey();
+				ListMultimap<String, Decorator> modelDecorators = entry.getValue();
+
+				ListMultimap<String, Decorator> oldModelDecorators = this.decorators.get(model);
+
+				for(Map.Entry<String, Decorator> decoratorEntry : modelDecorators.entries()){
+					String name = decoratorEntry.getKey();
+					Decorator decorator = decoratorEntry.getValue();
+
+					if(oldModelDecorators != null && oldModelDecorators.containsEntry(name, decorator)){
+						continue;
+					} // End if
+
+					// Decorators of other models cannot be replayed
+					if(model != null && model != object){
+						return null;
+					}
+
+					result.addDecorator(model == object, name, decorator);
+				}
+			}
+
+			// Some decorators have been removed or replaced
+			for(Map.Entry<Model, ListMultimap<String, Decorator>> entry : this.decorators.entrySet()){
+				ListMultimap<String, Decorator> modelDecorators = decorators.get(entry.getKey());
+
+				for(Map.Entry<String, Decorator> decoratorEntry : (entry.getValue()).entries()){
+
+					if(modelDecorators == null || !modelDecorators.containsEntry(decoratorEntry.getKey(), decoratorEntry.getValue())){
+						return null;
+					}
+				}
+			}
+
+			return result;
+		}
+
+		static
+		private int countFeatureImportances(ModelEncoder encoder){
+			int result = 0;
+
+			Collection<ListMultimap<Feature, Number>> featureImportances = (encoder.getFeatureImportances()).values();
+			for(ListMultimap<Feature, Number> modelFeatureImportances : featureImportances){
+				result += modelFeatureImportances.size();
+			}
+
+			return result;
+		}
+
+		static
+		private int countUnivariateStats(ModelEncoder encoder){
+			int result = 0;
+
+			Collection<List<UnivariateStats>> univariateStats = (encoder.getUnivariateStats()).values();
+			for(List<UnivariateStats> modelUnivariateStats : univariateStats){
+				result += modelUnivariateStats.size();
+			}
+
+			return result;
+		}
+	}
+
+	static
+	private class Entry implements Serializable {
+
+		private PMMLObject object = null;
+
+		private List<DerivedField> derivedFields = new ArrayList<>();
+
+		private List<DecoratorEntry> decorators = new ArrayList<>();
+
+
+		private Entry(PMMLObject object){
+			this.object = object;
+		}
+
+		/**
+		 * @return <code>true</code> if the recorded changes were replayed, <code>false</code> if they conflict with the encoder.
+		 */
+		private boolean replay(ModelEncoder encoder, PMMLObject object){
+			Set<String> names = new HashSet<>();
+
+			for(DerivedField derivedField : this.derivedFields){
+				String name = derivedField.requireName();
+
+				if(encoder.getDataField(name) != null){
+					return false;
+				}
+
+				DerivedField existingDerivedField = encoder.getDerivedField(name);
+				if(existingDerivedField != null && !ReflectionUtil.equals(existingDerivedField, derivedField)){
+					return false;
+				}
+
+				names.add(name);
+			}
+
+			for(DecoratorEntry decoratorEntry : this.decorators){
+				String name = decoratorEntry.getName();
+
+				if(!names.contains(name) && encoder.getDataField(name) == null && encoder.getDerivedField(name) == null){
+					return false;
+				}
+			}
+
+			for(DerivedField derivedField : this.derivedFields){
+
+				if(encoder.getDerivedField(derivedField.requireName()) == null){
+					encoder.addDerivedField(derivedField);
+				}
+			}
+
+			for(DecoratorEntry decoratorEntry : this.decorators){
+				Model model = (decoratorEntry.isModelDecorator() ? (Model)object : null);
+
+				encoder.addDecorator(model, encoder.getField(decoratorEntry.getName()), decoratorEntry.getDecorator());
+			}
+
+			return true;
+		}
+
+		private PMMLObject getObject(){
+			return this.object;
+		}
+
+		private void addDerivedField(DerivedField derivedField){
+			this.derivedFields.add(derivedField);
+		}
+
+		private void addDecorator(boolean modelDecorator, String name, Decorator decorator){
+			this.decorators.add(new DecoratorEntry(modelDecorator, name, decorator));
+		}
+	}
+
+	static
+	private class DecoratorEntry implements Serializable {
+
+		private boolean modelDecorator = false;
+
+		private String name = null;
+
+		private Decorator decorator = null;
+
+
+		private DecoratorEntry(boolean modelDecorator, String name, Decorator decorator){
+			this.modelDecorator = modelDecorator;
+			this.name = name;
+			this.decorator = decorator;
+		}
+
+		/**
+		 * @return <code>true</code> if the decorator belongs to the cached model, <code>false</code> if it is a global decorator.
+		 */
+		private boolean isModelDecorator(){
+			return this.modelDecorator;
+		}
+
+		private String getName(){
+			return this.name;
+		}
+
+		private Decorator getDecorator(){
+			return this.decorator;
+		}
+	}
+
+	private static final String EXTENSION = ".ser";
+
+	private static final ObjectInputFilter filter = ObjectInputFilter.Config.createFilter("org.dmg.pmml.**;org.jpmml.**;java.lang.*;java.math.*;java.util.*;!*");
+
+	private static final Logger logger = LoggerFactory.getLogger(ConversionCache.class);
+}
\ No newline at end of file
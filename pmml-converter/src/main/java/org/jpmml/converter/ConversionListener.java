@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+/**
+ * <p>
+ * A listener for conversion metrics.
+ * </p>
+ *
+ * <p>
+ * The listener is notified twice for every visitor-based phase.
+ * First, once for every visitor pass within the phase, and then once for the phase as a whole.
+ * All other phases are notified once.
+ * </p>
+ *
+ * <p>
+ * Parallel cleaning does not have visitor passes, so the {@link #PHASE_CLEAN_PMML} phase is only notified as a whole.
+ * Its wall time is the elapsed time of the parallel computation, and its allocated memory only includes allocations by the calling thread.
+ * The number of visited elements is not available.
+ * </p>
+ *
+ * @see ModelEncoder#setConversionListener(ConversionListener)
+ * @see JfrConversionListener
+ */
+public interface ConversionListener {
+
+	void measured(ConversionMetrics metrics);
+
+	String PHASE_ENCODE_MODEL = "encodeModel";
+	String PHASE_CLEAN_MODEL = "cleanModel";
+	String PHASE_ENCODE_DECORATORS = "encodeDecorators";
+	String PHASE_ENCODE_FEATURE_IMPORTANCES = "encodeFeatureImportances";
+	String PHASE_ENCODE_UNIVARIATE_STATS = "encodeUnivariateStats";
+	String PHASE_CLEAN_PMML = "cleanPMML";
+}
\ No newline at end of file
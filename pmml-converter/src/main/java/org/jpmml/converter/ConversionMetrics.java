@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.List;
+
+import org.dmg.pmml.Visitor;
+import org.jpmml.model.ToStringHelper;
+
+/**
+ * <p>
+ * Performance metrics of a conversion phase, or a visitor pass within a conversion phase.
+ * </p>
+ *
+ * <p>
+ * Metrics that could not be measured have value <code>-1</code>.
+ * </p>
+ */
+public class ConversionMetrics {
+
+	private String phase = null;
+
+	private List<Class<? extends Visitor>> visitorClazzes = null;
+
+	private long wallTime = -1L;
+
+	private long nodesVisited = -1L;
+
+	private long objectCount = -1L;
+
+	private long objectsRemoved = -1L;
+
+	private long allocatedBytes = -1L;
+
+
+	public ConversionMetrics(String phase, List<Class<? extends Visitor>> visitorClazzes, long wallTime, long nodesVisited, long objectCount, long objectsRemoved, long allocatedBytes){
+		setPhase(phase);
+		setVisitorClazzes(visitorClazzes);
+		setWallTime(wallTime);
+		setNodesVisited(nodesVisited);
+		setObjectCount(objectCount);
+		setObjectsRemoved(objectsRemoved);
+		setAllocatedBytes(allocatedBytes);
+	}
+
+	/**
+	 * @return <code>true</code> if these are the metrics of a visitor pass, <code>false</code> if these are the metrics of a phase.
+	 */
+	public boolean isVisitorPass(){
+		List<Class<? extends Visitor>> visitorClazzes = getVisitorClazzes();
+
+		return !visitorClazzes.isEmpty();
+	}
+
+	@Override
+	public String toString(){
+		ToStringHelper helper = new ToStringHelper(this)
+			.add("phase", getPhase())
+			.add("visitors", getVisitorClazzes())
+			.add("wallTime", getWallTime())
+			.add("nodesVisited", getNodesVisited())
+			.add("objectCount", getObjectCount())
+			.add("objectsRemoved", getObjectsRemoved())
+			.add("allocatedBytes", getAllocatedBytes());
+
+		return helper.toString();
+	}
+
+	public String getPhase(){
+		return this.phase;
+	}
+
+	private void setPhase(String phase){
+
+		if(phase == null){
+			throw new IllegalArgumentException();
+		}
+
+		this.phase = phase;
+	}
+
+	/**
+	 * <p>
+	 * Visitors that were applied during a visitor pass.
+	 * Fused visitors share a traversal, and are therefore measured together.
+	 * </p>
+	 *
+	 * @return A list of visitor classes. An empty list for phases.
+	 */
+	public List<Class<? extends Visitor>> getVisitorClazzes(){
+		return this.visitorClazzes;
+	}
+
+	private void setVisitorClazzes(List<Class<? extends Visitor>> visitorClazzes){
+
+		if(visitorClazzes == null){
+			throw new IllegalArgumentException();
+		}
+
+		this.visitorClazzes = visitorClazzes;
+	}
+
+	/**
+	 * @return Elapsed time in nanoseconds.
+	 */
+	public long getWallTime(){
+		return this.wallTime;
+	}
+
+	private void setWallTime(long wallTime){
+		this.wallTime = wallTime;
+	}
+
+	/**
+	 * <p>
+	 * Elements are counted during the visitor pass, so an element that is visited more than once is counted more than once,
+	 * and an element that is skipped by all visitors is not counted at all.
+	 * The count of a phase is the sum of the counts of its visitor passes.
+	 * </p>
+	 *
+	 * @return The number of PMML objects that were visited.
+	 * <code>-1</code> for phases that do not have visitor passes.
+	 */
+	public long getNodesVisited(){
+		return this.nodesVisited;
+	}
+
+	private void setNodesVisited(long nodesVisited){
+		this.nodesVisited = nodesVisited;
+	}
+
+	/**
+	 * @return The number of PMML objects in the PMML class model at the start of the phase.
+	 * <code>-1</code> for visitor passes, and for phases that do not operate on a PMML class model.
+	 */
+	public long getObjectCount(){
+		return this.objectCount;
+	}
+
+	private void setObjectCount(long objectCount){
+		this.objectCount = objectCount;
+	}
+
+	/**
+	 * <p>
+	 * The net decrease in the number of PMML objects between the start and the end of the phase.
+	 * It is <code>0</code> if the number of PMML objects did not decrease.
+	 * </p>
+	 *
+	 * @return The number of PMML objects that were removed from the PMML class model.
+	 * <code>-1</code> for visitor passes, and for phases that do not operate on a PMML class model.
+	 */
+	public long getObjectsRemoved(){
+		return this.objectsRemoved;
+	}
+
+	private void setObjectsRemoved(long objectsRemoved){
+		this.objectsRemoved = objectsRemoved;
+	}
+
+	/**
+	 * <p>
+	 * Only allocations by the current thread are accounted for.
+	 * Work that is offloaded to other threads (eg. parallel cleaning) is not.
+	 * </p>
+	 *
+	 * @return Allocated memory in bytes.
+	 */
+	public long getAllocatedBytes(){
+		return this.allocatedBytes;
+	}
+
+	private void setAllocatedBytes(long allocatedBytes){
+		this.allocatedBytes = allocatedBytes;
+	}
+}
\ No newline at end of file
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.jpmml.model.visitors.AbstractVisitor;
+
+/**
+ * <p>
+ * Measures a conversion phase, or a visitor pass, from start until stop.
+ * </p>
+ *
+ * <p>
+ * Visited elements are counted by the visitor pass itself, and are reported to the probe.
+ * Object counts are obtained by traversing the PMML class model before and after the measured phase.
+ * These traversals take place outside of the measured interval, and are never performed for visitor passes.
+ * </p>
+ */
+class ConversionProbe {
+
+	private String phase = null;
+
+	private List<Class<? extends Visitor>> visitorClazzes = null;
+
+	private Visitable visitable = null;
+
+	private ConversionProbe parent = null;
+
+	private long startTime = -1L;
+
+	private long startObjectCount = -1L;
+
+	private long startAllocatedBytes = -1L;
+
+	private long nodesVisited = -1L;
+
+
+	/**
+	 * @param visitable The PMML class model whose objects are counted, or <code>null</code>.
+	 */
+	ConversionProbe(String phase, Visitable visitable){
+		this.phase = phase;
+		this.visitorClazzes = Collections.emptyList();
+		this.visitable = visitable;
+
+		if(visitable != null){
+			this.startObjectCount = countObjects(visitable);
+		}
+
+		this.startAllocatedBytes = getAllocatedBytes();
+		this.startTime = System.nanoTime();
+	}
+
+	/**
+	 * @param parent The enclosing phase probe, or <code>null</code>.
+	 */
+	ConversionProbe(String phase, List<Class<? extends Visitor>> visitorClazzes, ConversionProbe parent){
+		this.phase = phase;
+		this.visitorClazzes = visitorClazzes;
+		this.parent = parent;
+
+		this.startAllocatedBytes = getAllocatedBytes();
+		this.startTime = System.nanoTime();
+	}
+
+	/**
+	 * <p>
+	 * Adds to the number of visited elements of this probe, and all its enclosing probes.
+	 * </p>
+	 */
+	public void visited(long count){
+
+		for(ConversionProbe probe = this; probe != null; probe = probe.parent){
+
+			if(probe.nodesVisited < 0L){
+				probe.nodesVisited = 0L;
+			}
+
+			probe.nodesVisited += count;
+		}
+	}
+
+	public ConversionMetrics stop(){
+		long wallTime = (System.nanoTime() - this.startTime);
+
+		long allocatedBytes = -1L;
+
+		if(this.startAllocatedBytes > -1L){
+			long endAllocatedBytes = getAllocatedBytes();
+
+			if(endAllocatedBytes > -1L){
+				allocatedBytes = (endAllocatedBytes - this.startAllocatedBytes);
+			}
+		}
+
+		long objectCount = -1L;
+		long objectsRemoved = -1L;
+
+		if(this.visitable != null){
+			long endObjectCount = countObjects(this.visitable);
+
+			objectCount = this.startObjectCount;
+			objectsRemoved = Math.max(this.startObjectCount - endObjectCount, 0L);
+		}
+
+		return new ConversionMetrics(this.phase, this.visitorClazzes, wallTime, this.nodesVisited, objectCount, objectsRemoved, allocatedBytes);
+	}
+
+	static
+	private long countObjects(Visitable visitable){
+		long[] count = {0L};
+
+		Visitor visitor = new AbstractVisitor(){
+
+			@Override
+			public VisitorAction visit(PMMLObject object){
+				count[0]++;
+
+				return super.visit(object);
+			}
+		};
+		visitor.applyTo(visitable);
+
+		return count[0];
+	}
+
+	static
+	private long getAllocatedBytes(){
+
+		if(ConversionProbe.threadMXBean != null){
+			return ConversionProbe.threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+
+		return -1L;
+	}
+
+	static
+	private com.sun.management.ThreadMXBean getThreadMXBean(){
+
+		try {
+			java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+			if(threadMXBean instanceof com.sun.management.ThreadMXBean){
+				com.sun.management.ThreadMXBean allocatingThreadMXBean = (com.sun.management.ThreadMXBean)threadMXBean;
+
+				if(allocatingThreadMXBean.isThreadAllocatedMemorySupported() && allocatingThreadMXBean.isThreadAllocatedMemoryEnabled()){
+					return allocatingThreadMXBean;
+				}
+			}
+		} catch(LinkageError | SecurityException e){
+			// Ignored
+		}
+
+		return null;
+	}
+
+	private static final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+}
\ No newline at end of file
@@ -18,13 +18,14 @@
  */
 package org.jpmml.converter;
 
+import java.io.Serializable;
 import java.util.Objects;
 
 import org.dmg.pmml.MiningField;
 import org.jpmml.model.ToStringHelper;
 
 abstract
-public class Decorator {
+public class Decorator implements Serializable {
 
 	abstract
 	public boolean isReplaceable();
@@ -0,0 +1,682 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.annotation.XmlAttribute;
+import jakarta.xml.bind.annotation.XmlEnumValue;
+import jakarta.xml.bind.annotation.XmlType;
+import jakarta.xml.bind.annotation.adapters.XmlAdapter;
+import jakarta.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import org.dmg.pmml.CompoundPredicate;
+import org.dmg.pmml.False;
+import org.dmg.pmml.HasExtensions;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.ScoreDistribution;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.True;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.tree.ComplexNode;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.model.JAXBUtil;
+import org.jpmml.model.ReflectionUtil;
+import org.jpmml.model.visitors.AbstractVisitor;
+
+/**
+ * <p>
+ * A PMML serializer that writes decision tree node populations by hand.
+ * </p>
+ *
+ * <p>
+ * Decision tree nodes and the predicate and score distribution elements that they contain
+ * make up the bulk of a typical ensemble model.
+ * This serializer writes them directly into a buffered {@link Writer},
+ * and lets JAXB marshal the (comparatively small) remainder of the PMML document.
+ * </p>
+ *
+ * <p>
+ * The output is identical to that of the JAXB marshaller.
+ * Attribute values are formatted using the same type adapters, and are escaped using the same character references.
+ * The reflective discovery of attributes is performed once per class.
+ * Decision trees that contain any other elements (eg. extensions, partitions, embedded models, set predicates)
+ * are left to JAXB.
+ * </p>
+ */
+public class DirectPMMLSerializer {
+
+	private Marshaller marshaller = null;
+
+
+	public DirectPMMLSerializer() throws IOException {
+
+		try {
+			this.marshaller = (JAXBUtil.getContext()).createMarshaller();
+			this.marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+		} catch(JAXBException je){
+			throw new IOException(je);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Writes a complete PMML document.
+	 * The output stream is flushed, but not closed.
+	 * </p>
+	 */
+	public void serialize(PMML pmml, OutputStream os) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8), 64 * 1024);
+
+		List<TreeModel> treeModels = findTreeModels(pmml);
+
+		String prefix = "placeholder-" + UUID.randomUUID() + "-";
+
+		List<Node> nodes = new ArrayList<>(treeModels.size());
+
+		String document;
+
+		try {
+			for(int i = 0; i < treeModels.size(); i++){
+				TreeModel treeModel = treeModels.get(i);
+
+				nodes.add(treeModel.requireNode());
+
+				Node placeholder = new ComplexNode()
+					.setId(prefix + i);
+
+				treeModel.setNode(placeholder);
+			}
+
+			StringWriter stringWriter = new StringWriter();
+
+			try {
+				this.marshaller.marshal(pmml, stringWriter);
+			} catch(JAXBException je){
+				throw new IOException(je);
+			}
+
+			document = stringWriter.toString();
+		} finally {
+
+			for(int i = 0; i < nodes.size(); i++){
+				TreeModel treeModel = treeModels.get(i);
+
+				treeModel.setNode(nodes.get(i));
+			}
+		}
+
+		NodeWriter nodeWriter = new NodeWriter(writer);
+
+		int pos = 0;
+
+		for(int i = 0; i < nodes.size(); i++){
+			int idIndex = document.indexOf("\"" + prefix + i + "\"", pos);
+			if(idIndex < 0){
+				throw new IllegalStateException();
+			}
+
+			int begin = document.lastIndexOf('<', idIndex);
+			int end = document.indexOf("/>", idIndex);
+
+			writer.write(document, pos, begin - pos);
+
+			nodeWriter.writeNode(nodes.get(i));
+
+			pos = end + "/>".length();
+		}
+
+		writer.write(document, pos, document.length() - pos);
+
+		writer.flush();
+	}
+
+	static
+	private List<TreeModel> findTreeModels(PMML pmml){
+		List<TreeModel> result = new ArrayList<>();
+
+		Visitor visitor = new AbstractVisitor(){
+
+			@Override
+			public VisitorAction visit(TreeModel treeModel){
+				Node node = treeModel.getNode();
+
+				if(node != null && isSupported(node)){
+					result.add(treeModel);
+				}
+
+				return super.visit(treeModel);
+			}
+
+			@Override
+			public VisitorAction visit(Node node){
+				return VisitorAction.SKIP;
+			}
+		};
+		visitor.applyTo(pmml);
+
+		return result;
+	}
+
+	static
+	private boolean isSupported(Node node){
+		Deque<Node> queue = new ArrayDeque<>();
+		queue.add(node);
+
+		while(!queue.isEmpty()){
+			node = queue.remove();
+
+			if(hasExtensions(node) || node.getPartition() != null || node.getEmbeddedModel() != null){
+				return false;
+			}
+
+			Predicate predicate = node.getPredicate();
+			if(predicate == null || !isSupported(predicate)){
+				return false;
+			} // End if
+
+			if(node.hasScoreDistributions()){
+				List<ScoreDistribution> scoreDistributions = node.getScoreDistributions();
+
+				for(ScoreDistribution scoreDistribution : scoreDistributions){
+
+					if(hasExtensions(scoreDistribution)){
+						return false;
+					}
+				}
+			} // End if
+
+			if(node.hasNodes()){
+				queue.addAll(node.getNodes());
+			}
+		}
+
+		return true;
+	}
+
+	static
+	private boolean isSupported(Predicate predicate){
+
+		if(predicate instanceof SimplePredicate || predicate instanceof True || predicate instanceof False){
+			return !hasExtensions(predicate);
+		} else
+
+		if(predicate instanceof CompoundPredicate){
+			CompoundPredicate compoundPredicate = (CompoundPredicate)predicate;
+
+			if(hasExtensions(compoundPredicate)){
+				return false;
+			}
+
+			List<Predicate> predicates = compoundPredicate.getPredicates();
+			for(Predicate childPredicate : predicates){
+
+				if(!isSupported(childPredicate)){
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+	static
+	private boolean hasExtensions(PMMLObject object){
+
+		if(object instanceof HasExtensions){
+			HasExtensions<?> hasExtensions = (HasExtensions<?>)object;
+
+			return hasExtensions.hasExtensions();
+		}
+
+		return false;
+	}
+
+	static
+	private List<AttributeWriter> getAttributeWriters(Class<? extends PMMLObject> clazz){
+		List<AttributeWriter> result = DirectPMMLSerializer.attributeWriterCache.get(clazz);
+
+		if(result == null){
+			result = createAttributeWriters(clazz);
+
+			DirectPMMLSerializer.attributeWriterCache.putIfAbsent(clazz, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Collects attributes in JAXB marshalling order, which is superclass attributes first.
+	 * Within a class, attributes are ordered as listed in the {@link XmlType#propOrder()} annotation element,
+	 * followed by unlisted attributes as ordered by {@link ReflectionUtil}.
+	 * </p>
+	 */
+	static
+	private List<AttributeWriter> createAttributeWriters(Class<? extends PMMLObject> clazz){
+		List<AttributeWriter> result = new ArrayList<>();
+
+		List<Field> fields = new ArrayList<>();
+
+		Map<Field, Method> getterMethods = ReflectionUtil.getGetterMethods(clazz);
+		for(Field field : getterMethods.keySet()){
+
+			if(!field.isAnnotationPresent(XmlAttribute.class) || Modifier.isStatic(field.getModifiers())){
+				continue;
+			}
+
+			fields.add(field);
+		}
+
+		Comparator<Field> comparator = Comparator.<Field>comparingInt(field -> getDepth(field.getDeclaringClass()))
+			.thenComparingInt(field -> getPropOrderIndex(field));
+
+		// A stable sort, which keeps the relative order of unlisted attributes
+		fields.sort(comparator);
+
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		for(Field field : fields){
+			XmlAttribute attribute = field.getAnnotation(XmlAttribute.class);
+
+			String name = attribute.name();
+			if(("##default").equals(name)){
+				name = field.getName();
+			}
+
+			field.setAccessible(true);
+
+			try {
+				MethodHandle fieldGetter = lookup.unreflectGetter(field)
+					.asType(MethodType.methodType(Object.class, PMMLObject.class));
+
+				XmlAdapter<?, Object> adapter = null;
+
+				XmlJavaTypeAdapter typeAdapter = field.getAnnotation(XmlJavaTypeAdapter.class);
+				if(typeAdapter != null){
+					@SuppressWarnings("unchecked")
+					XmlAdapter<?, Object> uncheckedAdapter = (XmlAdapter<?, Object>)(typeAdapter.value()).getDeclaredConstructor().newInstance();
+
+					adapter = uncheckedAdapter;
+				}
+
+				Map<Object, String> enumValues = null;
+
+				Class<?> type = field.getType();
+				if(type.isEnum()){
+					enumValues = new HashMap<>();
+
+					Object[] constants = type.getEnumConstants();
+					for(Object constant : constants){
+						Field constantField = type.getField(((Enum<?>)constant).name());
+
+						XmlEnumValue enumValue = constantField.getAnnotation(XmlEnumValue.class);
+
+						enumValues.put(constant, enumValue != null ? enumValue.value() : ((Enum<?>)constant).name());
+					}
+				}
+
+				result.add(new AttributeWriter(name, fieldGetter, adapter, enumValues));
+			} catch(ReflectiveOperationException roe){
+				throw new RuntimeException(roe);
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private int getDepth(Class<?> clazz){
+		int result = 0;
+
+		for(Class<?> superClazz = clazz.getSuperclass(); superClazz != null; superClazz = superClazz.getSuperclass()){
+			result++;
+		}
+
+		return result;
+	}
+
+	static
+	private int getPropOrderIndex(Field field){
+		Class<?> clazz = field.getDeclaringClass();
+
+		XmlType type = clazz.getAnnotation(XmlType.class);
+		if(type != null){
+			int index = (Arrays.asList(type.propOrder())).indexOf(field.getName());
+
+			if(index > -1){
+				return index;
+			}
+		}
+
+		return Integer.MAX_VALUE;
+	}
+
+	/**
+	 * <p>
+	 * Escapes an attribute value the same way as the JAXB runtime does.
+	 * Tab, line feed and carriage return characters are written as character references,
+	 * so that they survive attribute value normalization.
+	 * Other control characters are written as character references as well.
+	 * </p>
+	 */
+	static
+	private void writeEscaped(String string, Writer writer) throws IOException {
+		int start = 0;
+
+		for(int i = 0, max = string.length(); i < max; i++){
+			char c = string.charAt(i);
+
+			String replacement;
+
+			switch(c){
+				case '&':
+					replacement = "&amp;";
+					break;
+				case '<':
+					replacement = "&lt;";
+					break;
+				case '>':
+					replacement = "&gt;";
+					break;
+				case '\"':
+					replacement = "&quot;";
+					break;
+				case '\t':
+					replacement = "&#x9;";
+					break;
+				case '\n':
+					replacement = "&#xA;";
+					break;
+				case '\r':
+					replacement = "&#xD;";
+					break;
+				default:
+					if(c < 0x20){
+						replacement = "&#x" + Integer.toHexString(c).toUpperCase() + ";";
+
+						break;
+					}
+
+					continue;
+			}
+
+			writer.write(string, start, i - start);
+			writer.write(replacement);
+
+			start = (i + 1);
+		}
+
+		writer.write(string, start, string.length() - start);
+	}
+
+	/**
+	 * <p>
+	 * Formats a value the same way as the JAXB runtime does for attributes that do not specify a type adapter.
+	 * </p>
+	 */
+	static
+	private String format(Object value){
+
+		if(value instanceof Double){
+			Double doubleValue = (Double)value;
+
+			if(doubleValue.isNaN()){
+				return "NaN";
+			} else
+
+			if(doubleValue.isInfinite()){
+				return (doubleValue > 0d) ? "INF" : "-INF";
+			}
+		} else
+
+		if(value instanceof Float){
+			Float floatValue = (Float)value;
+
+			if(floatValue.isNaN()){
+				return "NaN";
+			} else
+
+			if(floatValue.isInfinite()){
+				return (floatValue > 0f) ? "INF" : "-INF";
+			}
+		}
+
+		return String.valueOf(value);
+	}
+
+	/**
+	 * <p>
+	 * Writes node trees.
+	 * The attribute writers of every element type are resolved once per class,
+	 * and are reused for as long as the elements of that type keep the same class.
+	 * </p>
+	 */
+	static
+	private class NodeWriter {
+
+		private Writer writer = null;
+
+		private AttributeWriterResolver nodeResolver = new AttributeWriterResolver();
+
+		private AttributeWriterResolver simplePredicateResolver = new AttributeWriterResolver();
+
+		private AttributeWriterResolver compoundPredicateResolver = new AttributeWriterResolver();
+
+		private AttributeWriterResolver scoreDistributionResolver = new AttributeWriterResolver();
+
+
+		private NodeWriter(Writer writer){
+			this.writer = writer;
+		}
+
+		public void writeNode(Node node) throws IOException {
+			Writer writer = this.writer;
+
+			writer.write("<Node");
+			writeAttributes(node, this.nodeResolver.resolve(node.getClass()));
+			writer.write('>');
+
+			writePredicate(node.requirePredicate());
+
+			if(node.hasScoreDistributions()){
+				List<ScoreDistribution> scoreDistributions = node.getScoreDistributions();
+
+				for(int i = 0, max = scoreDistributions.size(); i < max; i++){
+					ScoreDistribution scoreDistribution = scoreDistributions.get(i);
+
+					writer.write("<ScoreDistribution");
+					writeAttributes(scoreDistribution, this.scoreDistributionResolver.resolve(scoreDistribution.getClass()));
+					writer.write("/>");
+				}
+			} // End if
+
+			if(node.hasNodes()){
+				List<Node> nodes = node.getNodes();
+
+				for(int i = 0, max = nodes.size(); i < max; i++){
+					writeNode(nodes.get(i));
+				}
+			}
+
+			writer.write("</Node>");
+		}
+
+		private void writePredicate(Predicate predicate) throws IOException {
+			Writer writer = this.writer;
+
+			if(predicate instanceof SimplePredicate){
+				writer.write("<SimplePredicate");
+				writeAttributes(predicate, this.simplePredicateResolver.resolve(predicate.getClass()));
+				writer.write("/>");
+			} else
+
+			if(predicate instanceof True){
+				writer.write("<True/>");
+			} else
+
+			if(predicate instanceof False){
+				writer.write("<False/>");
+			} else
+
+			if(predicate instanceof CompoundPredicate){
+				CompoundPredicate compoundPredicate = (CompoundPredicate)predicate;
+
+				writer.write("<CompoundPredicate");
+				writeAttributes(compoundPredicate, this.compoundPredicateResolver.resolve(compoundPredicate.getClass()));
+				writer.write('>');
+
+				List<Predicate> predicates = compoundPredicate.getPredicates();
+				for(int i = 0, max = predicates.size(); i < max; i++){
+					writePredicate(predicates.get(i));
+				}
+
+				writer.write("</CompoundPredicate>");
+			} else
+
+			{
+				throw new IllegalArgumentException();
+			}
+		}
+
+		private void writeAttributes(PMMLObject object, List<AttributeWriter> attributeWriters) throws IOException {
+
+			for(int i = 0, max = attributeWriters.size(); i < max; i++){
+				AttributeWriter attributeWriter = attributeWriters.get(i);
+
+				attributeWriter.write(object, this.writer);
+			}
+		}
+	}
+
+	static
+	private class AttributeWriterResolver {
+
+		private Class<?> clazz = null;
+
+		private List<AttributeWriter> attributeWriters = null;
+
+
+		public List<AttributeWriter> resolve(Class<? extends PMMLObject> clazz){
+
+			if(this.clazz != clazz){
+				this.attributeWriters = getAttributeWriters(clazz);
+				this.clazz = clazz;
+			}
+
+			return this.attributeWriters;
+		}
+	}
+
+	static
+	private class AttributeWriter {
+
+		private String prefix = null;
+
+		private MethodHandle fieldGetter = null;
+
+		private XmlAdapter<?, Object> adapter = null;
+
+		private Map<Object, String> enumValues = null;
+
+
+		private AttributeWriter(String name, MethodHandle fieldGetter, XmlAdapter<?, Object> adapter, Map<Object, String> enumValues){
+			this.prefix = " " + name + "=\"";
+			this.fieldGetter = fieldGetter;
+			this.adapter = adapter;
+			this.enumValues = enumValues;
+		}
+
+		public void write(PMMLObject object, Writer writer) throws IOException {
+			Object value;
+
+			try {
+				value = (Object)this.fieldGetter.invokeExact(object);
+			} catch(RuntimeException | Error e){
+				throw e;
+			} catch(Throwable t){
+				throw new RuntimeException(t);
+			}
+
+			if(value == null){
+				return;
+			}
+
+			String string;
+
+			if(this.adapter != null){
+
+				try {
+					Object adaptedValue = this.adapter.marshal(value);
+					if(adaptedValue == null){
+						return;
+					}
+
+					string = String.valueOf(adaptedValue);
+				} catch(Exception e){
+					throw new IOException(e);
+				}
+			} else
+
+			if(this.enumValues != null){
+				string = this.enumValues.get(value);
+			} else
+
+			{
+				string = format(value);
+			}
+
+			writer.write(this.prefix);
+			writeEscaped(string, writer);
+			writer.write('\"');
+		}
+	}
+
+	private static final ConcurrentMap<Class<?>, List<AttributeWriter>> attributeWriterCache = new ConcurrentHashMap<>();
+}
\ No newline at end of file
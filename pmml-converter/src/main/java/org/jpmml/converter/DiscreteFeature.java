@@ -18,6 +18,8 @@
  */
 package org.jpmml.converter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -64,8 +66,8 @@ public class DiscreteFeature extends Feature {
 	}
 
 	@Override
-	public int hashCode(){
-		return (31 * super.hashCode()) + Objects.hashCode(this.getValues());
+	protected int computeHashCode(){
+		return (31 * super.computeHashCode()) + Objects.hashCode(this.getValues());
 	}
 
 	@Override
@@ -109,6 +111,6 @@ public class DiscreteFeature extends Feature {
 			throw new IllegalArgumentException();
 		}
 
-		this.values = values;
+		this.values = Collections.unmodifiableList(new ArrayList<>(values));
 	}
 }
\ No newline at end of file
@@ -18,6 +18,8 @@
  */
 package org.jpmml.converter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -57,8 +59,8 @@ public class DiscreteLabel extends ScalarLabel {
 	}
 
 	@Override
-	public int hashCode(){
-		return (31 * super.hashCode()) + Objects.hashCode(this.getValues());
+	protected int computeHashCode(){
+		return (31 * super.computeHashCode()) + Objects.hashCode(this.getValues());
 	}
 
 	@Override
@@ -102,6 +104,6 @@ public class DiscreteLabel extends ScalarLabel {
 			throw new IllegalArgumentException();
 		}
 
-		this.values = values;
+		this.values = Collections.unmodifiableList(new ArrayList<>(values));
 	}
 }
\ No newline at end of file
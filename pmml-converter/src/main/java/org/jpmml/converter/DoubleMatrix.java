@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A matrix of <code>double</code> values, which is backed by a primitive array or by one or more {@link DoubleBuffer buffers}.
+ * </p>
+ *
+ * @see #map(Path, ByteOrder, int, int, boolean)
+ */
+public class DoubleMatrix extends PrimitiveMatrix<Double> {
+
+	public DoubleMatrix(double[] values, int rows, int columns){
+		this(values, rows, columns, false);
+	}
+
+	public DoubleMatrix(double[] values, int rows, int columns, boolean columnMajor){
+		this(DoubleBuffer.wrap(values), rows, columns, columnMajor);
+	}
+
+	public DoubleMatrix(DoubleBuffer buffer, int rows, int columns, boolean columnMajor){
+		this(new DoubleBuffer[]{buffer.slice()}, Math.max(buffer.remaining(), 1), buffer.remaining(), rows, columns, columnMajor);
+	}
+
+	private DoubleMatrix(DoubleBuffer[] blocks, int blockSize, int size, int rows, int columns, boolean columnMajor){
+		super(new View(blocks, blockSize, 0, 1, checkSize(size, rows, columns)), rows, columns, columnMajor);
+	}
+
+	@Override
+	public View getValues(){
+		return (View)super.getValues();
+	}
+
+	@Override
+	public View getRowValues(int row){
+		View values = getValues();
+
+		return values.view(getRowOffset(row), getRowStride(), getColumns());
+	}
+
+	@Override
+	public View getColumnValues(int column){
+		View values = getValues();
+
+		return values.view(getColumnOffset(column), getColumnStride(), getRows());
+	}
+
+	@Override
+	public double getDouble(int row, int column){
+		View values = getValues();
+
+		return values.getDouble(getIndex(row, column));
+	}
+
+	/**
+	 * <p>
+	 * Maps a binary file of <code>double</code> values into memory.
+	 * </p>
+	 *
+	 * <p>
+	 * The file is mapped in read-only mode, in blocks of up to 2 GB each.
+	 * The mapping remains valid after this method returns, and is released when the matrix is garbage collected.
+	 * </p>
+	 */
+	static
+	public DoubleMatrix map(Path path, ByteOrder byteOrder, int rows, int columns, boolean columnMajor) throws IOException {
+		checkSize(rows * columns, rows, columns);
+
+		int size = (rows * columns);
+
+		int blockSize = (Integer.MAX_VALUE / Double.BYTES);
+
+		DoubleBuffer[] blocks = new DoubleBuffer[(int)(((long)size + (blockSize - 1)) / blockSize)];
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+			long length = ((long)size * Double.BYTES);
+
+			if(channel.size() != length){
+				throw new IOException("Expected " + length + " bytes, got " + channel.size() + " bytes");
+			}
+
+			for(int i = 0; i < blocks.length; i++){
+				long offset = ((long)i * blockSize);
+				long count = Math.min(blockSize, size - offset);
+
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset * Double.BYTES, count * Double.BYTES);
+				buffer.order(byteOrder);
+
+				blocks[i] = buffer.asDoubleBuffer();
+			}
+		}
+
+		return new DoubleMatrix(blocks, blockSize, size, rows, columns, columnMajor);
+	}
+
+	/**
+	 * <p>
+	 * A strided view of matrix elements.
+	 * </p>
+	 */
+	static
+	public class View extends AbstractList<Double> implements RandomAccess {
+
+		private DoubleBuffer[] blocks = null;
+
+		private int blockSize = 0;
+
+		private int offset = 0;
+
+		private int stride = 0;
+
+		private int size = 0;
+
+
+		private View(DoubleBuffer[] blocks, int blockSize, int offset, int stride, int size){
+			this.blocks = blocks;
+			this.blockSize = blockSize;
+			this.offset = offset;
+			this.stride = stride;
+			this.size = size;
+		}
+
+		@Override
+		public int size(){
+			return this.size;
+		}
+
+		@Override
+		public Double get(int index){
+			return getDouble(index);
+		}
+
+		public double getDouble(int index){
+			Objects.checkIndex(index, this.size);
+
+			int position = this.offset + (index * this.stride);
+
+			if(this.blocks.length == 1){
+				return this.blocks[0].get(position);
+			}
+
+			DoubleBuffer block = this.blocks[position / this.blockSize];
+
+			return block.get(position % this.blockSize);
+		}
+
+		public double[] toDoubleArray(){
+			double[] result = new double[this.size];
+
+			for(int i = 0; i < this.size; i++){
+				result[i] = getDouble(i);
+			}
+
+			return result;
+		}
+
+		private View view(int offset, int stride, int size){
+			return new View(this.blocks, this.blockSize, this.offset + (offset * this.stride), this.stride * stride, size);
+		}
+	}
+}
\ No newline at end of file
@@ -18,6 +18,8 @@
  */
 package org.jpmml.converter;
 
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -38,6 +40,14 @@ public class Feature {
 
 	private DataType dataType = null;
 
+	private ContinuousFeature continuousFeature = null;
+
+	private Map<DataType, ContinuousFeature> continuousFeatures = null;
+
+	private int fieldRemovalCount = -1;
+
+	private int hashCode = 0;
+
 
 	public Feature(PMMLEncoder encoder, String name, DataType dataType){
 		setEncoder(encoder);
@@ -55,9 +65,11 @@ public class Feature {
 			return continuousFeature;
 		}
 
-		String name = FieldNameUtil.create(dataType, continuousFeature);
+		return memoizeContinuousFeature(dataType, () -> {
+			String name = FieldNameUtil.create(dataType, continuousFeature);
 
-		return toContinuousFeature(name, dataType, continuousFeature::ref);
+			return toContinuousFeature(name, dataType, continuousFeature::ref);
+		});
 	}
 
 	protected ContinuousFeature toContinuousFeature(String name, DataType dataType, Supplier<? extends Expression> expressionSupplier){
@@ -68,6 +80,55 @@ public class Feature {
 		return new ContinuousFeature(encoder, derivedField);
 	}
 
+	/**
+	 * <p>
+	 * Gets the memoized continuous view of this feature, or creates and memoizes a new one.
+	 * </p>
+	 *
+	 * <p>
+	 * Memoized views are discarded whenever the encoder removes a field,
+	 * because they may be referring to a derived field that is no longer defined.
+	 * </p>
+	 *
+	 * @param dataType The data type of the view, or <code>null</code> for the default view.
+	 *
+	 * @see #toContinuousFeature()
+	 * @see #toContinuousFeature(DataType)
+	 */
+	protected ContinuousFeature memoizeContinuousFeature(DataType dataType, Supplier<? extends ContinuousFeature> continuousFeatureSupplier){
+		PMMLEncoder encoder = getEncoder();
+
+		int fieldRemovalCount = encoder.getFieldRemovalCount();
+		if(this.fieldRemovalCount != fieldRemovalCount){
+			this.continuousFeature = null;
+			this.continuousFeatures = null;
+
+			this.fieldRemovalCount = fieldRemovalCount;
+		} // End if
+
+		if(dataType == null){
+
+			if(this.continuousFeature == null){
+				this.continuousFeature = continuousFeatureSupplier.get();
+			}
+
+			return this.continuousFeature;
+		} // End if
+
+		if(this.continuousFeatures == null){
+			this.continuousFeatures = new EnumMap<>(DataType.class);
+		}
+
+		ContinuousFeature continuousFeature = this.continuousFeatures.get(dataType);
+		if(continuousFeature == null){
+			continuousFeature = continuousFeatureSupplier.get();
+
+			this.continuousFeatures.put(dataType, continuousFeature);
+		}
+
+		return continuousFeature;
+	}
+
 	public FieldRef ref(){
 		return new FieldRef(getName());
 	}
@@ -92,8 +153,33 @@ public class Feature {
 		return SchemaUtil.formatTypeString(getClass());
 	}
 
+	/**
+	 * <p>
+	 * Features are effectively immutable, so the hash code is calculated once, and then cached.
+	 * </p>
+	 *
+	 * @see #computeHashCode()
+	 */
 	@Override
 	public int hashCode(){
+		int result = this.hashCode;
+
+		if(result == 0){
+			result = computeHashCode();
+
+			this.hashCode = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Subclasses that extend {@link #equals(Object)} should extend this method (instead of {@link #hashCode()}),
+	 * so that their hash code gets cached as well.
+	 * </p>
+	 */
+	protected int computeHashCode(){
 		int result = 0;
 
 		result = (31 * result) + Objects.hashCode(this.getEncoder());
@@ -106,10 +192,20 @@ public class Feature {
 	@Override
 	public boolean equals(Object object){
 
+		if(object == this){
+			return true;
+		} // End if
+
 		if(object instanceof Feature){
 			Feature that = (Feature)object;
 
 			if(Objects.equals(this.getClass(), that.getClass())){
+
+				// Cheap rejection, before deep comparison
+				if(this.hashCode() != that.hashCode()){
+					return false;
+				}
+
 				return Objects.equals(this.getEncoder(), that.getEncoder()) && Objects.equals(this.getName(), that.getName()) && Objects.equals(this.getDataType(), that.getDataType());
 			}
 		}
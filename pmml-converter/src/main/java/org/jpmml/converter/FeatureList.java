@@ -18,13 +18,30 @@
  */
 package org.jpmml.converter;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 
+/**
+ * <p>
+ * A list of features that can be resolved by name.
+ * </p>
+ *
+ * <p>
+ * Name resolution is backed by a hash index, which is built on first use.
+ * The list of names is copied, and all its modifications must go through {@link #getNames()} or {@link #setNames(List)},
+ * which discard the hash index.
+ * </p>
+ */
 public class FeatureList extends ArrayList<Feature> implements FeatureResolver {
 
 	private List<String> names = null;
 
+	private Map<String, Integer> nameIndexes = null;
+
 
 	public FeatureList(List<? extends Feature> features, List<String> names){
 		super(features);
@@ -38,9 +55,7 @@ public class FeatureList extends ArrayList<Feature> implements FeatureResolver {
 
 	@Override
 	public Feature resolveFeature(String name){
-		List<String> names = getNames();
-
-		int index = names.indexOf(name);
+		int index = indexOfName(name);
 		if(index < 0){
 			throw new SchemaException("Feature " + ExceptionUtil.formatName(name) + " is not defined");
 		}
@@ -48,11 +63,92 @@ public class FeatureList extends ArrayList<Feature> implements FeatureResolver {
 		return get(index);
 	}
 
+	public int indexOfName(String name){
+		Map<String, Integer> nameIndexes = this.nameIndexes;
+
+		if(nameIndexes == null){
+			nameIndexes = buildIndex(getNames());
+
+			this.nameIndexes = nameIndexes;
+		}
+
+		Integer index = nameIndexes.get(name);
+		if(index != null){
+			return index;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return A modifiable view of the list of names.
+	 */
 	public List<String> getNames(){
 		return this.names;
 	}
 
 	public void setNames(List<String> names){
-		this.names = names;
+		this.names = new NameList(names);
+		this.nameIndexes = null;
+	}
+
+	static
+	private Map<String, Integer> buildIndex(List<String> names){
+		Map<String, Integer> result = new HashMap<>(2 * names.size());
+
+		for(int i = 0; i < names.size(); i++){
+			result.putIfAbsent(names.get(i), i);
+		}
+
+		return result;
+	}
+
+	private class NameList extends AbstractList<String> implements RandomAccess {
+
+		private List<String> names = null;
+
+
+		private NameList(List<String> names){
+			this.names = new ArrayList<>(names);
+		}
+
+		@Override
+		public int size(){
+			return this.names.size();
+		}
+
+		@Override
+		public String get(int index){
+			return this.names.get(index);
+		}
+
+		@Override
+		public String set(int index, String name){
+			String result = this.names.set(index, name);
+
+			FeatureList.this.nameIndexes = null;
+
+			return result;
+		}
+
+		@Override
+		public void add(int index, String name){
+			this.names.add(index, name);
+
+			this.modCount++;
+
+			FeatureList.this.nameIndexes = null;
+		}
+
+		@Override
+		public String remove(int index){
+			String result = this.names.remove(index);
+
+			this.modCount++;
+
+			FeatureList.this.nameIndexes = null;
+
+			return result;
+		}
 	}
 }
\ No newline at end of file
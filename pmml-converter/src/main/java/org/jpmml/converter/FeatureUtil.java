@@ -77,6 +77,19 @@ public class FeatureUtil {
 		return feature.getName();
 	}
 
+	/**
+	 * @see Schema#findFeature(String)
+	 */
+	static
+	public Feature findLabelFeature(Schema schema, ScalarLabel scalarLabel){
+
+		if(scalarLabel.isAnonymous()){
+			throw new IllegalArgumentException();
+		}
+
+		return schema.findFeature(scalarLabel.getName());
+	}
+
 	static
 	public Feature findLabelFeature(List<? extends Feature> features, ScalarLabel scalarLabel){
 
@@ -87,9 +100,40 @@ public class FeatureUtil {
 		return findFeature(features, scalarLabel.getName());
 	}
 
+	/**
+	 * @see Schema#findFeature(String)
+	 */
+	static
+	public Feature findFeature(Schema schema, String name){
+		return schema.findFeature(name);
+	}
+
+	/**
+	 * <p>
+	 * Finds the first feature with the specified name.
+	 * </p>
+	 *
+	 * <p>
+	 * A {@link OneHotFeatureList} is searched using its index. Any other list is scanned linearly.
+	 * Repeated lookups against the same list should go through {@link Schema#findFeature(String)} instead.
+	 * </p>
+	 *
+	 * @return The first feature with the specified name, or <code>null</code>.
+	 */
 	static
 	public Feature findFeature(List<? extends Feature> features, String name){
 
+		if(features instanceof OneHotFeatureList){
+			OneHotFeatureList oneHotFeatures = (OneHotFeatureList)features;
+
+			int index = oneHotFeatures.indexOfName(name);
+			if(index < 0){
+				return null;
+			}
+
+			return oneHotFeatures.get(index);
+		}
+
 		for(Feature feature : features){
 
 			if(Objects.equals(feature.getName(), name)){
@@ -18,7 +18,6 @@
  */
 package org.jpmml.converter;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 
 public class FlagManager extends ValueManager<Boolean> {
@@ -32,9 +31,7 @@ public class FlagManager extends ValueManager<Boolean> {
 
 	@Override
 	public FlagManager fork(String name, Boolean value){
-		Map<String, Boolean> valueMap = new LinkedHashMap<>(getValueMap());
-
-		valueMap.put(name, value);
+		Map<String, Boolean> valueMap = forkValueMap(name, value);
 
 		return new FlagManager(valueMap);
 	}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A matrix of <code>float</code> values, which is backed by a primitive array or by one or more {@link FloatBuffer buffers}.
+ * </p>
+ *
+ * @see #map(Path, ByteOrder, int, int, boolean)
+ */
+public class FloatMatrix extends PrimitiveMatrix<Float> {
+
+	public FloatMatrix(float[] values, int rows, int columns){
+		this(values, rows, columns, false);
+	}
+
+	public FloatMatrix(float[] values, int rows, int columns, boolean columnMajor){
+		this(FloatBuffer.wrap(values), rows, columns, columnMajor);
+	}
+
+	public FloatMatrix(FloatBuffer buffer, int rows, int columns, boolean columnMajor){
+		this(new FloatBuffer[]{buffer.slice()}, Math.max(buffer.remaining(), 1), buffer.remaining(), rows, columns, columnMajor);
+	}
+
+	private FloatMatrix(FloatBuffer[] blocks, int blockSize, int size, int rows, int columns, boolean columnMajor){
+		super(new View(blocks, blockSize, 0, 1, checkSize(size, rows, columns)), rows, columns, columnMajor);
+	}
+
+	@Override
+	public View getValues(){
+		return (View)super.getValues();
+	}
+
+	@Override
+	public View getRowValues(int row){
+		View values = getValues();
+
+		return values.view(getRowOffset(row), getRowStride(), getColumns());
+	}
+
+	@Override
+	public View getColumnValues(int column){
+		View values = getValues();
+
+		return values.view(getColumnOffset(column), getColumnStride(), getRows());
+	}
+
+	@Override
+	public double getDouble(int row, int column){
+		return getFloat(row, column);
+	}
+
+	public float getFloat(int row, int column){
+		View values = getValues();
+
+		return values.getFloat(getIndex(row, column));
+	}
+
+	/**
+	 * <p>
+	 * Maps a binary file of <code>float</code> values into memory.
+	 * </p>
+	 *
+	 * @see DoubleMatrix#map(Path, ByteOrder, int, int, boolean)
+	 */
+	static
+	public FloatMatrix map(Path path, ByteOrder byteOrder, int rows, int columns, boolean columnMajor) throws IOException {
+		checkSize(rows * columns, rows, columns);
+
+		int size = (rows * columns);
+
+		int blockSize = (Integer.MAX_VALUE / Float.BYTES);
+
+		FloatBuffer[] blocks = new FloatBuffer[(int)(((long)size + (blockSize - 1)) / blockSize)];
+
+		try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+			long length = ((long)size * Float.BYTES);
+
+			if(channel.size() != length){
+				throw new IOException("Expected " + length + " bytes, got " + channel.size() + " bytes");
+			}
+
+			for(int i = 0; i < blocks.length; i++){
+				long offset = ((long)i * blockSize);
+				long count = Math.min(blockSize, size - offset);
+
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset * Float.BYTES, count * Float.BYTES);
+				buffer.order(byteOrder);
+
+				blocks[i] = buffer.asFloatBuffer();
+			}
+		}
+
+		return new FloatMatrix(blocks, blockSize, size, rows, columns, columnMajor);
+	}
+
+	/**
+	 * <p>
+	 * A strided view of matrix elements.
+	 * </p>
+	 */
+	static
+	public class View extends AbstractList<Float> implements RandomAccess {
+
+		private FloatBuffer[] blocks = null;
+
+		private int blockSize = 0;
+
+		private int offset = 0;
+
+		private int stride = 0;
+
+		private int size = 0;
+
+
+		private View(FloatBuffer[] blocks, int blockSize, int offset, int stride, int size){
+			this.blocks = blocks;
+			this.blockSize = blockSize;
+			this.offset = offset;
+			this.stride = stride;
+			this.size = size;
+		}
+
+		@Override
+		public int size(){
+			return this.size;
+		}
+
+		@Override
+		public Float get(int index){
+			return getFloat(index);
+		}
+
+		public float getFloat(int index){
+			Objects.checkIndex(index, this.size);
+
+			int position = this.offset + (index * this.stride);
+
+			if(this.blocks.length == 1){
+				return this.blocks[0].get(position);
+			}
+
+			FloatBuffer block = this.blocks[position / this.blockSize];
+
+			return block.get(position % this.blockSize);
+		}
+
+		public float[] toFloatArray(){
+			float[] result = new float[this.size];
+
+			for(int i = 0; i < this.size; i++){
+				result[i] = getFloat(i);
+			}
+
+			return result;
+		}
+
+		private View view(int offset, int stride, int size){
+			return new View(this.blocks, this.blockSize, this.offset + (offset * this.stride), this.stride * stride, size);
+		}
+	}
+}
\ No newline at end of file
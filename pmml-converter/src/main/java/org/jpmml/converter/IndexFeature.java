@@ -42,6 +42,10 @@ public class IndexFeature extends CategoricalFeature {
 
 	@Override
 	public ContinuousFeature toContinuousFeature(){
+		return memoizeContinuousFeature(null, this::createContinuousFeature);
+	}
+
+	private ContinuousFeature createContinuousFeature(){
 		PMMLEncoder encoder = getEncoder();
 
 		// XXX: Cannot derive a global field from a local field
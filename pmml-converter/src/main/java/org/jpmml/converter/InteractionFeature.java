@@ -19,12 +19,14 @@
 package org.jpmml.converter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 
 import org.dmg.pmml.Apply;
 import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
 import org.dmg.pmml.Field;
 import org.dmg.pmml.PMMLFunctions;
 import org.jpmml.model.ToStringHelper;
@@ -33,19 +35,37 @@ public class InteractionFeature extends Feature {
 
 	private List<? extends Feature> features = null;
 
+	private boolean prefixSharing = false;
+
 
 	public InteractionFeature(PMMLEncoder encoder, Field<?> field, List<? extends Feature> features){
 		this(encoder, field.requireName(), field.requireDataType(), features);
 	}
 
 	public InteractionFeature(PMMLEncoder encoder, String name, DataType dataType, List<? extends Feature> features){
+		this(encoder, name, dataType, features, false);
+	}
+
+	/**
+	 * @param prefixSharing <code>true</code> if all proper prefixes of the product should be encoded as shared derived fields,
+	 * <code>false</code> if the product should be encoded as a single nested expression.
+	 *
+	 * @see #isPrefixSharing()
+	 */
+	public InteractionFeature(PMMLEncoder encoder, String name, DataType dataType, List<? extends Feature> features, boolean prefixSharing){
 		super(encoder, name, dataType);
 
 		setFeatures(features);
+		setPrefixSharing(prefixSharing);
 	}
 
 	@Override
 	public ContinuousFeature toContinuousFeature(){
+
+		if(isPrefixSharing()){
+			return memoizeContinuousFeature(null, () -> toSharedContinuousFeature());
+		}
+
 		Supplier<Apply> applySupplier = () -> {
 			List<? extends Feature> features = getFeatures();
 
@@ -58,12 +78,63 @@ public class InteractionFeature extends Feature {
 			return apply;
 		};
 
-		return toContinuousFeature(getName(), DataType.DOUBLE, applySupplier);
+		return memoizeContinuousFeature(null, () -> toContinuousFeature(getName(), DataType.DOUBLE, applySupplier));
+	}
+
+	/**
+	 * <p>
+	 * Encodes the product of features as a derived field, which is registered with the encoder under the list of features.
+	 * If some other interaction feature has already registered a derived field for the same list of features, then it is reused instead.
+	 * </p>
+	 *
+	 * <p>
+	 * The product is encoded as the product of the longest proper prefix and the last feature.
+	 * If the prefix has not been registered yet, then it is encoded (recursively) as a derived field,
+	 * whose name is a function of the names of the prefix features.
+	 * </p>
+	 */
+	private ContinuousFeature toSharedContinuousFeature(){
+		PMMLEncoder encoder = getEncoder();
+
+		List<? extends Feature> features = getFeatures();
+
+		String name = encoder.getInteractionFieldName(features);
+		if(name != null){
+			DerivedField derivedField = encoder.getDerivedField(name);
+
+			if(derivedField != null){
+				return new ContinuousFeature(encoder, derivedField);
+			}
+		}
+
+		Supplier<Apply> applySupplier = () -> {
+			List<? extends Feature> prefixFeatures = features.subList(0, features.size() - 1);
+
+			ContinuousFeature prefixFeature;
+
+			if(prefixFeatures.size() > 1){
+				InteractionFeature prefixInteractionFeature = new InteractionFeature(encoder, FieldNameUtil.create("interaction", prefixFeatures), DataType.DOUBLE, prefixFeatures, true);
+
+				prefixFeature = prefixInteractionFeature.toContinuousFeature();
+			} else
+
+			{
+				prefixFeature = (prefixFeatures.get(0)).toContinuousFeature();
+			}
+
+			return ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, prefixFeature.ref(), ((features.get(features.size() - 1)).toContinuousFeature()).ref());
+		};
+
+		ContinuousFeature continuousFeature = toContinuousFeature(getName(), DataType.DOUBLE, applySupplier);
+
+		encoder.putInteractionFieldName(features, continuousFeature.getName());
+
+		return continuousFeature;
 	}
 
 	@Override
-	public int hashCode(){
-		return (31 * super.hashCode()) + Objects.hashCode(this.getFeatures());
+	protected int computeHashCode(){
+		return (31 * super.computeHashCode()) + Objects.hashCode(this.getFeatures());
 	}
 
 	@Override
@@ -115,6 +186,24 @@ public class InteractionFeature extends Feature {
 			throw new IllegalArgumentException();
 		}
 
-		this.features = features;
+		this.features = Collections.unmodifiableList(new ArrayList<>(features));
+	}
+
+	/**
+	 * <p>
+	 * Prefix sharing is an encoding option, which does not affect equality.
+	 * With prefix sharing, the product of features <code>[a, b, c, d]</code> is encoded as <code>((a * b) * c) * d</code>,
+	 * where <code>a * b</code> and <code>(a * b) * c</code> are separate derived fields.
+	 * Derived fields are looked up by the list of features, so the prefix <code>(a * b) * c</code> is the derived field
+	 * of a prefix-sharing interaction feature <code>[a, b, c]</code> (if one has been encoded before).
+	 * A high-order polynomial expansion then evaluates every distinct prefix product once per record.
+	 * </p>
+	 */
+	public boolean isPrefixSharing(){
+		return this.prefixSharing;
+	}
+
+	private void setPrefixSharing(boolean prefixSharing){
+		this.prefixSharing = prefixSharing;
 	}
 }
\ No newline at end of file
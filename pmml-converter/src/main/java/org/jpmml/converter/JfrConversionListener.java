@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.dmg.pmml.Visitor;
+
+/**
+ * <p>
+ * A conversion listener that emits conversion metrics as Java Flight Recorder (JFR) events.
+ * </p>
+ *
+ * <p>
+ * Events are named <code>org.jpmml.converter.Conversion</code>, and are enabled by default.
+ * </p>
+ */
+public class JfrConversionListener implements ConversionListener {
+
+	@Override
+	public void measured(ConversionMetrics metrics){
+		ConversionEvent event = new ConversionEvent();
+
+		if(!event.isEnabled()){
+			return;
+		}
+
+		List<Class<? extends Visitor>> visitorClazzes = metrics.getVisitorClazzes();
+
+		event.phase = metrics.getPhase();
+		event.visitors = visitorClazzes.stream()
+			.map(Class::getName)
+			.collect(Collectors.joining(","));
+		event.wallTime = metrics.getWallTime();
+		event.nodesVisited = metrics.getNodesVisited();
+		event.objectCount = metrics.getObjectCount();
+		event.objectsRemoved = metrics.getObjectsRemoved();
+		event.allocatedBytes = metrics.getAllocatedBytes();
+
+		event.commit();
+	}
+
+	@Name("org.jpmml.converter.Conversion")
+	@Label("PMML Conversion")
+	@Category({"JPMML", "Converter"})
+	@Description("Conversion phase or visitor pass")
+	@StackTrace(false)
+	static
+	class ConversionEvent extends Event {
+
+		@Label("Phase")
+		String phase;
+
+		@Label("Visitors")
+		String visitors;
+
+		@Label("Wall Time")
+		@Timespan(Timespan.NANOSECONDS)
+		long wallTime;
+
+		@Label("Nodes Visited")
+		long nodesVisited;
+
+		@Label("Object Count")
+		long objectCount;
+
+		@Label("Objects Removed")
+		long objectsRemoved;
+
+		@Label("Allocated Bytes")
+		@DataAmount(DataAmount.BYTES)
+		long allocatedBytes;
+	}
+}
\ No newline at end of file
@@ -23,10 +23,43 @@ import org.jpmml.model.ToStringHelper;
 abstract
 public class Label {
 
+	private int hashCode = 0;
+
+
 	public String typeString(){
 		return SchemaUtil.formatTypeString(getClass());
 	}
 
+	/**
+	 * <p>
+	 * Labels are effectively immutable, so the hash code is calculated once, and then cached.
+	 * </p>
+	 *
+	 * @see #computeHashCode()
+	 */
+	@Override
+	public int hashCode(){
+		int result = this.hashCode;
+
+		if(result == 0){
+			result = computeHashCode();
+
+			this.hashCode = result;
+		}
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Subclasses that extend {@link #equals(Object)} should extend this method (instead of {@link #hashCode()}),
+	 * so that their hash code gets cached as well.
+	 * </p>
+	 */
+	protected int computeHashCode(){
+		return super.hashCode();
+	}
+
 	@Override
 	public String toString(){
 		ToStringHelper helper = toStringHelper();
@@ -24,9 +24,14 @@ class MatrixUtil {
 
 	static
 	protected void validateSize(List<?> values, int rows, int columns){
+		validateSize(values.size(), rows, columns);
+	}
+
+	static
+	protected void validateSize(int size, int rows, int columns){
 
-		if(values.size() != (rows * columns)){
-			throw new ConversionException("Expected " + ExceptionUtil.formatCount(rows * columns, "element") + " (" + ExceptionUtil.formatCount(rows, "row") + ", " + ExceptionUtil.formatCount(columns, "column") + "), got " + values.size());
+		if(size != (rows * columns)){
+			throw new ConversionException("Expected " + ExceptionUtil.formatCount(rows * columns, "element") + " (" + ExceptionUtil.formatCount(rows, "row") + ", " + ExceptionUtil.formatCount(columns, "column") + "), got " + size);
 		}
 	}
 }
\ No newline at end of file
@@ -18,20 +18,25 @@
  */
 package org.jpmml.converter;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
+import org.dmg.pmml.DerivedField;
 import org.dmg.pmml.Field;
 import org.dmg.pmml.InlineTable;
 import org.dmg.pmml.MathContext;
@@ -41,13 +46,20 @@ import org.dmg.pmml.Model;
 import org.dmg.pmml.ModelStats;
 import org.dmg.pmml.NamespacePrefixes;
 import org.dmg.pmml.PMML;
+import org.dmg.pmml.TransformationDictionary;
 import org.dmg.pmml.UnivariateStats;
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.Visitor;
 import org.dmg.pmml.mining.MiningModel;
+import org.dmg.pmml.mining.Segment;
 import org.dmg.pmml.mining.Segmentation;
 import org.jpmml.converter.mining.MiningModelUtil;
+import org.jpmml.converter.visitors.DerivedFieldDeduplicator;
 import org.jpmml.converter.visitors.FeatureExpander;
+import org.jpmml.converter.visitors.FieldDependencyCache;
 import org.jpmml.converter.visitors.ModelCleanerBattery;
 import org.jpmml.converter.visitors.PMMLCleanerBattery;
+import org.jpmml.converter.visitors.ParallelVisitorBattery;
 import org.jpmml.model.visitors.VisitorBattery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,29 +74,218 @@ public class ModelEncoder extends PMMLEncoder {
 
 	private Map<Model, List<UnivariateStats>> univariateStats = new LinkedHashMap<>();
 
+	private ForkJoinPool forkJoinPool = null;
+
+	private ConversionListener conversionListener = null;
+
 
 	public PMML encodePMML(Model model){
+		PMML pmml = encodeUncleanPMML(model);
+
+		ConversionProbe probe = startPhase(ConversionListener.PHASE_CLEAN_PMML, pmml);
+
+		VisitorBattery pmmlCleanerBattery = createPMMLCleanerBattery(probe);
+		pmmlCleanerBattery.applyTo(pmml);
+
+		finishPhase(probe);
+
+		return pmml;
+	}
+
+	/**
+	 * <p>
+	 * Encodes a model, and writes it to an output stream.
+	 * </p>
+	 *
+	 * <p>
+	 * The output is streamed, not the model.
+	 * The complete model is encoded and held in memory the same way as in {@link #encodePMML(Model)}.
+	 * If the top-level model is a {@link MiningModel}, then its segments are cleaned and written one by one,
+	 * so that the serialized form of the document is never held in memory as a whole.
+	 * The segmentation is left intact.
+	 * </p>
+	 *
+	 * <p>
+	 * The conversion listener is notified about the same phases as in {@link #encodePMML(Model)}.
+	 * PMML cleaning is interleaved with writing, so the {@link ConversionListener#PHASE_CLEAN_PMML} phase includes the writing of segments.
+	 * </p>
+	 *
+	 * @see PMMLStreamWriter
+	 */
+	public void encodePMML(Model model, OutputStream os) throws IOException {
+		PMML pmml = encodeUncleanPMML(model);
+
+		Segmentation segmentation = null;
+
+		List<Model> models = pmml.getModels();
+		if(models.size() == 1 && models.get(0) instanceof MiningModel){
+			MiningModel miningModel = (MiningModel)models.get(0);
+
+			segmentation = miningModel.getSegmentation();
+		}
+
+		PMMLStreamWriter writer = new PMMLStreamWriter(os);
+
+		ConversionProbe probe = startPhase(ConversionListener.PHASE_CLEAN_PMML, pmml);
+
+		VisitorBattery pmmlCleanerBattery = createPMMLCleanerBattery(probe);
+
+		if(segmentation == null || !segmentation.hasSegments()){
+			pmmlCleanerBattery.applyTo(pmml);
+
+			finishPhase(probe);
+
+			writer.writePMML(pmml);
+
+			return;
+		}
+
+		List<Segment> segments = new ArrayList<>(segmentation.getSegments());
+
+		// The skeleton first, and then the segments, in the same way as ParallelVisitorBattery does
+		(segmentation.getSegments()).clear();
+
+		try {
+			pmmlCleanerBattery.applyTo(pmml);
+
+			writer.writeStart(pmml, segmentation);
+
+			for(Segment segment : segments){
+				pmmlCleanerBattery.applyTo(segment);
+
+				writer.writeSegment(segment);
+			}
+
+			writer.writeEnd();
+		} finally {
+			(segmentation.getSegments()).clear();
+			(segmentation.getSegments()).addAll(segments);
+		}
+
+		finishPhase(probe);
+	}
+
+	private PMML encodeUncleanPMML(Model model){
 		PMML pmml = encodePMML();
 
+		ConversionProbe probe = startPhase(ConversionListener.PHASE_ENCODE_MODEL, null);
+
 		model = encodeModel(model);
 
+		finishPhase(probe);
+
 		if(model != null){
 			pmml.addModels(model);
 
-			VisitorBattery modelCleanerBattery = new ModelCleanerBattery();
+			probe = startPhase(ConversionListener.PHASE_CLEAN_MODEL, pmml);
+
+			ModelCleanerBattery modelCleanerBattery = createModelCleanerBattery(probe);
 			modelCleanerBattery.applyTo(pmml);
 
+			Map<Model, Map<String, String>> fieldRenamings = modelCleanerBattery.getFieldRenamings();
+
+			renameFields(pmml, fieldRenamings);
+
+			finishPhase(probe);
+
+			probe = startPhase(ConversionListener.PHASE_ENCODE_DECORATORS, null);
+
 			encodeDecorators(pmml);
-			encodeFeatureImportances(pmml);
+
+			finishPhase(probe);
+
+			probe = startPhase(ConversionListener.PHASE_ENCODE_FEATURE_IMPORTANCES, null);
+
+			encodeFeatureImportances(pmml, modelCleanerBattery.getFieldDependencyCache(), fieldRenamings);
+
+			finishPhase(probe);
+
+			probe = startPhase(ConversionListener.PHASE_ENCODE_UNIVARIATE_STATS, null);
+
 			encodeUnivariateStats(pmml);
-		}
 
-		VisitorBattery pmmlCleanerBattery = new PMMLCleanerBattery();
-		pmmlCleanerBattery.applyTo(pmml);
+			finishPhase(probe);
+		}
 
 		return pmml;
 	}
 
+	/**
+	 * <p>
+	 * Applies segment-local visitors (eg. {@link org.jpmml.converter.visitors.TreeModelPruner}, {@link org.jpmml.converter.visitors.ExpressionCompactor}) to a PMML class model.
+	 * </p>
+	 *
+	 * <p>
+	 * If a fork-join pool has been set, then the segments of ensemble models are processed in parallel.
+	 * </p>
+	 *
+	 * @see #setForkJoinPool(ForkJoinPool)
+	 */
+	public void applyVisitors(Visitable visitable, List<Class<? extends Visitor>> visitorClazzes){
+		VisitorBattery visitorBattery = createVisitorBattery();
+		visitorBattery.addAll(visitorClazzes);
+
+		visitorBattery.applyTo(visitable);
+	}
+
+	private VisitorBattery createVisitorBattery(){
+		ForkJoinPool forkJoinPool = getForkJoinPool();
+
+		if(forkJoinPool != null){
+			return new ParallelVisitorBattery(forkJoinPool);
+		}
+
+		return new VisitorBattery();
+	}
+
+	private ModelCleanerBattery createModelCleanerBattery(ConversionProbe phaseProbe){
+		ConversionListener conversionListener = getConversionListener();
+
+		if(conversionListener != null){
+			return new ModelCleanerBattery(true){
+
+				@Override
+				protected void applyPass(List<Visitor> visitors, Visitable visitable){
+					ConversionProbe probe = startPass(ConversionListener.PHASE_CLEAN_MODEL, phaseProbe, visitors);
+
+					long nodesVisited = applyCountedPass(visitors, visitable);
+
+					finishPass(probe, nodesVisited);
+				}
+			};
+		}
+
+		return new ModelCleanerBattery(true);
+	}
+
+	private VisitorBattery createPMMLCleanerBattery(ConversionProbe phaseProbe){
+		ConversionListener conversionListener = getConversionListener();
+		ForkJoinPool forkJoinPool = getForkJoinPool();
+
+		if(forkJoinPool != null){
+			VisitorBattery parallelPmmlCleanerBattery = createVisitorBattery();
+			parallelPmmlCleanerBattery.addAll(new PMMLCleanerBattery());
+
+			return parallelPmmlCleanerBattery;
+		} // End if
+
+		if(conversionListener != null){
+			return new PMMLCleanerBattery(){
+
+				@Override
+				protected void applyPass(List<Visitor> visitors, Visitable visitable){
+					ConversionProbe probe = startPass(ConversionListener.PHASE_CLEAN_PMML, phaseProbe, visitors);
+
+					long nodesVisited = applyCountedPass(visitors, visitable);
+
+					finishPass(probe, nodesVisited);
+				}
+			};
+		}
+
+		return new PMMLCleanerBattery();
+	}
+
 	public Model encodeModel(Model model){
 		List<Model> transformers = getTransformers();
 
@@ -257,6 +458,71 @@ public class ModelEncoder extends PMMLEncoder {
 		transferValue(this.univariateStats, left, right);
 	}
 
+	/**
+	 * <p>
+	 * Rewrites the field references that are kept outside of the PMML class model
+	 * after derived fields have been merged during model cleaning.
+	 * </p>
+	 *
+	 * @see DerivedFieldDeduplicator
+	 */
+	private void renameFields(PMML pmml, Map<Model, Map<String, String>> fieldRenamings){
+
+		if(fieldRenamings.isEmpty()){
+			return;
+		}
+
+		Set<DerivedField> retainedDerivedFields = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		TransformationDictionary transformationDictionary = pmml.getTransformationDictionary();
+		if(transformationDictionary != null && transformationDictionary.hasDerivedFields()){
+			retainedDerivedFields.addAll(transformationDictionary.getDerivedFields());
+		}
+
+		Collection<Map.Entry<Model, Map<String, String>>> entries = fieldRenamings.entrySet();
+		for(Map.Entry<Model, Map<String, String>> entry : entries){
+			Model model = entry.getKey();
+			Map<String, String> modelFieldRenamings = entry.getValue();
+
+			for(String name : modelFieldRenamings.keySet()){
+				DerivedField derivedField = getDerivedField(name);
+
+				// Merged away from the transformation dictionary
+				if(derivedField != null && !retainedDerivedFields.contains(derivedField)){
+					removeDerivedField(name);
+				}
+			}
+
+			ListMultimap<String, Decorator> modelDecorators = this.decorators.get(model);
+			if(modelDecorators != null){
+
+				for(Map.Entry<String, String> fieldRenaming : modelFieldRenamings.entrySet()){
+					List<Decorator> fieldDecorators = modelDecorators.removeAll(fieldRenaming.getKey());
+
+					for(Decorator fieldDecorator : fieldDecorators){
+						String retainedName = fieldRenaming.getValue();
+
+						if(findDecorator(modelDecorators.get(retainedName), fieldDecorator.getClass()) < 0){
+							modelDecorators.put(retainedName, fieldDecorator);
+						}
+					}
+				}
+			}
+
+			List<UnivariateStats> modelUnivariateStats = this.univariateStats.get(model);
+			if(modelUnivariateStats != null){
+
+				for(UnivariateStats pmmlUnivariateStats : modelUnivariateStats){
+					String retainedName = modelFieldRenamings.get(pmmlUnivariateStats.getField());
+
+					if(retainedName != null){
+						pmmlUnivariateStats.setField(retainedName);
+					}
+				}
+			}
+		}
+	}
+
 	private void encodeDecorators(PMML pmml){
 		Map<Model, ListMultimap<String, Decorator>> decorators = getDecorators();
 
@@ -292,7 +558,7 @@ public class ModelEncoder extends PMMLEncoder {
 		}
 	}
 
-	private void encodeFeatureImportances(PMML pmml){
+	private void encodeFeatureImportances(PMML pmml, FieldDependencyCache fieldDependencyCache, Map<Model, Map<String, String>> fieldRenamings){
 		Map<Model, ListMultimap<Feature, Number>> featureImportances = getFeatureImportances();
 
 		if(featureImportances.isEmpty()){
@@ -305,11 +571,12 @@ public class ModelEncoder extends PMMLEncoder {
 
 		Map<Model, Set<String>> expandableFeatures = (featureImportances.entrySet()).stream()
 			.collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue().keySet().stream()
-				.map(feature -> feature.getName())
+				.map(feature -> getName(feature, fieldRenamings.get(entry.getKey())))
 				.collect(Collectors.toSet())
 			));
 
 		FeatureExpander featureExpander = new FeatureExpander(expandableFeatures);
+		featureExpander.setFieldDependencyCache(fieldDependencyCache);
 		featureExpander.applyTo(pmml);
 
 		Collection<? extends Map.Entry<Model, ListMultimap<Feature, Number>>> entries = featureImportances.entrySet();
@@ -328,7 +595,7 @@ public class ModelEncoder extends PMMLEncoder {
 			ListMultimap<String, Number> fieldImportances = ArrayListMultimap.create();
 
 			for(Map.Entry<Feature, Number> featureImportanceEntry : featureImportanceEntries){
-				String name = (featureImportanceEntry.getKey()).getName();
+				String name = getName(featureImportanceEntry.getKey(), fieldRenamings.get(model));
 				Number importance = featureImportanceEntry.getValue();
 
 				if(ValueUtil.isZero(importance)){
@@ -448,6 +715,110 @@ public class ModelEncoder extends PMMLEncoder {
 		}
 	}
 
+	public ForkJoinPool getForkJoinPool(){
+		return this.forkJoinPool;
+	}
+
+	/**
+	 * <p>
+	 * Enables the parallel cleaning of ensemble model segments.
+	 * </p>
+	 *
+	 * <p>
+	 * The fork-join pool is used for PMML cleaning, and for applying segment-local visitors using {@link #applyVisitors(Visitable, List)}.
+	 * </p>
+	 *
+	 * <p>
+	 * Parallel cleaning interleaves all visitors across worker threads, so it has no visitor passes that could be measured separately.
+	 * The conversion listener is notified about the {@link ConversionListener#PHASE_CLEAN_PMML} phase as a whole, without a count of visited elements.
+	 * </p>
+	 *
+	 * @param forkJoinPool The fork-join pool, or <code>null</code> for sequential cleaning.
+	 *
+	 * @see ParallelVisitorBattery
+	 */
+	public void setForkJoinPool(ForkJoinPool forkJoinPool){
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	public ConversionListener getConversionListener(){
+		return this.conversionListener;
+	}
+
+	/**
+	 * <p>
+	 * Enables the collection of conversion metrics.
+	 * </p>
+	 *
+	 * <p>
+	 * Visitor passes count visited elements as they go, without extra traversals of the PMML class model.
+	 * Visitor-based phases count PMML objects at their start and end, which adds two extra traversals per phase.
+	 * </p>
+	 *
+	 * @param conversionListener The listener, or <code>null</code> for no metrics.
+	 */
+	public void setConversionListener(ConversionListener conversionListener){
+		this.conversionListener = conversionListener;
+	}
+
+	private ConversionProbe startPhase(String phase, Visitable visitable){
+		ConversionListener conversionListener = getConversionListener();
+
+		if(conversionListener == null){
+			return null;
+		}
+
+		return new ConversionProbe(phase, visitable);
+	}
+
+	private ConversionProbe startPass(String phase, ConversionProbe phaseProbe, List<Visitor> visitors){
+		ConversionListener conversionListener = getConversionListener();
+
+		if(conversionListener == null){
+			return null;
+		}
+
+		List<Class<? extends Visitor>> visitorClazzes = new ArrayList<>();
+
+		for(Visitor visitor : visitors){
+			visitorClazzes.add(visitor.getClass());
+		}
+
+		return new ConversionProbe(phase, visitorClazzes, phaseProbe);
+	}
+
+	private void finishPass(ConversionProbe probe, long nodesVisited){
+
+		if(probe != null){
+			probe.visited(nodesVisited);
+		}
+
+		finishPhase(probe);
+	}
+
+	private void finishPhase(ConversionProbe probe){
+		ConversionListener conversionListener = getConversionListener();
+
+		if(probe == null || conversionListener == null){
+			return;
+		}
+
+		ConversionMetrics metrics = probe.stop();
+
+		conversionListener.measured(metrics);
+	}
+
+	static
+	private String getName(Feature feature, Map<String, String> fieldRenamings){
+		String name = feature.getName();
+
+		if(fieldRenamings != null){
+			return fieldRenamings.getOrDefault(name, name);
+		}
+
+		return name;
+	}
+
 	static
 	private int findDecorator(List<Decorator> decorators, Class<? extends Decorator> clazz){
 
@@ -18,6 +18,8 @@
  */
 package org.jpmml.converter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -33,8 +35,8 @@ public class MultiLabel extends Label {
 	}
 
 	@Override
-	public int hashCode(){
-		return (31 * super.hashCode()) + Objects.hashCode(getLabels());
+	protected int computeHashCode(){
+		return (31 * super.computeHashCode()) + Objects.hashCode(getLabels());
 	}
 
 	@Override
@@ -66,6 +68,6 @@ public class MultiLabel extends Label {
 	}
 
 	private void setLabels(List<? extends Label> labels){
-		this.labels = Objects.requireNonNull(labels);
+		this.labels = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(labels)));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.lang.ref.SoftReference;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * <p>
+ * A compact list of features, which keeps one-hot encoded blocks as (source feature, category array) pairs.
+ * </p>
+ *
+ * <p>
+ * Binary features are created on demand, and are cached per block.
+ * The cache of a block is softly referenced, so that it can be reclaimed when memory runs low.
+ * Repeated lookups return the same binary feature object, unless the cache has been reclaimed in the meantime,
+ * in which case they return a distinct, but equal, binary feature object.
+ * Positional lookup takes constant time, at the cost of one <code>int</code> per element.
+ * </p>
+ *
+ * @see Schema#getFeature(int)
+ */
+public class OneHotFeatureList extends AbstractList<Feature> implements RandomAccess {
+
+	private List<Block> blocks = new ArrayList<>();
+
+	private int[] blockIndexes = new int[16];
+
+	private int size = 0;
+
+	private Map<String, Integer> nameIndexes = null;
+
+
+	public OneHotFeatureList(){
+	}
+
+	public OneHotFeatureList(List<? extends Feature> features){
+		addFeatures(features);
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public Feature get(int index){
+		Objects.checkIndex(index, this.size);
+
+		Block block = this.blocks.get(this.blockIndexes[index]);
+
+		return block.getFeature(index - block.offset);
+	}
+
+	/**
+	 * <p>
+	 * Finds the first feature with the specified name.
+	 * All binary features of a block take the name of their source feature,
+	 * so names are resolved per block, without creating any binary features.
+	 * </p>
+	 *
+	 * @return The index of the feature, or <code>-1</code>.
+	 *
+	 * @see Schema#getFeatureIndex(String)
+	 */
+	public int indexOfName(String name){
+
+		if(this.nameIndexes == null){
+			this.nameIndexes = new HashMap<>();
+
+			for(Block block : this.blocks){
+				this.nameIndexes.putIfAbsent((block.feature).getName(), block.offset);
+			}
+		}
+
+		Integer index = this.nameIndexes.get(name);
+		if(index != null){
+			return index;
+		}
+
+		return -1;
+	}
+
+	public OneHotFeatureList addFeature(Feature feature){
+		Objects.requireNonNull(feature);
+
+		addBlock(new Block(feature, null, this.size), 1);
+
+		return this;
+	}
+
+	public OneHotFeatureList addFeatures(List<? extends Feature> features){
+
+		for(Feature feature : features){
+			addFeature(feature);
+		}
+
+		return this;
+	}
+
+	/**
+	 * <p>
+	 * Adds a block of binary features, one per category.
+	 * </p>
+	 *
+	 * @param feature The source feature.
+	 * @param values The categories. They are copied into an array.
+	 *
+	 * @see BinaryFeature#BinaryFeature(PMMLEncoder, Feature, Object)
+	 */
+	public OneHotFeatureList addBinaryFeatures(Feature feature, List<?> values){
+		Objects.requireNonNull(feature);
+
+		if(values.isEmpty()){
+			return this;
+		}
+
+		addBlock(new Block(feature, values.toArray(), this.size), values.size());
+
+		return this;
+	}
+
+	private void addBlock(Block block, int count){
+		int blockIndex = this.blocks.size();
+
+		int size = Math.addExact(this.size, count);
+
+		if(size > this.blockIndexes.length){
+			this.blockIndexes = Arrays.copyOf(this.blockIndexes, Math.max(size, (int)Math.min(2L * this.blockIndexes.length, Integer.MAX_VALUE - 8)));
+		}
+
+		Arrays.fill(this.blockIndexes, this.size, size, blockIndex);
+
+		this.blocks.add(block);
+
+		if(this.nameIndexes != null){
+			this.nameIndexes.putIfAbsent((block.feature).getName(), block.offset);
+		}
+
+		this.size = size;
+
+		this.modCount++;
+	}
+
+	static
+	private class Block {
+
+		private Feature feature = null;
+
+		private Object[] values = null;
+
+		private int offset = 0;
+
+		private SoftReference<Feature[]> featuresRef = null;
+
+
+		private Block(Feature feature, Object[] values, int offset){
+			this.feature = feature;
+			this.values = values;
+			this.offset = offset;
+		}
+
+		public Feature getFeature(int index){
+
+			if(this.values == null){
+				return this.feature;
+			}
+
+			Feature[] features = (this.featuresRef != null ? this.featuresRef.get() : null);
+			if(features == null){
+				features = new Feature[this.values.length];
+
+				this.featuresRef = new SoftReference<>(features);
+			}
+
+			Feature result = features[index];
+			if(result == null){
+				result = new BinaryFeature(this.feature.getEncoder(), this.feature, this.values[index]);
+
+				features[index] = result;
+			}
+
+			return result;
+		}
+	}
+}
\ No newline at end of file
@@ -70,8 +70,8 @@ public class OrdinalLabel extends DiscreteLabel {
 	}
 
 	@Override
-	public int hashCode(){
-		return super.hashCode();
+	protected int computeHashCode(){
+		return super.computeHashCode();
 	}
 
 	@Override
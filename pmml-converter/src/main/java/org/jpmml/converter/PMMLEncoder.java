@@ -18,12 +18,17 @@
  */
 package org.jpmml.converter;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Supplier;
 
 import org.dmg.pmml.DataDictionary;
@@ -42,22 +47,51 @@ import org.dmg.pmml.PMML;
 import org.dmg.pmml.TransformationDictionary;
 import org.dmg.pmml.Version;
 
+/**
+ * <p>
+ * A PMML encoder maintains a single symbol table for {@link DataField data fields} and {@link DerivedField derived fields}.
+ * Every registered field is assigned an integer id (in registration order).
+ * Lookups by name and by id take constant time.
+ * </p>
+ *
+ * <p>
+ * Removing a field leaves a gap in the id space, so that the ids of other fields stay valid.
+ * Gaps are reclaimed when they outnumber registered fields:
+ * the next registration compacts the id space, and renumbers registered fields (preserving their order).
+ * Field ids should therefore not be retained across field removals.
+ * </p>
+ */
 public class PMMLEncoder {
 
-	private Map<String, DataField> dataFields = new LinkedHashMap<>();
+	private List<Field<?>> fields = new ArrayList<>();
 
-	private Map<String, DerivedField> derivedFields = new LinkedHashMap<>();
+	private Map<String, Integer> fieldIds = new HashMap<>();
 
 	private Map<String, DefineFunction> defineFunctions = new LinkedHashMap<>();
 
+	private int dataFieldCount = 0;
+
+	private int derivedFieldCount = 0;
+
+	private int fieldRemovalCount = 0;
+
+	private Map<List<? extends Feature>, String> interactionFieldNames = new HashMap<>();
+
 
 	public PMML encodePMML(){
+		List<DataField> dataFields = new ArrayList<>();
+		List<DerivedField> derivedFields = new ArrayList<>();
 
-		if(!Collections.disjoint(this.dataFields.keySet(), this.derivedFields.keySet())){
-			throw new IllegalStateException();
-		}
+		for(Field<?> field : this.fields){
+
+			if(field instanceof DataField){
+				dataFields.add((DataField)field);
+			} else
 
-		List<DataField> dataFields = new ArrayList<>(this.dataFields.values());
+			if(field instanceof DerivedField){
+				derivedFields.add((DerivedField)field);
+			}
+		}
 
 		DataDictionary dataDictionary = new DataDictionary();
 
@@ -65,7 +99,6 @@ public class PMMLEncoder {
 			(dataDictionary.getDataFields()).addAll(dataFields);
 		}
 
-		List<DerivedField> derivedFields = new ArrayList<>(this.derivedFields.values());
 		List<DefineFunction> defineFunctions = new ArrayList<>(this.defineFunctions.values());
 
 		TransformationDictionary transformationDictionary = null;
@@ -95,13 +128,17 @@ public class PMMLEncoder {
 	}
 
 	public DataField getDataField(String name){
-		return this.dataFields.get(name);
+		Field<?> field = lookupField(name);
+
+		if(field instanceof DataField){
+			return (DataField)field;
+		}
+
+		return null;
 	}
 
 	public void addDataField(DataField dataField){
-		String name = checkName(dataField);
-
-		this.dataFields.put(name, dataField);
+		registerField(dataField);
 	}
 
 	public DataField createDataField(String name, OpType opType, DataType dataType){
@@ -121,12 +158,14 @@ public class PMMLEncoder {
 	}
 
 	public DataField removeDataField(String name){
-		DataField dataField = this.dataFields.remove(name);
+		DataField dataField = getDataField(name);
 
 		if(dataField == null){
 			throw new SchemaException("Field " + ExceptionUtil.formatName(name) + " is not defined");
 		}
 
+		unregisterField(name);
+
 		return dataField;
 	}
 
@@ -143,13 +182,17 @@ public class PMMLEncoder {
 	}
 
 	public DerivedField getDerivedField(String name){
-		return this.derivedFields.get(name);
+		Field<?> field = lookupField(name);
+
+		if(field instanceof DerivedField){
+			return (DerivedField)field;
+		}
+
+		return null;
 	}
 
 	public void addDerivedField(DerivedField derivedField){
-		String name = checkName(derivedField);
-
-		this.derivedFields.put(name, derivedField);
+		registerField(derivedField);
 	}
 
 	public DerivedField createDerivedField(String name, OpType opType, DataType dataType, Expression expression){
@@ -169,32 +212,75 @@ public class PMMLEncoder {
 	}
 
 	public DerivedField removeDerivedField(String name){
-		DerivedField derivedField = this.derivedFields.remove(name);
+		DerivedField derivedField = getDerivedField(name);
 
 		if(derivedField == null){
 			throw new SchemaException("Field " + ExceptionUtil.formatName(name) + " is not defined");
 		}
 
+		unregisterField(name);
+
 		return derivedField;
 	}
 
 	public Field<?> getField(String name){
-		DataField dataField = getDataField(name);
-		DerivedField derivedField = getDerivedField(name);
+		Field<?> field = lookupField(name);
 
-		if(dataField != null && derivedField != null){
-			throw new IllegalStateException();
-		} // End if
+		if(field == null){
+			throw new SchemaException("Field " + ExceptionUtil.formatName(name) + " is not defined");
+		}
 
-		if(dataField != null && derivedField == null){
-			return dataField;
-		} else
+		return field;
+	}
+
+	/**
+	 * @return The id of a registered field, or <code>-1</code>.
+	 */
+	public int getFieldId(String name){
+		Integer id = this.fieldIds.get(name);
 
-		if(dataField == null && derivedField != null){
-			return derivedField;
+		if(id == null){
+			return -1;
 		}
 
-		throw new SchemaException("Field " + ExceptionUtil.formatName(name) + " is not defined");
+		return id;
+	}
+
+	/**
+	 * @return The registered field, or <code>null</code> if the field has been removed.
+	 */
+	public Field<?> getField(int id){
+		return this.fields.get(id);
+	}
+
+	/**
+	 * @return The upper bound (exclusive) of field ids.
+	 */
+	public int getFieldIdBound(){
+		return this.fields.size();
+	}
+
+	/**
+	 * @return The number of field removals so far.
+	 *
+	 * @see Feature#memoizeContinuousFeature(DataType, Supplier)
+	 */
+	int getFieldRemovalCount(){
+		return this.fieldRemovalCount;
+	}
+
+	/**
+	 * @return The name of the derived field that holds the product of the specified features, or <code>null</code>.
+	 * The derived field may have been removed since.
+	 *
+	 * @see InteractionFeature#isPrefixSharing()
+	 */
+	String getInteractionFieldName(List<? extends Feature> features){
+		return this.interactionFieldNames.get(features);
+	}
+
+	void putInteractionFieldName(List<? extends Feature> features, String name){
+		this.interactionFieldNames.put(features, name);
 	}
 
 	public Field<?> toContinuous(String name){
@@ -233,12 +319,26 @@ public class PMMLEncoder {
 		this.defineFunctions.put(name, defineFunction);
 	}
 
+	/**
+	 * @return A live view of data fields.
+	 * Changes to the view are written through to the symbol table.
+	 *
+	 * @see #addDataField(DataField)
+	 * @see #removeDataField(String)
+	 */
 	public Map<String, DataField> getDataFields(){
-		return this.dataFields;
+		return new FieldMap<>(DataField.class);
 	}
 
+	/**
+	 * @return A live view of derived fields.
+	 * Changes to the view are written through to the symbol table.
+	 *
+	 * @see #addDerivedField(DerivedField)
+	 * @see #removeDerivedField(String)
+	 */
 	public Map<String, DerivedField> getDerivedFields(){
-		return this.derivedFields;
+		return new FieldMap<>(DerivedField.class);
 	}
 
 	public Map<String, DefineFunction> getDefineFunctions(){
@@ -284,16 +384,208 @@ public class PMMLEncoder {
 		return name;
 	}
 
-	private String checkName(Field<?> field){
+	private Field<?> lookupField(String name){
+		Integer id = this.fieldIds.get(name);
+
+		if(id == null){
+			return null;
+		}
+
+		return this.fields.get(id);
+	}
+
+	private void registerField(Field<?> field){
 		String name = field.requireName();
 
-		if(this.dataFields.containsKey(name) || this.derivedFields.containsKey(name)){
+		compactFields();
+
+		Integer id = this.fieldIds.putIfAbsent(name, this.fields.size());
+		if(id != null){
 			throw new NamingException("Field " + ExceptionUtil.formatName(name) + " is already defined")
 				.setSolution("Choose a different name");
 		}
 
-		return name;
+		this.fields.add(field);
+
+		updateFieldCount(field, 1);
+	}
+
+	private void unregisterField(String name){
+		Integer id = this.fieldIds.remove(name);
+
+		// Leave a tombstone, so that the ids of other fields remain valid
+		Field<?> field = this.fields.set(id, null);
+
+		updateFieldCount(field, -1);
+
+		this.fieldRemovalCount++;
+	}
+
+	private void compactFields(){
+		int fieldCount = (this.dataFieldCount + this.derivedFieldCount);
+		int tombstoneCount = (this.fields.size() - fieldCount);
+
+		if(tombstoneCount < PMMLEncoder.MIN_COMPACTION_TOMBSTONES || tombstoneCount <= fieldCount){
+			return;
+		}
+
+		List<Field<?>> fields = new ArrayList<>(fieldCount + 1);
+
+		for(Field<?> field : this.fields){
+
+			if(field == null){
+				continue;
+			}
+
+			this.fieldIds.put(field.requireName(), fields.size());
+
+			fields.add(field);
+		}
+
+		this.fields = fields;
+	}
+
+	private void updateFieldCount(Field<?> field, int delta){
+
+		if(field instanceof DataField){
+			this.dataFieldCount += delta;
+		} else
+
+		if(field instanceof DerivedField){
+			this.derivedFieldCount += delta;
+		}
+	}
+
+	private class FieldMap<F extends Field<?>> extends AbstractMap<String, F> {
+
+		private Class<F> clazz = null;
+
+
+		private FieldMap(Class<F> clazz){
+			this.clazz = clazz;
+		}
+
+		@Override
+		public int size(){
+			return ((DataField.class).equals(this.clazz) ? PMMLEncoder.this.dataFieldCount : PMMLEncoder.this.derivedFieldCount);
+		}
+
+		@Override
+		public boolean containsKey(Object key){
+			return get(key) != null;
+		}
+
+		@Override
+		public F get(Object key){
+
+			if(!(key instanceof String)){
+				return null;
+			}
+
+			Field<?> field = lookupField((String)key);
+
+			if(this.clazz.isInstance(field)){
+				return this.clazz.cast(field);
+			}
+
+			return null;
+		}
+
+		@Override
+		public F put(String name, F field){
+
+			if(!Objects.equals(name, field.requireName())){
+				throw new IllegalArgumentException();
+			}
+
+			F previousField = get(name);
+			if(previousField != null){
+				unregisterField(name);
+			}
+
+			registerField(field);
+
+			return previousField;
+		}
+
+		@Override
+		public F remove(Object key){
+			F field = get(key);
+
+			if(field != null){
+				unregisterField(field.requireName());
+			}
+
+			return field;
+		}
+
+		@Override
+		public Set<Map.Entry<String, F>> entrySet(){
+			return new AbstractSet<Map.Entry<String, F>>(){
+
+				@Override
+				public int size(){
+					return FieldMap.this.size();
+				}
+
+				@Override
+				public Iterator<Map.Entry<String, F>> iterator(){
+					Iterator<Field<?>> it = (PMMLEncoder.this.fields).iterator();
+
+					return new Iterator<Map.Entry<String, F>>(){
+
+						private F next = null;
+
+						private F last = null;
+
+
+						@Override
+						public boolean hasNext(){
+
+							while(this.next == null && it.hasNext()){
+								Field<?> field = it.next();
+
+								if(FieldMap.this.clazz.isInstance(field)){
+									this.next = FieldMap.this.clazz.cast(field);
+								}
+							}
+
+							return (this.next != null);
+						}
+
+						@Override
+						public Map.Entry<String, F> next(){
+
+							if(!hasNext()){
+								throw new NoSuchElementException();
+							}
+
+							F field = this.next;
+
+							this.next = null;
+							this.last = field;
+
+							return new AbstractMap.SimpleImmutableEntry<>(field.requireName(), field);
+						}
+
+						@Override
+						public void remove(){
+
+							if(this.last == null){
+								throw new IllegalStateException();
+							}
+
+							unregisterField((this.last).requireName());
+
+							this.last = null;
+						}
+					};
+				}
+			};
+		}
 	}
 
 	public static final Version VERSION = Version.PMML_4_4;
+
+	private static final int MIN_COMPACTION_TOMBSTONES = 16;
 }
\ No newline at end of file
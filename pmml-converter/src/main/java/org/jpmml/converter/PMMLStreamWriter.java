@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.mining.Segment;
+import org.dmg.pmml.mining.Segmentation;
+import org.jpmml.model.JAXBUtil;
+
+/**
+ * <p>
+ * A PMML writer that writes the segments of an ensemble model one by one.
+ * </p>
+ *
+ * <p>
+ * Usage:
+ * <ol>
+ *   <li>{@link #writeStart(PMML, Segmentation)} writes everything that comes before the first segment, including the <code>Header</code>, <code>DataDictionary</code> and <code>TransformationDictionary</code> elements.</li>
+ *   <li>{@link #writeSegment(Segment)} writes a segment. The segment can be released right after that.</li>
+ *   <li>{@link #writeEnd()} writes everything that comes after the last segment.</li>
+ * </ol>
+ * </p>
+ *
+ * <p>
+ * The output stream is flushed, but not closed.
+ * </p>
+ */
+public class PMMLStreamWriter {
+
+	private Writer writer = null;
+
+	private Marshaller documentMarshaller = null;
+
+	private Marshaller fragmentMarshaller = null;
+
+	private String suffix = null;
+
+
+	public PMMLStreamWriter(OutputStream os) throws IOException {
+		this.writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
+
+		try {
+			this.documentMarshaller = createMarshaller(false);
+			this.fragmentMarshaller = createMarshaller(true);
+		} catch(JAXBException je){
+			throw new IOException(je);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Writes a complete PMML document.
+	 * </p>
+	 */
+	public void writePMML(PMML pmml) throws IOException {
+
+		if(this.suffix != null){
+			throw new IllegalStateException();
+		}
+
+		marshal(this.documentMarshaller, pmml, this.writer);
+
+		this.writer.flush();
+	}
+
+	/**
+	 * @param pmml The PMML document.
+	 * @param segmentation The segmentation element (within the PMML document) whose segments will be written separately.
+	 * The segmentation must not contain any segments at this point.
+	 */
+	public void writeStart(PMML pmml, Segmentation segmentation) throws IOException {
+
+		if(this.suffix != null){
+			throw new IllegalStateException();
+		} // End if
+
+		if(segmentation.hasSegments()){
+			throw new IllegalArgumentException("Segmentation is not empty");
+		}
+
+		String id = "placeholder-" + UUID.randomUUID();
+
+		Segment placeholder = new Segment()
+			.setId(id);
+
+		List<Segment> segments = segmentation.getSegments();
+
+		segments.add(placeholder);
+
+		StringWriter writer = new StringWriter();
+
+		try {
+			marshal(this.documentMarshaller, pmml, writer);
+		} finally {
+			segments.clear();
+		}
+
+		String document = writer.toString();
+
+		int idIndex = document.indexOf("\"" + id + "\"");
+		if(idIndex < 0){
+			throw new IllegalArgumentException("Segmentation is not contained in the PMML document");
+		}
+
+		int begin = document.lastIndexOf('<', idIndex);
+		int end = document.indexOf("/>", idIndex);
+		if(begin < 0 || end < 0){
+			throw new IllegalStateException();
+		}
+
+		this.writer.write(document, 0, begin);
+
+		this.suffix = document.substring(end + "/>".length());
+	}
+
+	public void writeSegment(Segment segment) throws IOException {
+
+		if(this.suffix == null){
+			throw new IllegalStateException();
+		}
+
+		marshal(this.fragmentMarshaller, segment, this.writer);
+	}
+
+	public void writeEnd() throws IOException {
+
+		if(this.suffix == null){
+			throw new IllegalStateException();
+		}
+
+		this.writer.write(this.suffix);
+		this.writer.flush();
+
+		this.suffix = null;
+	}
+
+	static
+	private Marshaller createMarshaller(boolean fragment) throws JAXBException {
+		Marshaller marshaller = (JAXBUtil.getContext()).createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+		marshaller.setProperty(Marshaller.JAXB_FRAGMENT, fragment);
+
+		return marshaller;
+	}
+
+	static
+	private void marshal(Marshaller marshaller, PMMLObject object, Writer writer) throws IOException {
+
+		try {
+			marshaller.marshal(object, writer);
+		} catch(JAXBException je){
+			throw new IOException(je);
+		}
+	}
+}
\ No newline at end of file
@@ -18,6 +18,8 @@
  */
 package org.jpmml.converter;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Collection;
@@ -26,6 +28,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.function.Function;
 
@@ -40,9 +43,11 @@ import org.dmg.pmml.Header;
 import org.dmg.pmml.InlineTable;
 import org.dmg.pmml.NamespacePrefixes;
 import org.dmg.pmml.NamespaceURIs;
+import org.dmg.pmml.PMMLObject;
 import org.dmg.pmml.RealSparseArray;
 import org.dmg.pmml.Row;
 import org.dmg.pmml.Timestamp;
+import org.jpmml.model.ReflectionUtil;
 import org.jpmml.model.cells.InputCell;
 import org.jpmml.model.cells.OutputCell;
 
@@ -267,5 +272,52 @@ public class PMMLUtil {
 		return inlineTable;
 	}
 
+	/**
+	 * <p>
+	 * Calculates a hash code that is consistent with {@link ReflectionUtil#equals(Object, Object)}.
+	 * </p>
+	 */
+	static
+	public int structuralHashCode(Object value){
+
+		if(value instanceof PMMLObject){
+			PMMLObject object = (PMMLObject)value;
+
+			int result = ((object.getClass()).getName()).hashCode();
+
+			Map<Field, Method> getterMethods = ReflectionUtil.getGetterMethods(object.getClass());
+
+			Set<Field> fields = getterMethods.keySet();
+			for(Field field : fields){
+
+				// Skip the SAX locator
+				if((PMMLObject.class).equals(field.getDeclaringClass())){
+					continue;
+				}
+
+				Object fieldValue = ReflectionUtil.getFieldValue(field, object);
+
+				result = (31 * result) + structuralHashCode(fieldValue);
+			}
+
+			return result;
+		} else
+
+		if(value instanceof List){
+			List<?> values = (List<?>)value;
+
+			// An empty list hashes the same as a null list
+			int result = 0;
+
+			for(Object element : values){
+				result = (31 * result) + (1 + structuralHashCode(element));
+			}
+
+			return result;
+		}
+
+		return Objects.hashCode(value);
+	}
+
 	private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
 }
\ No newline at end of file
@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * <p>
+ * An immutable hash array mapped trie (HAMT).
+ * </p>
+ *
+ * <p>
+ * Adding an entry creates a new map that shares all unaffected trie nodes with the original map,
+ * which takes <code>O(log<sub>32</sub> n)</code> time and space.
+ * The iteration order is insertion order, same as with {@link java.util.LinkedHashMap}.
+ * Re-inserting an existing key does not affect its position.
+ * </p>
+ *
+ * @see #with(Object, Object)
+ */
+class PersistentMap<K, V> extends AbstractMap<K, V> {
+
+	private Object root = null;
+
+	private int size = 0;
+
+	private int sequence = 0;
+
+	private Leaf<K, V>[] leaves = null;
+
+
+	private PersistentMap(){
+	}
+
+	private PersistentMap(Object root, int size, int sequence){
+		this.root = root;
+		this.size = size;
+		this.sequence = sequence;
+	}
+
+	public PersistentMap<K, V> with(K key, V value){
+		int hash = hash(key);
+
+		Leaf<K, V> prevLeaf = find(key, hash);
+		if(prevLeaf != null){
+
+			if(prevLeaf.getValue() == value){
+				return this;
+			}
+
+			Leaf<K, V> leaf = new Leaf<>(hash, key, value, prevLeaf.sequence);
+
+			return new PersistentMap<>(put(this.root, leaf, 0), this.size, this.sequence);
+		}
+
+		Leaf<K, V> leaf = new Leaf<>(hash, key, value, this.sequence);
+
+		return new PersistentMap<>(put(this.root, leaf, 0), this.size + 1, this.sequence + 1);
+	}
+
+	@Override
+	public int size(){
+		return this.size;
+	}
+
+	@Override
+	public boolean containsKey(Object key){
+		return find(key, hash(key)) != null;
+	}
+
+	@Override
+	public V get(Object key){
+		Leaf<K, V> leaf = find(key, hash(key));
+
+		if(leaf != null){
+			return leaf.getValue();
+		}
+
+		return null;
+	}
+
+	@Override
+	public Set<Map.Entry<K, V>> entrySet(){
+		return new AbstractSet<Map.Entry<K, V>>(){
+
+			@Override
+			public int size(){
+				return PersistentMap.this.size;
+			}
+
+			@Override
+			public Iterator<Map.Entry<K, V>> iterator(){
+				Leaf<K, V>[] leaves = getLeaves();
+
+				return new Iterator<Map.Entry<K, V>>(){
+
+					private int index = 0;
+
+
+					@Override
+					public boolean hasNext(){
+						return this.index < leaves.length;
+					}
+
+					@Override
+					public Map.Entry<K, V> next(){
+
+						if(this.index >= leaves.length){
+							throw new NoSuchElementException();
+						}
+
+						return leaves[this.index++];
+					}
+				};
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private Leaf<K, V> find(Object key, int hash){
+		Object node = this.root;
+
+		for(int shift = 0; node != null; shift += 5){
+
+			if(node instanceof Leaf){
+				Leaf<K, V> leaf = (Leaf<K, V>)node;
+
+				if(leaf.hash == hash && equals(leaf.getKey(), key)){
+					return leaf;
+				}
+
+				return null;
+			} else
+
+			if(node instanceof BitmapNode){
+				BitmapNode bitmapNode = (BitmapNode)node;
+
+				int bit = bit(hash, shift);
+				if((bitmapNode.bitmap & bit) == 0){
+					return null;
+				}
+
+				node = bitmapNode.children[index(bitmapNode.bitmap, bit)];
+			} else
+
+			if(node instanceof CollisionNode){
+				CollisionNode collisionNode = (CollisionNode)node;
+
+				for(Leaf<?, ?> leaf : collisionNode.leaves){
+
+					if(equals(leaf.getKey(), key)){
+						return (Leaf<K, V>)leaf;
+					}
+				}
+
+				return null;
+			} else
+
+			{
+				throw new IllegalStateException();
+			}
+		}
+
+		return null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private Leaf<K, V>[] getLeaves(){
+
+		if(this.leaves == null){
+			Leaf<K, V>[] leaves = new Leaf[this.size];
+
+			int count = collect(this.root, leaves, 0);
+			if(count != this.size){
+				throw new IllegalStateException();
+			}
+
+			Arrays.sort(leaves, Comparator.comparingInt(leaf -> leaf.sequence));
+
+			this.leaves = leaves;
+		}
+
+		return this.leaves;
+	}
+
+	@SuppressWarnings("unchecked")
+	static
+	public <K, V> PersistentMap<K, V> empty(){
+		return (PersistentMap<K, V>)PersistentMap.EMPTY;
+	}
+
+	static
+	public <K, V> PersistentMap<K, V> copyOf(Map<? extends K, ? extends V> map){
+
+		if(map instanceof PersistentMap){
+			@SuppressWarnings("unchecked")
+			PersistentMap<K, V> persistentMap = (PersistentMap<K, V>)map;
+
+			return persistentMap;
+		}
+
+		PersistentMap<K, V> result = empty();
+
+		Collection<? extends Map.Entry<? extends K, ? extends V>> entries = map.entrySet();
+		for(Map.Entry<? extends K, ? extends V> entry : entries){
+			result = result.with(entry.getKey(), entry.getValue());
+		}
+
+		return result;
+	}
+
+	static
+	private Object put(Object node, Leaf<?, ?> leaf, int shift){
+
+		if(node == null){
+			return leaf;
+		} else
+
+		if(node instanceof Leaf){
+			Leaf<?, ?> prevLeaf = (Leaf<?, ?>)node;
+
+			if(prevLeaf.hash == leaf.hash && equals(prevLeaf.getKey(), leaf.getKey())){
+				return leaf;
+			}
+
+			return merge(prevLeaf, leaf, shift);
+		} else
+
+		if(node instanceof BitmapNode){
+			BitmapNode bitmapNode = (BitmapNode)node;
+
+			int bit = bit(leaf.hash, shift);
+			int index = index(bitmapNode.bitmap, bit);
+
+			Object[] children = bitmapNode.children;
+
+			if((bitmapNode.bitmap & bit) == 0){
+				Object[] newChildren = new Object[children.length + 1];
+
+				System.arraycopy(children, 0, newChildren, 0, index);
+				newChildren[index] = leaf;
+				System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+
+				return new BitmapNode(bitmapNode.bitmap | bit, newChildren);
+			}
+
+			Object[] newChildren = children.clone();
+			newChildren[index] = put(children[index], leaf, shift + 5);
+
+			return new BitmapNode(bitmapNode.bitmap, newChildren);
+		} else
+
+		if(node instanceof CollisionNode){
+			CollisionNode collisionNode = (CollisionNode)node;
+
+			Leaf<?, ?>[] leaves = collisionNode.leaves;
+
+			for(int i = 0; i < leaves.length; i++){
+
+				if(equals(leaves[i].getKey(), leaf.getKey())){
+					Leaf<?, ?>[] newLeaves = leaves.clone();
+					newLeaves[i] = leaf;
+
+					return new CollisionNode(newLeaves);
+				}
+			}
+
+			Leaf<?, ?>[] newLeaves = Arrays.copyOf(leaves, leaves.length + 1);
+			newLeaves[leaves.length] = leaf;
+
+			return new CollisionNode(newLeaves);
+		} else
+
+		{
+			throw new IllegalStateException();
+		}
+	}
+
+	static
+	private Object merge(Leaf<?, ?> left, Leaf<?, ?> right, int shift){
+
+		// All hash code bits have been consumed
+		if(shift >= 32){
+			return new CollisionNode(new Leaf<?, ?>[]{left, right});
+		}
+
+		int leftBit = bit(left.hash, shift);
+		int rightBit = bit(right.hash, shift);
+
+		if(leftBit == rightBit){
+			return new BitmapNode(leftBit, new Object[]{merge(left, right, shift + 5)});
+		} else
+
+		if(Integer.compareUnsigned(leftBit, rightBit) < 0){
+			return new BitmapNode(leftBit | rightBit, new Object[]{left, right});
+		} else
+
+		{
+			return new BitmapNode(leftBit | rightBit, new Object[]{right, left});
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	static
+	private <K, V> int collect(Object node, Leaf<K, V>[] leaves, int count){
+
+		if(node == null){
+			return count;
+		} else
+
+		if(node instanceof Leaf){
+			leaves[count] = (Leaf<K, V>)node;
+
+			return count + 1;
+		} else
+
+		if(node instanceof BitmapNode){
+			BitmapNode bitmapNode = (BitmapNode)node;
+
+			for(Object child : bitmapNode.children){
+				count = collect(child, leaves, count);
+			}
+
+			return count;
+		} else
+
+		if(node instanceof CollisionNode){
+			CollisionNode collisionNode = (CollisionNode)node;
+
+			for(Leaf<?, ?> leaf : collisionNode.leaves){
+				leaves[count] = (Leaf<K, V>)leaf;
+
+				count++;
+			}
+
+			return count;
+		} else
+
+		{
+			throw new IllegalStateException();
+		}
+	}
+
+	static
+	private int hash(Object key){
+		int hash = (key != null) ? key.hashCode() : 0;
+
+		return hash ^ (hash >>> 16);
+	}
+
+	static
+	private int bit(int hash, int shift){
+		return 1 << ((hash >>> shift) & 31);
+	}
+
+	static
+	private int index(int bitmap, int bit){
+		return Integer.bitCount(bitmap & (bit - 1));
+	}
+
+	static
+	private boolean equals(Object left, Object right){
+		return (left == right) || (left != null && left.equals(right));
+	}
+
+	static
+	private class Leaf<K, V> extends AbstractMap.SimpleImmutableEntry<K, V> {
+
+		private int hash = 0;
+
+		private int sequence = 0;
+
+
+		private Leaf(int hash, K key, V value, int sequence){
+			super(key, value);
+
+			this.hash = hash;
+			this.sequence = sequence;
+		}
+	}
+
+	static
+	private class BitmapNode {
+
+		private int bitmap = 0;
+
+		private Object[] children = null;
+
+
+		private BitmapNode(int bitmap, Object[] children){
+			this.bitmap = bitmap;
+			this.children = children;
+		}
+	}
+
+	static
+	private class CollisionNode {
+
+		private Leaf<?, ?>[] leaves = null;
+
+
+		private CollisionNode(Leaf<?, ?>[] leaves){
+			this.leaves = leaves;
+		}
+	}
+
+	private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>();
+}
\ No newline at end of file
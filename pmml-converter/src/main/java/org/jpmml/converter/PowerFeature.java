@@ -49,12 +49,12 @@ public class PowerFeature extends Feature implements HasDerivedName {
 
 	@Override
 	public ContinuousFeature toContinuousFeature(){
-		return toContinuousFeature(getDerivedName(), DataType.DOUBLE, () -> ExpressionUtil.createApply(PMMLFunctions.POW, ref(), ExpressionUtil.createConstant(getPower())));
+		return memoizeContinuousFeature(null, () -> toContinuousFeature(getDerivedName(), DataType.DOUBLE, () -> ExpressionUtil.createApply(PMMLFunctions.POW, ref(), ExpressionUtil.createConstant(getPower()))));
 	}
 
 	@Override
-	public int hashCode(){
-		return (31 * super.hashCode()) + getPower();
+	protected int computeHashCode(){
+		return (31 * super.computeHashCode()) + getPower();
 	}
 
 	@Override
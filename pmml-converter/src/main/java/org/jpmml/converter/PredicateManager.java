@@ -19,18 +19,36 @@
 package org.jpmml.converter;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.dmg.pmml.Array;
 import org.dmg.pmml.CompoundPredicate;
 import org.dmg.pmml.Predicate;
 import org.dmg.pmml.SimplePredicate;
 import org.dmg.pmml.SimpleSetPredicate;
-import org.jpmml.model.PMMLObjectCache;
 
+/**
+ * <p>
+ * A predicate factory, which interns predicates.
+ * </p>
+ *
+ * <p>
+ * A predicate manager is thread-safe.
+ * The same predicate cache may be shared between predicate managers (eg. one per tree model of an ensemble model).
+ * </p>
+ */
 public class PredicateManager {
 
-	private PMMLObjectCache<Predicate> cache = new PMMLObjectCache<>();
+	private ShardedPMMLObjectCache<Predicate> cache = null;
+
 
+	public PredicateManager(){
+		this(new ShardedPMMLObjectCache<>());
+	}
+
+	public PredicateManager(ShardedPMMLObjectCache<Predicate> cache){
+		setCache(cache);
+	}
 
 	public Predicate createPredicate(Feature feature, List<?> values){
 
@@ -65,6 +83,16 @@ public class PredicateManager {
 	}
 
 	public Predicate intern(Predicate predicate){
-		return this.cache.intern(predicate);
+		ShardedPMMLObjectCache<Predicate> cache = getCache();
+
+		return cache.intern(predicate);
+	}
+
+	public ShardedPMMLObjectCache<Predicate> getCache(){
+		return this.cache;
+	}
+
+	private void setCache(ShardedPMMLObjectCache<Predicate> cache){
+		this.cache = Objects.requireNonNull(cache);
 	}
 }
\ No newline at end of file
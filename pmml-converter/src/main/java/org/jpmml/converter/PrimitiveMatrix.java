@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>
+ * A matrix that keeps its elements in primitive storage.
+ * </p>
+ *
+ * <p>
+ * Row and column values are exposed as zero-copy strided views.
+ * Elements get boxed one at a time, and only when they are accessed via the {@link List} interface.
+ * </p>
+ *
+ * @see DoubleMatrix
+ * @see FloatMatrix
+ */
+abstract
+public class PrimitiveMatrix<V extends Number> extends Matrix<V> {
+
+	private boolean columnMajor = false;
+
+
+	public PrimitiveMatrix(List<V> values, int rows, int columns, boolean columnMajor){
+		super(values, rows, columns);
+
+		setColumnMajor(columnMajor);
+	}
+
+	/**
+	 * <p>
+	 * Gets the element as a <code>double</code> value, without boxing it.
+	 * </p>
+	 */
+	abstract
+	public double getDouble(int row, int column);
+
+	public boolean isColumnMajor(){
+		return this.columnMajor;
+	}
+
+	private void setColumnMajor(boolean columnMajor){
+		this.columnMajor = columnMajor;
+	}
+
+	protected int getIndex(int row, int column){
+		int rows = getRows();
+		int columns = getColumns();
+
+		Objects.checkIndex(row, rows);
+		Objects.checkIndex(column, columns);
+
+		if(this.columnMajor){
+			return (column * rows) + row;
+		}
+
+		return (row * columns) + column;
+	}
+
+	protected int getRowOffset(int row){
+		Objects.checkIndex(row, getRows());
+
+		if(this.columnMajor){
+			return row;
+		}
+
+		return (row * getColumns());
+	}
+
+	protected int getRowStride(){
+
+		if(this.columnMajor){
+			return getRows();
+		}
+
+		return 1;
+	}
+
+	protected int getColumnOffset(int column){
+		Objects.checkIndex(column, getColumns());
+
+		if(this.columnMajor){
+			return (column * getRows());
+		}
+
+		return column;
+	}
+
+	protected int getColumnStride(){
+
+		if(this.columnMajor){
+			return 1;
+		}
+
+		return getColumns();
+	}
+
+	static
+	int checkSize(int size, int rows, int columns){
+
+		if(rows < 0 || columns < 0){
+			throw new IllegalArgumentException();
+		} // End if
+
+		if(((long)rows * (long)columns) > Integer.MAX_VALUE){
+			throw new IllegalArgumentException("Expected at most " + ExceptionUtil.formatCount(Integer.MAX_VALUE, "element") + ", got " + ((long)rows * (long)columns));
+		}
+
+		MatrixUtil.validateSize(size, rows, columns);
+
+		return size;
+	}
+}
\ No newline at end of file
@@ -38,8 +38,8 @@ public class ProductFeature extends Feature {
 	}
 
 	@Override
-	public int hashCode(){
-		int result = super.hashCode();
+	protected int computeHashCode(){
+		int result = super.computeHashCode();
 
 		result = (31 * result) + Objects.hashCode(this.getFeature());
 		result = (31 * result) + Objects.hashCode(this.getFactor());
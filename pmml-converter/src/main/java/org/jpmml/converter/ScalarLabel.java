@@ -54,7 +54,7 @@ public class ScalarLabel extends Label {
 	}
 
 	@Override
-	public int hashCode(){
+	protected int computeHashCode(){
 		int result = 0;
 
 		result = (31 * result) + Objects.hashCode(this.getName());
@@ -66,10 +66,20 @@ public class ScalarLabel extends Label {
 	@Override
 	public boolean equals(Object object){
 
+		if(object == this){
+			return true;
+		} // End if
+
 		if(object instanceof ScalarLabel){
 			ScalarLabel that = (ScalarLabel)object;
 
 			if(Objects.equals(this.getClass(), that.getClass())){
+
+				// Cheap rejection, before deep comparison
+				if(this.hashCode() != that.hashCode()){
+					return false;
+				}
+
 				return Objects.equals(this.getName(), that.getName()) && Objects.equals(this.getDataType(), that.getDataType());
 			}
 		}
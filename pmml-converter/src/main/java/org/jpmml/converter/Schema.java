@@ -20,7 +20,9 @@ package org.jpmml.converter;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -36,6 +38,8 @@ public class Schema {
 
 	private List<? extends Feature> features = null;
 
+	private Map<String, Integer> featureIndexes = null;
+
 
 	public Schema(ModelEncoder encoder, Label label, List<? extends Feature> features){
 		setEncoder(encoder);
@@ -47,7 +51,11 @@ public class Schema {
 		ModelEncoder encoder = getEncoder();
 		List<? extends Feature> features = getFeatures();
 
-		return new Schema(encoder, label, features);
+		Schema result = new Schema(encoder, label, features);
+		// The list of features is the same, so is the hash index
+		result.featureIndexes = this.featureIndexes;
+
+		return result;
 	}
 
 	public Schema toAnonymousSchema(){
@@ -191,11 +199,77 @@ public class Schema {
 		return features.get(index);
 	}
 
+	/**
+	 * <p>
+	 * Finds the first feature with the specified name.
+	 * </p>
+	 *
+	 * <p>
+	 * Name resolution is backed by a hash index, which is built on first use.
+	 * The list of features must not be modified after the schema has been created.
+	 * </p>
+	 *
+	 * @return The index of the feature, or <code>-1</code>.
+	 */
+	public int getFeatureIndex(String name){
+		List<? extends Feature> features = getFeatures();
+
+		if(features instanceof OneHotFeatureList){
+			OneHotFeatureList oneHotFeatures = (OneHotFeatureList)features;
+
+			return oneHotFeatures.indexOfName(name);
+		}
+
+		Map<String, Integer> featureIndexes = this.featureIndexes;
+
+		if(featureIndexes == null){
+			featureIndexes = buildIndex(features);
+
+			this.featureIndexes = featureIndexes;
+		}
+
+		Integer index = featureIndexes.get(name);
+		if(index != null){
+			return index;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return The first feature with the specified name, or <code>null</code>.
+	 *
+	 * @see #getFeatureIndex(String)
+	 */
+	public Feature findFeature(String name){
+		int index = getFeatureIndex(name);
+
+		if(index < 0){
+			return null;
+		}
+
+		return getFeature(index);
+	}
+
 	public List<? extends Feature> getFeatures(){
 		return this.features;
 	}
 
 	private void setFeatures(List<? extends Feature> features){
 		this.features = Objects.requireNonNull(features);
+		this.featureIndexes = null;
+	}
+
+	static
+	private Map<String, Integer> buildIndex(List<? extends Feature> features){
+		Map<String, Integer> result = new HashMap<>(2 * features.size());
+
+		for(int i = 0; i < features.size(); i++){
+			Feature feature = features.get(i);
+
+			result.putIfAbsent(feature.getName(), i);
+		}
+
+		return result;
 	}
 }
\ No newline at end of file
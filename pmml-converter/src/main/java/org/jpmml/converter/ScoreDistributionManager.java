@@ -19,18 +19,36 @@
 package org.jpmml.converter;
 
 import java.util.List;
+import java.util.Objects;
 
 import org.dmg.pmml.HasScoreDistributions;
 import org.dmg.pmml.PMMLObject;
 import org.dmg.pmml.ScoreDistribution;
 import org.dmg.pmml.ScoreFrequency;
 import org.dmg.pmml.ScoreProbability;
-import org.jpmml.model.PMMLObjectCache;
 
+/**
+ * <p>
+ * A score distribution factory, which interns score distributions.
+ * </p>
+ *
+ * <p>
+ * A score distribution manager is thread-safe.
+ * The same score distribution cache may be shared between score distribution managers (eg. one per tree model of an ensemble model).
+ * </p>
+ */
 public class ScoreDistributionManager {
 
-	private PMMLObjectCache<ScoreDistribution> cache = new PMMLObjectCache<>();
+	private ShardedPMMLObjectCache<ScoreDistribution> cache = null;
+
 
+	public ScoreDistributionManager(){
+		this(new ShardedPMMLObjectCache<>());
+	}
+
+	public ScoreDistributionManager(ShardedPMMLObjectCache<ScoreDistribution> cache){
+		setCache(cache);
+	}
 
 	public <E extends PMMLObject & HasScoreDistributions<E>> void addScoreDistributions(E object, List<?> values, List<? extends Number> recordCounts, List<? extends Number> probabilities){
 		List<ScoreDistribution> scoreDistributions = object.getScoreDistributions();
@@ -68,7 +86,17 @@ public class ScoreDistributionManager {
 	}
 
 	public ScoreDistribution intern(ScoreDistribution scoreDistribution){
-		return this.cache.intern(scoreDistribution);
+		ShardedPMMLObjectCache<ScoreDistribution> cache = getCache();
+
+		return cache.intern(scoreDistribution);
+	}
+
+	public ShardedPMMLObjectCache<ScoreDistribution> getCache(){
+		return this.cache;
+	}
+
+	private void setCache(ShardedPMMLObjectCache<ScoreDistribution> cache){
+		this.cache = Objects.requireNonNull(cache);
 	}
 
 	static
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.dmg.pmml.PMMLObject;
+import org.jpmml.model.ReflectionUtil;
+import org.jpmml.model.ToStringHelper;
+
+/**
+ * <p>
+ * A thread-safe cache for interning structurally identical PMML objects.
+ * </p>
+ *
+ * <p>
+ * The cache is split into a fixed number of shards, which are locked independently of one another.
+ * A bounded cache limits the size of every shard, and evicts the least recently used object from a full shard.
+ * An evicted object remains valid, but will not be shared with objects that are interned afterwards.
+ * </p>
+ *
+ * <p>
+ * Interned objects must not be modified.
+ * </p>
+ *
+ * @see PredicateManager
+ * @see ScoreDistributionManager
+ */
+public class ShardedPMMLObjectCache<E extends PMMLObject> {
+
+	private Shard<E>[] shards = null;
+
+	private int maxSize = 0;
+
+	private LongAdder hitCount = new LongAdder();
+
+	private LongAdder missCount = new LongAdder();
+
+	private LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * <p>
+	 * Creates an unbounded cache.
+	 * </p>
+	 */
+	public ShardedPMMLObjectCache(){
+		this(ShardedPMMLObjectCache.DEFAULT_SHARDS, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * <p>
+	 * Creates a bounded cache.
+	 * </p>
+	 */
+	public ShardedPMMLObjectCache(int maxSize){
+		this(ShardedPMMLObjectCache.DEFAULT_SHARDS, maxSize);
+	}
+
+	/**
+	 * @param shards The requested number of shards.
+	 * It is rounded down to the nearest power of two, and to at most <code>maxSize</code>.
+	 * @param maxSize The maximum number of cached objects.
+	 */
+	@SuppressWarnings("unchecked")
+	public ShardedPMMLObjectCache(int shards, int maxSize){
+
+		if(shards < 1 || maxSize < 1){
+			throw new IllegalArgumentException();
+		}
+
+		shards = Integer.highestOneBit(Math.min(shards, maxSize));
+
+		// Round up, so that the total capacity is never less than the maximum size
+		int maxShardSize = (maxSize == Integer.MAX_VALUE) ? Integer.MAX_VALUE : (int)(((long)maxSize + (shards - 1)) / shards);
+
+		this.shards = new Shard[shards];
+
+		for(int i = 0; i < shards; i++){
+			this.shards[i] = new Shard<>(maxShardSize, this.evictionCount);
+		}
+
+		setMaxSize(maxSize);
+	}
+
+	/**
+	 * @return The cached object that is structurally identical to the specified object, or the specified object.
+	 */
+	public E intern(E object){
+		Key key = new Key(object);
+
+		Shard<E> shard = this.shards[spread(key.hashCode()) & (this.shards.length - 1)];
+
+		synchronized(shard){
+			E cachedObject = shard.get(key);
+
+			if(cachedObject != null){
+				this.hitCount.increment();
+
+				return cachedObject;
+			}
+
+			shard.put(key, object);
+		}
+
+		this.missCount.increment();
+
+		return object;
+	}
+
+	public void clear(){
+
+		for(Shard<E> shard : this.shards){
+
+			synchronized(shard){
+				shard.clear();
+			}
+		}
+	}
+
+	/**
+	 * @return The number of cached objects.
+	 */
+	public int size(){
+		int result = 0;
+
+		for(Shard<E> shard : this.shards){
+
+			synchronized(shard){
+				result += shard.size();
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * @return The number of {@link #intern(PMMLObject)} calls that returned a cached object.
+	 */
+	public long getHitCount(){
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * @return The number of {@link #intern(PMMLObject)} calls that cached the specified object.
+	 */
+	public long getMissCount(){
+		return this.missCount.sum();
+	}
+
+	/**
+	 * @return The number of cached objects that have been evicted in order to stay within the size limit.
+	 */
+	public long getEvictionCount(){
+		return this.evictionCount.sum();
+	}
+
+	@Override
+	public String toString(){
+		ToStringHelper helper = new ToStringHelper(this)
+			.add("shards", this.shards.length)
+			.add("maxSize", getMaxSize())
+			.add("size", size())
+			.add("hitCount", getHitCount())
+			.add("missCount", getMissCount())
+			.add("evictionCount", getEvictionCount());
+
+		return helper.toString();
+	}
+
+	/**
+	 * @return The maximum number of cached objects, or {@link Integer#MAX_VALUE} if unbounded.
+	 * Every shard is bounded separately, so the actual number of cached objects may exceed it slightly.
+	 */
+	public int getMaxSize(){
+		return this.maxSize;
+	}
+
+	private void setMaxSize(int maxSize){
+		this.maxSize = maxSize;
+	}
+
+	static
+	private int spread(int hashCode){
+		return hashCode ^ (hashCode >>> 16);
+	}
+
+	static
+	private class Shard<E> extends LinkedHashMap<Key, E> {
+
+		private int maxSize = 0;
+
+		private LongAdder evictionCount = null;
+
+
+		private Shard(int maxSize, LongAdder evictionCount){
+			super(16, 0.75f, true);
+
+			this.maxSize = maxSize;
+			this.evictionCount = evictionCount;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, E> entry){
+
+			if(size() > this.maxSize){
+				this.evictionCount.increment();
+
+				return true;
+			}
+
+			return false;
+		}
+	}
+
+	static
+	private class Key {
+
+		private PMMLObject object = null;
+
+		private int hashCode = 0;
+
+
+		private Key(PMMLObject object){
+			this.object = object;
+			this.hashCode = PMMLUtil.structuralHashCode(object);
+		}
+
+		@Override
+		public int hashCode(){
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object object){
+
+			if(object instanceof Key){
+				Key that = (Key)object;
+
+				return (this.hashCode == that.hashCode) && ReflectionUtil.equals(this.object, that.object);
+			}
+
+			return false;
+		}
+	}
+
+	private static final int DEFAULT_SHARDS = 16;
+}
\ No newline at end of file
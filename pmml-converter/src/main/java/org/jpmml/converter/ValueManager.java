@@ -18,14 +18,24 @@
  */
 package org.jpmml.converter;
 
-import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
 
+/**
+ * <p>
+ * An immutable name-to-value mapping, which is forked (instead of modified) when descending into a subtree.
+ * </p>
+ *
+ * <p>
+ * The value map is persistent.
+ * A fork shares the bulk of its structure with the original value map,
+ * which makes it cheap (<code>O(log n)</code> time and space) to fork at every node of deep decision trees.
+ * </p>
+ */
 abstract
 public class ValueManager<V> {
 
-	private Map<String, V> valueMap = Collections.emptyMap();
+	private Map<String, V> valueMap = PersistentMap.empty();
 
 
 	public ValueManager(){
@@ -38,6 +48,17 @@ public class ValueManager<V> {
 	abstract
 	public ValueManager<V> fork(String name, V value);
 
+	/**
+	 * <p>
+	 * Creates a copy of the value map, with the specified mapping added or replaced.
+	 * </p>
+	 */
+	protected Map<String, V> forkValueMap(String name, V value){
+		PersistentMap<String, V> valueMap = PersistentMap.copyOf(getValueMap());
+
+		return valueMap.with(name, value);
+	}
+
 	public V getValue(String name){
 		Map<String, V> valueMap = getValueMap();
 
@@ -49,6 +70,6 @@ public class ValueManager<V> {
 	}
 
 	private void setValueMap(Map<String, V> valueMap){
-		this.valueMap = Objects.requireNonNull(valueMap);
+		this.valueMap = PersistentMap.copyOf(Objects.requireNonNull(valueMap));
 	}
 }
\ No newline at end of file
@@ -43,6 +43,7 @@ import org.jpmml.converter.InteractionFeature;
 import org.jpmml.converter.PowerFeature;
 import org.jpmml.converter.ProductFeature;
 import org.jpmml.converter.ValueUtil;
+import org.jpmml.converter.regression.PredictorSlots;
 
 public class GeneralRegressionModelUtil {
 
@@ -160,6 +161,158 @@ public class GeneralRegressionModelUtil {
 		return generalRegressionModel;
 	}
 
+	static
+	public GeneralRegressionModel encodeRegressionTable(GeneralRegressionModel generalRegressionModel, List<? extends Feature> features, double[] coefficients, Number intercept, Object targetCategory){
+		return encodeRegressionTable(null, generalRegressionModel, features, coefficients, intercept, targetCategory);
+	}
+
+	/**
+	 * <p>
+	 * Zero-valued coefficients are skipped without boxing them.
+	 * Other coefficients are scaled in primitive form, and boxed once.
+	 * </p>
+	 *
+	 * @see PredictorSlots
+	 */
+	static
+	public GeneralRegressionModel encodeRegressionTable(MathContext mathContext, GeneralRegressionModel generalRegressionModel, List<? extends Feature> features, double[] coefficients, Number intercept, Object targetCategory){
+
+		if(features.size() != coefficients.length){
+			throw new IllegalArgumentException();
+		}
+
+		return encodeRegressionTable(mathContext, generalRegressionModel, features, coefficients, null, intercept, targetCategory);
+	}
+
+	static
+	public GeneralRegressionModel encodeRegressionTable(GeneralRegressionModel generalRegressionModel, List<? extends Feature> features, float[] coefficients, Number intercept, Object targetCategory){
+		return encodeRegressionTable(null, generalRegressionModel, features, coefficients, intercept, targetCategory);
+	}
+
+	/**
+	 * @see #encodeRegressionTable(MathContext, GeneralRegressionModel, List, double[], Number, Object)
+	 */
+	static
+	public GeneralRegressionModel encodeRegressionTable(MathContext mathContext, GeneralRegressionModel generalRegressionModel, List<? extends Feature> features, float[] coefficients, Number intercept, Object targetCategory){
+
+		if(features.size() != coefficients.length){
+			throw new IllegalArgumentException();
+		}
+
+		return encodeRegressionTable(mathContext, generalRegressionModel, features, null, coefficients, intercept, targetCategory);
+	}
+
+	static
+	private GeneralRegressionModel encodeRegressionTable(MathContext mathContext, GeneralRegressionModel generalRegressionModel, List<? extends Feature> features, double[] doubleCoefficients, float[] floatCoefficients, Number intercept, Object targetCategory){
+		ParameterList parameterList = generalRegressionModel.getParameterList();
+		if(parameterList == null){
+			parameterList = new ParameterList();
+
+			generalRegressionModel.setParameterList(parameterList);
+		}
+
+		PPMatrix ppMatrix = generalRegressionModel.getPPMatrix();
+		if(ppMatrix == null){
+			ppMatrix = new PPMatrix();
+
+			generalRegressionModel.setPPMatrix(ppMatrix);
+		}
+
+		ParamMatrix paramMatrix = generalRegressionModel.getParamMatrix();
+		if(paramMatrix == null){
+			paramMatrix = new ParamMatrix();
+
+			generalRegressionModel.setParamMatrix(paramMatrix);
+		}
+
+		int p = (parameterList.getParameters()).size();
+
+		if(intercept != null && !ValueUtil.isZeroLike(intercept)){
+			Parameter parameter = new Parameter("p" + String.valueOf(p))
+				.setLabel("(intercept)");
+
+			parameterList.addParameters(parameter);
+
+			p++;
+
+			PCell pCell = new PCell(parameter.requireName(), intercept)
+				.setTargetCategory(targetCategory);
+
+			paramMatrix.addPCells(pCell);
+		}
+
+		Set<String> covariateFieldNames = new LinkedHashSet<>();
+		Set<String> factorFieldNames = new LinkedHashSet<>();
+
+		// Every coefficient gets its own parameter, so only the arithmetic and boxing of predictor slots is needed
+		PredictorSlots predictorSlots = new PredictorSlots(mathContext, (floatCoefficients != null));
+
+		for(int i = 0, max = features.size(); i < max; i++){
+			double coefficient = (doubleCoefficients != null ? doubleCoefficients[i] : floatCoefficients[i]);
+
+			if(coefficient == 0d || Double.isNaN(coefficient)){
+				continue;
+			}
+
+			Feature feature = features.get(i);
+
+			boolean computed = false;
+
+			if(feature instanceof ProductFeature){
+				ProductFeature productFeature = (ProductFeature)feature;
+
+				feature = productFeature.getFeature();
+				coefficient = predictorSlots.multiply(coefficient, (productFeature.getFactor()).doubleValue());
+
+				computed = true;
+			}
+
+			Parameter parameter = new Parameter("p" + String.valueOf(p));
+
+			parameterList.addParameters(parameter);
+
+			p++;
+
+			Number multiplier = createPPCells(mathContext, feature, parameter, ppMatrix, covariateFieldNames, factorFieldNames);
+			if(!ValueUtil.isOne(multiplier)){
+				coefficient = predictorSlots.multiply(coefficient, multiplier.doubleValue());
+
+				computed = true;
+			}
+
+			PCell pCell = new PCell(parameter.requireName(), predictorSlots.box(coefficient, computed))
+				.setTargetCategory(targetCategory);
+
+			paramMatrix.addPCells(pCell);
+		}
+
+		if(!covariateFieldNames.isEmpty()){
+			CovariateList covariateList = generalRegressionModel.getCovariateList();
+
+			if(covariateList == null){
+				covariateList = new CovariateList();
+
+				generalRegressionModel.setCovariateList(covariateList);
+			}
+
+			createPredictors(covariateList, covariateFieldNames);
+		} // End if
+
+		if(!factorFieldNames.isEmpty()){
+			FactorList factorList = generalRegressionModel.getFactorList();
+
+			if(factorList == null){
+				factorList = new FactorList();
+
+				generalRegressionModel.setFactorList(factorList);
+			}
+
+			createPredictors(factorList, factorFieldNames);
+		}
+
+		return generalRegressionModel;
+	}
+
 	static
 	private Number createPPCells(MathContext mathContext, Feature feature, Parameter parameter, PPMatrix ppMatrix, Set<String> covariateFieldNames, Set<String> factorFieldNames){
 
@@ -184,6 +337,13 @@ public class GeneralRegressionModelUtil {
 		if(feature instanceof InteractionFeature){
 			InteractionFeature interactionFeature = (InteractionFeature)feature;
 
+			// A prefix-sharing product is referenced as a whole, so that its derived field (and the derived fields of its prefixes) are used
+			if(interactionFeature.isPrefixSharing()){
+				ContinuousFeature continuousFeature = interactionFeature.toContinuousFeature();
+
+				return createPPCell("1", continuousFeature.getName(), parameter, ppMatrix, covariateFieldNames);
+			}
+
 			Number result = 1d;
 
 			List<? extends Feature> inputFeatures = interactionFeature.getInputFeatures();
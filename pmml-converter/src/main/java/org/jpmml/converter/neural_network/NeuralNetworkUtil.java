@@ -20,7 +20,13 @@ package org.jpmml.converter.neural_network;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
 
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Floats;
 import org.dmg.pmml.DataType;
 import org.dmg.pmml.DerivedField;
 import org.dmg.pmml.Expression;
@@ -41,8 +47,11 @@ import org.jpmml.converter.BooleanFeature;
 import org.jpmml.converter.CategoricalLabel;
 import org.jpmml.converter.ContinuousFeature;
 import org.jpmml.converter.ContinuousLabel;
+import org.jpmml.converter.DoubleMatrix;
 import org.jpmml.converter.Feature;
+import org.jpmml.converter.FloatMatrix;
 import org.jpmml.converter.Label;
+import org.jpmml.converter.PrimitiveMatrix;
 import org.jpmml.converter.ScalarLabelUtil;
 import org.jpmml.converter.ValueUtil;
 
@@ -121,6 +130,71 @@ public class NeuralNetworkUtil {
 		return neuron;
 	}
 
+	/**
+	 * @see #createNeuralLayer(List, PrimitiveMatrix, List, IntFunction, ForkJoinPool)
+	 */
+	static
+	public NeuralLayer createNeuralLayer(List<? extends NeuralEntity> entities, double[] weights, double[] biases, IntFunction<String> idFunction){
+		return createNeuralLayer(entities, new DoubleMatrix(weights, biases.length, entities.size()), Doubles.asList(biases), idFunction, null);
+	}
+
+	/**
+	 * @see #createNeuralLayer(List, PrimitiveMatrix, List, IntFunction, ForkJoinPool)
+	 */
+	static
+	public NeuralLayer createNeuralLayer(List<? extends NeuralEntity> entities, float[] weights, float[] biases, IntFunction<String> idFunction){
+		return createNeuralLayer(entities, new FloatMatrix(weights, biases.length, entities.size()), Floats.asList(biases), idFunction, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates a layer of neurons in one pass over a weight matrix.
+	 * </p>
+	 *
+	 * <p>
+	 * Every neuron is encoded the same way as by {@link #createNeuron(List, List, Number)}.
+	 * Zero-like weights and biases are skipped, and only the retained weights are boxed.
+	 * Weight matrices that are laid out with one column per neuron (eg. input-major coefficient arrays)
+	 * can be passed without copying by wrapping them as column-major matrices.
+	 * </p>
+	 *
+	 * @param weights A matrix with one row per neuron and one column per input entity.
+	 * @param idFunction A function that maps a zero-based neuron index to a neuron identifier.
+	 * @param forkJoinPool The fork-join pool for creating neurons in parallel, or <code>null</code>.
+	 */
+	static
+	public NeuralLayer createNeuralLayer(List<? extends NeuralEntity> entities, PrimitiveMatrix<?> weights, List<? extends Number> biases, IntFunction<String> idFunction, ForkJoinPool forkJoinPool){
+
+		if(weights.getRows() != biases.size() || weights.getColumns() != entities.size()){
+			throw new IllegalArgumentException();
+		}
+
+		Objects.requireNonNull(idFunction);
+
+		String[] entityIds = new String[entities.size()];
+
+		for(int i = 0; i < entities.size(); i++){
+			NeuralEntity entity = entities.get(i);
+
+			entityIds[i] = entity.requireId();
+		}
+
+		Neuron[] neurons = new Neuron[biases.size()];
+
+		if(forkJoinPool != null){
+			forkJoinPool.invoke(new NeuronTask(entityIds, weights, biases, idFunction, 0, neurons.length, neurons));
+		} else
+
+		{
+			createNeurons(entityIds, weights, biases, idFunction, 0, neurons.length, neurons);
+		}
+
+		NeuralLayer neuralLayer = new NeuralLayer()
+			.addNeurons(neurons);
+
+		return neuralLayer;
+	}
+
 	static
 	public List<NeuralLayer> createBinaryLogisticTransformation(NeuralEntity entity){
 		NeuralLayer inputLayer = new NeuralLayer()
@@ -199,4 +273,82 @@ public class NeuralNetworkUtil {
 
 		return neuralOutputs;
 	}
+
+	static
+	private void createNeurons(String[] entityIds, PrimitiveMatrix<?> weights, List<? extends Number> biases, IntFunction<String> idFunction, int fromRow, int toRow, Neuron[] result){
+
+		for(int row = fromRow; row < toRow; row++){
+			List<? extends Number> rowWeights = weights.getRowValues(row);
+			Number bias = biases.get(row);
+
+			Neuron neuron = new Neuron()
+				.setId(idFunction.apply(row));
+
+			for(int column = 0; column < entityIds.length; column++){
+				double weight = weights.getDouble(row, column);
+
+				if(weight == 0d || Double.isNaN(weight)){
+					continue;
+				}
+
+				Connection connection = new Connection(entityIds[column], rowWeights.get(column));
+
+				neuron.addConnections(connection);
+			}
+
+			if(bias != null && !ValueUtil.isZeroLike(bias)){
+				neuron.setBias(bias);
+			}
+
+			result[row] = neuron;
+		}
+	}
+
+	static
+	private class NeuronTask extends RecursiveAction {
+
+		private String[] entityIds = null;
+
+		private PrimitiveMatrix<?> weights = null;
+
+		private List<? extends Number> biases = null;
+
+		private IntFunction<String> idFunction = null;
+
+		private int fromRow = 0;
+
+		private int toRow = 0;
+
+		private Neuron[] result = null;
+
+
+		private NeuronTask(String[] entityIds, PrimitiveMatrix<?> weights, List<? extends Number> biases, IntFunction<String> idFunction, int fromRow, int toRow, Neuron[] result){
+			this.entityIds = entityIds;
+			this.weights = weights;
+			this.biases = biases;
+			this.idFunction = idFunction;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+			this.result = result;
+		}
+
+		@Override
+		protected void compute(){
+
+			if((this.toRow - this.fromRow) <= NeuralNetworkUtil.ROW_THRESHOLD){
+				createNeurons(this.entityIds, this.weights, this.biases, this.idFunction, this.fromRow, this.toRow, this.result);
+
+				return;
+			}
+
+			int midRow = (this.fromRow + this.toRow) >>> 1;
+
+			invokeAll(
+				new NeuronTask(this.entityIds, this.weights, this.biases, this.idFunction, this.fromRow, midRow, this.result),
+				new NeuronTask(this.entityIds, this.weights, this.biases, this.idFunction, midRow, this.toRow, this.result)
+			);
+		}
+	}
+
+	private static final int ROW_THRESHOLD = 16;
 }
\ No newline at end of file
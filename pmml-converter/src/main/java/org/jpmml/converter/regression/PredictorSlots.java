@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.regression;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.dmg.pmml.MathContext;
+import org.dmg.pmml.regression.CategoricalPredictor;
+import org.dmg.pmml.regression.NumericPredictor;
+import org.dmg.pmml.regression.RegressionTable;
+import org.jpmml.converter.ValueUtil;
+
+/**
+ * <p>
+ * Accumulates the coefficients of regression model elements in primitive form, and boxes them once.
+ * </p>
+ *
+ * <p>
+ * Predictor elements are created (and added to the regression table) on first appearance, in order to preserve the ordering of predictors.
+ * Their coefficients are accumulated in a primitive array, and set when all features have been processed.
+ * </p>
+ *
+ * <p>
+ * Arithmetic operations and boxing follow the math context the same way as {@link ValueUtil} does,
+ * so that the results match those of boxed coefficients.
+ * </p>
+ */
+public class PredictorSlots {
+
+	private boolean floatMath = false;
+
+	private boolean floatValues = false;
+
+	private Map<String, Integer> numericSlots = new HashMap<>();
+
+	private Map<String, Map<Object, Integer>> categoricalSlots = new HashMap<>();
+
+	private Object[] predictors = new Object[16];
+
+	private double[] coefficients = new double[16];
+
+	private boolean[] computed = new boolean[16];
+
+	private int size = 0;
+
+
+	/**
+	 * @param floatValues <code>true</code> if original coefficients are <code>float</code> values, <code>false</code> if they are <code>double</code> values.
+	 */
+	public PredictorSlots(MathContext mathContext, boolean floatValues){
+		this.floatMath = (mathContext == MathContext.FLOAT);
+		this.floatValues = floatValues;
+	}
+
+	public void addNumericPredictor(RegressionTable regressionTable, String name, double coefficient, boolean computed){
+		Integer slot = this.numericSlots.get(name);
+
+		if(slot == null){
+			NumericPredictor numericPredictor = new NumericPredictor()
+				.setField(name);
+
+			regressionTable.addNumericPredictors(numericPredictor);
+
+			this.numericSlots.put(name, addSlot(numericPredictor, coefficient, computed));
+		} else
+
+		{
+			add(slot, coefficient);
+		}
+	}
+
+	public void addCategoricalPredictor(RegressionTable regressionTable, String name, Object value, double coefficient, boolean computed){
+		Map<Object, Integer> valueSlots = this.categoricalSlots.get(name);
+
+		if(valueSlots == null){
+			valueSlots = new HashMap<>();
+
+			this.categoricalSlots.put(name, valueSlots);
+		}
+
+		Integer slot = valueSlots.get(value);
+
+		if(slot == null){
+			CategoricalPredictor categoricalPredictor = new CategoricalPredictor()
+				.setField(name)
+				.setValue(value);
+
+			regressionTable.addCategoricalPredictors(categoricalPredictor);
+
+			valueSlots.put(value, addSlot(categoricalPredictor, coefficient, computed));
+		} else
+
+		{
+			add(slot, coefficient);
+		}
+	}
+
+	public void setCoefficients(){
+
+		for(int i = 0; i < this.size; i++){
+			Object predictor = this.predictors[i];
+
+			Number coefficient = box(this.coefficients[i], this.computed[i]);
+
+			if(predictor instanceof NumericPredictor){
+				NumericPredictor numericPredictor = (NumericPredictor)predictor;
+
+				numericPredictor.setCoefficient(coefficient);
+			} else
+
+			if(predictor instanceof CategoricalPredictor){
+				CategoricalPredictor categoricalPredictor = (CategoricalPredictor)predictor;
+
+				categoricalPredictor.setCoefficient(coefficient);
+			} else
+
+			{
+				throw new IllegalStateException();
+			}
+		}
+	}
+
+	/**
+	 * <p>
+	 * Mirrors {@link ValueUtil#multiply(MathContext, Number, Number)}.
+	 * </p>
+	 */
+	public double multiply(double left, double right){
+
+		if(this.floatMath){
+			return ((float)left * (float)right);
+		}
+
+		return (left * right);
+	}
+
+	/**
+	 * <p>
+	 * Mirrors {@link ValueUtil#add(MathContext, Number, Number)}.
+	 * </p>
+	 */
+	public double add(double left, double right){
+
+		if(this.floatMath){
+			return ((float)left + (float)right);
+		}
+
+		return (left + right);
+	}
+
+	/**
+	 * @param computed <code>true</code> if the value is the result of some arithmetic operation (which follows the math context),
+	 * <code>false</code> if the value is an original coefficient (which follows the type of the coefficient array).
+	 */
+	public Number box(double value, boolean computed){
+
+		if(computed ? this.floatMath : this.floatValues){
+			return (float)value;
+		}
+
+		return value;
+	}
+
+	private void add(int slot, double coefficient){
+		this.coefficients[slot] = add(this.coefficients[slot], coefficient);
+		this.computed[slot] = true;
+	}
+
+	private int addSlot(Object predictor, double coefficient, boolean computed){
+
+		if(this.size == this.predictors.length){
+			int capacity = this.size * 2;
+
+			this.predictors = Arrays.copyOf(this.predictors, capacity);
+			this.coefficients = Arrays.copyOf(this.coefficients, capacity);
+			this.computed = Arrays.copyOf(this.computed, capacity);
+		}
+
+		int slot = this.size;
+
+		this.predictors[slot] = predictor;
+		this.coefficients[slot] = coefficient;
+		this.computed[slot] = computed;
+
+		this.size++;
+
+		return slot;
+	}
+}
\ No newline at end of file
@@ -18,6 +18,7 @@
  */
 package org.jpmml.converter.regression;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -258,67 +259,19 @@ public class RegressionModelUtil {
 			if(feature instanceof ConstantFeature){
 				ConstantFeature constantFeature = (ConstantFeature)feature;
 
-				Number value = ValueUtil.add(mathContext, regressionTable.requireIntercept(), ValueUtil.multiply(mathContext, coefficient, constantFeature.getValue()));
-
-				regressionTable.setIntercept(value);
+				encodeConstantFeature(mathContext, regressionTable, constantFeature, coefficient);
 			} else
 
-			if(feature instanceof InteractionFeature){
+			if(isPredictorTerm(feature)){
 				InteractionFeature interactionFeature = (InteractionFeature)feature;
 
-				PredictorTerm predictorTerm = new PredictorTerm()
-					.setName(interactionFeature.getName())
-					.setCoefficient(coefficient);
-
-				List<? extends Feature> inputFeatures = interactionFeature.getInputFeatures();
-				for(Feature inputFeature : inputFeatures){
-
-					if(inputFeature instanceof ConstantFeature){
-						ConstantFeature constantFeature = (ConstantFeature)inputFeature;
-
-						Number value = ValueUtil.multiply(mathContext, predictorTerm.requireCoefficient(), constantFeature.getValue());
-
-						predictorTerm.setCoefficient(value);
-					} else
-
-					{
-						inputFeature = inputFeature.toContinuousFeature();
-
-						predictorTerm.addFieldRefs(inputFeature.ref());
-					}
-				}
-
-				List<FieldRef> fieldRefs = predictorTerm.getFieldRefs();
-				if(fieldRefs.size() == 0){
-					Number value = ValueUtil.add(mathContext, regressionTable.getIntercept(), predictorTerm.requireCoefficient());
-
-					regressionTable.setIntercept(value);
-				} else
-
-				if(fieldRefs.size() == 1){
-					FieldRef fieldRef = Iterables.getOnlyElement(fieldRefs);
-
-					NumericPredictor numericPredictor = new NumericPredictor()
-						.setField(fieldRef.requireField())
-						.setCoefficient(predictorTerm.requireCoefficient());
-
-					regressionTable.addNumericPredictors(numericPredictor);
-				} else
-
-				{
-					regressionTable.addPredictorTerms(predictorTerm);
-				}
+				encodeInteractionFeature(mathContext, regressionTable, interactionFeature, coefficient);
 			} else
 
 			if(feature instanceof PowerFeature){
 				PowerFeature powerFeature = (PowerFeature)feature;
 
-				NumericPredictor numericPredictor = new NumericPredictor()
-					.setField(powerFeature.getName())
-					.setExponent(powerFeature.getPower())
-					.setCoefficient(coefficient);
-
-				regressionTable.addNumericPredictors(numericPredictor);
+				encodePowerFeature(regressionTable, powerFeature, coefficient);
 			} else
 
 			{
@@ -346,6 +299,277 @@ public class RegressionModelUtil {
 		return regressionTable;
 	}
 
+	static
+	public RegressionTable createRegressionTable(List<? extends Feature> features, double[] coefficients, Number intercept){
+		return createRegressionTable(null, features, coefficients, intercept);
+	}
+
+	/**
+	 * <p>
+	 * Zero-valued coefficients are skipped without boxing them.
+	 * Coefficients of repeated predictors are merged in primitive form, and boxed once at the end.
+	 * </p>
+	 *
+	 * @see #createRegressionTable(MathContext, List, List, Number)
+	 */
+	static
+	public RegressionTable createRegressionTable(MathContext mathContext, List<? extends Feature> features, double[] coefficients, Number intercept){
+
+		if(features.size() != coefficients.length){
+			throw new IllegalArgumentException();
+		}
+
+		return createRegressionTable(mathContext, features, coefficients, null, intercept);
+	}
+
+	static
+	public RegressionTable createRegressionTable(List<? extends Feature> features, float[] coefficients, Number intercept){
+		return createRegressionTable(null, features, coefficients, intercept);
+	}
+
+	/**
+	 * @see #createRegressionTable(MathContext, List, double[], Number)
+	 */
+	static
+	public RegressionTable createRegressionTable(MathContext mathContext, List<? extends Feature> features, float[] coefficients, Number intercept){
+
+		if(features.size() != coefficients.length){
+			throw new IllegalArgumentException();
+		}
+
+		return createRegressionTable(mathContext, features, null, coefficients, intercept);
+	}
+
+	static
+	public RegressionTable createRegressionTable(Schema schema, int[] indices, double[] coefficients, Number intercept){
+		return createRegressionTable(null, schema, indices, coefficients, intercept);
+	}
+
+	/**
+	 * <p>
+	 * Encodes a sparse coefficient vector.
+	 * </p>
+	 *
+	 * <p>
+	 * Schema features are resolved only for non-zero coefficients, so time and memory scale with the number of non-zero coefficients.
+	 * A schema that is backed by a lazily materializing feature list never materializes features for zero coefficients.
+	 * </p>
+	 *
+	 * @param indices Feature indices. Repeated indices are merged.
+	 * @param coefficients Coefficients, parallel to feature indices.
+	 *
+	 * @see #createRegressionTable(MathContext, List, double[], Number)
+	 */
+	static
+	public RegressionTable createRegressionTable(MathContext mathContext, Schema schema, int[] indices, double[] coefficients, Number intercept){
+
+		if(indices.length != coefficients.length){
+			throw new IllegalArgumentException();
+		}
+
+		return createRegressionTable(mathContext, new SparseFeatureList(schema, indices), coefficients, null, intercept);
+	}
+
+	static
+	public RegressionTable createRegressionTable(Schema schema, int[] indices, float[] coefficients, Number intercept){
+		return createRegressionTable(null, schema, indices, coefficients, intercept);
+	}
+
+	/**
+	 * @see #createRegressionTable(MathContext, Schema, int[], double[], Number)
+	 */
+	static
+	public RegressionTable createRegressionTable(MathContext mathContext, Schema schema, int[] indices, float[] coefficients, Number intercept){
+
+		if(indices.length != coefficients.length){
+			throw new IllegalArgumentException();
+		}
+
+		return createRegressionTable(mathContext, new SparseFeatureList(schema, indices), null, coefficients, intercept);
+	}
+
+	static
+	private RegressionTable createRegressionTable(MathContext mathContext, List<? extends Feature> features, double[] doubleCoefficients, float[] floatCoefficients, Number intercept){
+		RegressionTable regressionTable = new RegressionTable(0d);
+
+		if(intercept != null && !ValueUtil.isZeroLike(intercept)){
+			regressionTable.setIntercept(intercept);
+		}
+
+		PredictorSlots predictorSlots = new PredictorSlots(mathContext, (floatCoefficients != null));
+
+		for(int i = 0, max = features.size(); i < max; i++){
+			double coefficient = (doubleCoefficients != null ? doubleCoefficients[i] : floatCoefficients[i]);
+
+			if(coefficient == 0d || Double.isNaN(coefficient)){
+				continue;
+			}
+
+			Feature feature = features.get(i);
+
+			boolean computed = false;
+
+			if(feature instanceof ProductFeature){
+				ProductFeature productFeature = (ProductFeature)feature;
+
+				feature = productFeature.getFeature();
+				coefficient = predictorSlots.multiply(coefficient, (productFeature.getFactor()).doubleValue());
+
+				computed = true;
+			} // End if
+
+			if(feature instanceof BinaryFeature){
+				BinaryFeature binaryFeature = (BinaryFeature)feature;
+
+				predictorSlots.addCategoricalPredictor(regressionTable, binaryFeature.getName(), binaryFeature.getValue(), coefficient, computed);
+			} else
+
+			if(feature instanceof BooleanFeature){
+				BooleanFeature booleanFeature = (BooleanFeature)feature;
+
+				predictorSlots.addCategoricalPredictor(regressionTable, booleanFeature.getName(), BooleanFeature.VALUE_TRUE, coefficient, computed);
+			} else
+
+			if(feature instanceof ConstantFeature){
+				ConstantFeature constantFeature = (ConstantFeature)feature;
+
+				encodeConstantFeature(mathContext, regressionTable, constantFeature, predictorSlots.box(coefficient, computed));
+			} else
+
+			if(isPredictorTerm(feature)){
+				InteractionFeature interactionFeature = (InteractionFeature)feature;
+
+				encodeInteractionFeature(mathContext, regressionTable, interactionFeature, predictorSlots.box(coefficient, computed));
+			} else
+
+			if(feature instanceof PowerFeature){
+				PowerFeature powerFeature = (PowerFeature)feature;
+
+				encodePowerFeature(regressionTable, powerFeature, predictorSlots.box(coefficient, computed));
+			} else
+
+			{
+				ContinuousFeature continuousFeature = feature.toContinuousFeature();
+
+				predictorSlots.addNumericPredictor(regressionTable, continuousFeature.getName(), coefficient, computed);
+			}
+		}
+
+		predictorSlots.setCoefficients();
+
+		return regressionTable;
+	}
+
+	static
+	private void encodeConstantFeature(MathContext mathContext, RegressionTable regressionTable, ConstantFeature constantFeature, Number coefficient){
+		Number value = ValueUtil.add(mathContext, regressionTable.requireIntercept(), ValueUtil.multiply(mathContext, coefficient, constantFeature.getValue()));
+
+		regressionTable.setIntercept(value);
+	}
+
+	/**
+	 * <p>
+	 * Interaction features with prefix sharing are encoded as numeric predictors,
+	 * because their product is already available as a derived field.
+	 * </p>
+	 */
+	static
+	private boolean isPredictorTerm(Feature feature){
+
+		if(feature instanceof InteractionFeature){
+			InteractionFeature interactionFeature = (InteractionFeature)feature;
+
+			return !interactionFeature.isPrefixSharing();
+		}
+
+		return false;
+	}
+
+	static
+	private void encodeInteractionFeature(MathContext mathContext, RegressionTable regressionTable, InteractionFeature interactionFeature, Number coefficient){
+		PredictorTerm predictorTerm = new PredictorTerm()
+			.setName(interactionFeature.getName())
+			.setCoefficient(coefficient);
+
+		List<? extends Feature> inputFeatures = interactionFeature.getInputFeatures();
+		for(Feature inputFeature : inputFeatures){
+
+			if(inputFeature instanceof ConstantFeature){
+				ConstantFeature constantFeature = (ConstantFeature)inputFeature;
+
+				Number value = ValueUtil.multiply(mathContext, predictorTerm.requireCoefficient(), constantFeature.getValue());
+
+				predictorTerm.setCoefficient(value);
+			} else
+
+			{
+				inputFeature = inputFeature.toContinuousFeature();
+
+				predictorTerm.addFieldRefs(inputFeature.ref());
+			}
+		}
+
+		List<FieldRef> fieldRefs = predictorTerm.getFieldRefs();
+		if(fieldRefs.size() == 0){
+			Number value = ValueUtil.add(mathContext, regressionTable.getIntercept(), predictorTerm.requireCoefficient());
+
+			regressionTable.setIntercept(value);
+		} else
+
+		if(fieldRefs.size() == 1){
+			FieldRef fieldRef = Iterables.getOnlyElement(fieldRefs);
+
+			NumericPredictor numericPredictor = new NumericPredictor()
+				.setField(fieldRef.requireField())
+				.setCoefficient(predictorTerm.requireCoefficient());
+
+			regressionTable.addNumericPredictors(numericPredictor);
+		} else
+
+		{
+			regressionTable.addPredictorTerms(predictorTerm);
+		}
+	}
+
+	static
+	private void encodePowerFeature(RegressionTable regressionTable, PowerFeature powerFeature, Number coefficient){
+		NumericPredictor numericPredictor = new NumericPredictor()
+			.setField(powerFeature.getName())
+			.setExponent(powerFeature.getPower())
+			.setCoefficient(coefficient);
+
+		regressionTable.addNumericPredictors(numericPredictor);
+	}
+
+	/**
+	 * <p>
+	 * A view of schema features at the specified indices.
+	 * </p>
+	 */
+	static
+	private class SparseFeatureList extends AbstractList<Feature> {
+
+		private List<? extends Feature> features = null;
+
+		private int[] indices = null;
+
+
+		private SparseFeatureList(Schema schema, int[] indices){
+			this.features = schema.getFeatures();
+			this.indices = indices;
+		}
+
+		@Override
+		public Feature get(int index){
+			return this.features.get(this.indices[index]);
+		}
+
+		@Override
+		public int size(){
+			return this.indices.length;
+		}
+	}
+
 	static
 	private class PredictorKey {
 
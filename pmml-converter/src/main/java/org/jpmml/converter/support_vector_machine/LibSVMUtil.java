@@ -21,8 +21,12 @@ package org.jpmml.converter.support_vector_machine;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 
 import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.RealSparseArray;
 import org.dmg.pmml.regression.CategoricalPredictor;
 import org.dmg.pmml.support_vector_machine.Coefficient;
 import org.dmg.pmml.support_vector_machine.Coefficients;
@@ -43,6 +47,7 @@ import org.jpmml.converter.Feature;
 import org.jpmml.converter.Matrix;
 import org.jpmml.converter.ModelUtil;
 import org.jpmml.converter.PMMLUtil;
+import org.jpmml.converter.PrimitiveMatrix;
 import org.jpmml.converter.Schema;
 import org.jpmml.converter.SchemaUtil;
 import org.jpmml.converter.ValueUtil;
@@ -120,6 +125,24 @@ public class LibSVMUtil {
 
 	static
 	public VectorDictionary createVectorDictionary(Matrix<? extends Number> sv, List<String> ids, Schema schema){
+		return createVectorDictionary(sv, ids, schema, null);
+	}
+
+	/**
+	 * <p>
+	 * Creates a vector dictionary, using the specified fork-join pool for scanning and encoding support vectors.
+	 * </p>
+	 *
+	 * <p>
+	 * Support vectors are processed in row ranges.
+	 * The feature mask is reduced by a bitwise OR, and vector instances are collected by row index,
+	 * so the result is identical to that of the sequential method.
+	 * </p>
+	 *
+	 * @param forkJoinPool The fork-join pool, or <code>null</code> to process all support vectors in the current thread.
+	 */
+	static
+	public VectorDictionary createVectorDictionary(Matrix<? extends Number> sv, List<String> ids, Schema schema, ForkJoinPool forkJoinPool){
 		int numberOfVectors = sv.getRows();
 		int numberOfFeatures = sv.getColumns();
 
@@ -127,23 +150,18 @@ public class LibSVMUtil {
 
 		SchemaUtil.checkSize(numberOfFeatures, features);
 
-		BitSet featureMask = new BitSet(numberOfFeatures);
-
 		Double defaultValue = 0d;
 
-		for(int i = 0; i < numberOfVectors; i++){
-			List<? extends Number> values = sv.getRowValues(i);
-
-			BitSet vectorFeatureMask = ValueUtil.getIndices(values, defaultValue);
+		BitSet featureMask;
 
-			// Set bits that correspond to non-zero values
-			vectorFeatureMask.flip(0, numberOfFeatures);
+		if(forkJoinPool != null){
+			featureMask = forkJoinPool.invoke(new FeatureMaskTask(sv, defaultValue, 0, numberOfVectors));
+		} else
 
-			featureMask.or(vectorFeatureMask);
+		{
+			featureMask = getFeatureMask(sv, defaultValue, 0, numberOfVectors);
 		}
 
-		int numberOfUsedFeatures = featureMask.cardinality();
-
 		VectorFields vectorFields = new VectorFields();
 
 		for(int i = 0; i < numberOfFeatures; i++){
@@ -171,29 +189,19 @@ public class LibSVMUtil {
 			}
 		}
 
-		VectorDictionary vectorDictionary = new VectorDictionary(vectorFields);
+		VectorInstance[] vectorInstances = new VectorInstance[numberOfVectors];
 
-		for(int i = 0; i < numberOfVectors; i++){
-			String id = ids.get(i);
-			List<? extends Number> values = sv.getRowValues(i);
-
-			if(numberOfUsedFeatures < numberOfFeatures){
-				values = ValueUtil.filterByIndices(values, featureMask);
-			}
-
-			VectorInstance vectorInstance;
-
-			if(ValueUtil.isSparse(values, defaultValue, 0.75d)){
-				vectorInstance = new VectorInstance(id, PMMLUtil.createRealSparseArray(values, defaultValue), null);
-			} else
-
-			{
-				vectorInstance = new VectorInstance(id, null, PMMLUtil.createRealArray(values));
-			}
+		if(forkJoinPool != null){
+			forkJoinPool.invoke(new VectorInstanceTask(sv, ids, featureMask, defaultValue, 0, numberOfVectors, vectorInstances));
+		} else
 
-			vectorDictionary.addVectorInstances(vectorInstance);
+		{
+			createVectorInstances(sv, ids, featureMask, defaultValue, 0, numberOfVectors, vectorInstances);
 		}
 
+		VectorDictionary vectorDictionary = new VectorDictionary(vectorFields)
+			.addVectorInstances(vectorInstances);
+
 		return vectorDictionary;
 	}
 
@@ -228,8 +236,241 @@ public class LibSVMUtil {
 		return supportVectorMachine;
 	}
 
+	/**
+	 * @return A mask of features that have at least one non-default value in the specified row range.
+	 */
+	static
+	private BitSet getFeatureMask(Matrix<? extends Number> sv, Double defaultValue, int fromRow, int toRow){
+		int numberOfFeatures = sv.getColumns();
+
+		BitSet result = new BitSet(numberOfFeatures);
+
+		if(sv instanceof PrimitiveMatrix){
+			PrimitiveMatrix<?> primitiveSv = (PrimitiveMatrix<?>)sv;
+
+			double doubleDefaultValue = defaultValue.doubleValue();
+
+			for(int i = fromRow; i < toRow; i++){
+
+				for(int j = result.nextClearBit(0); j < numberOfFeatures; j = result.nextClearBit(j + 1)){
+					double value = primitiveSv.getDouble(i, j);
+
+					if(value != doubleDefaultValue){
+						result.set(j);
+					}
+				}
+
+				if(result.cardinality() == numberOfFeatures){
+					break;
+				}
+			}
+
+			return result;
+		}
+
+		for(int i = fromRow; i < toRow; i++){
+			List<? extends Number> values = sv.getRowValues(i);
+
+			for(int j = result.nextClearBit(0); j < numberOfFeatures; j = result.nextClearBit(j + 1)){
+				Number value = values.get(j);
+
+				if(!ValueUtil.equals(value, defaultValue)){
+					result.set(j);
+				}
+			}
+
+			if(result.cardinality() == numberOfFeatures){
+				break;
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private void createVectorInstances(Matrix<? extends Number> sv, List<String> ids, BitSet featureMask, Double defaultValue, int fromRow, int toRow, VectorInstance[] result){
+
+		for(int i = fromRow; i < toRow; i++){
+			result[i] = createVectorInstance(sv, ids.get(i), i, featureMask, defaultValue);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Encodes the used features of a support vector as a sparse array if at least 75% of them have a default value,
+	 * and as a dense array otherwise.
+	 * </p>
+	 */
+	static
+	private VectorInstance createVectorInstance(Matrix<? extends Number> sv, String id, int row, BitSet featureMask, Double defaultValue){
+		PrimitiveMatrix<?> primitiveSv = null;
+
+		if(sv instanceof PrimitiveMatrix){
+			primitiveSv = (PrimitiveMatrix<?>)sv;
+		}
+
+		List<? extends Number> values = sv.getRowValues(row);
+
+		double doubleDefaultValue = defaultValue.doubleValue();
+
+		int numberOfUsedFeatures = 0;
+		int numberOfDefaultValues = 0;
+
+		for(int j = featureMask.nextSetBit(0); j > -1; j = featureMask.nextSetBit(j + 1)){
+			boolean isDefault;
+
+			if(primitiveSv != null){
+				isDefault = (primitiveSv.getDouble(row, j) == doubleDefaultValue);
+			} else
+
+			{
+				isDefault = ValueUtil.equals(values.get(j), defaultValue);
+			} // End if
+
+			if(isDefault){
+				numberOfDefaultValues++;
+			}
+
+			numberOfUsedFeatures++;
+		}
+
+		if(((double)numberOfDefaultValues / (double)numberOfUsedFeatures) >= 0.75d){
+			RealSparseArray sparseArray = new RealSparseArray()
+				.setN(numberOfUsedFeatures)
+				.setDefaultValue(defaultValue);
+
+			List<Integer> indices = sparseArray.getIndices();
+			List<Double> entries = sparseArray.getEntries();
+
+			int index = 1;
+
+			for(int j = featureMask.nextSetBit(0); j > -1; j = featureMask.nextSetBit(j + 1)){
+
+				if(primitiveSv != null){
+					double value = primitiveSv.getDouble(row, j);
+
+					if(value != doubleDefaultValue){
+						indices.add(index);
+						entries.add(value);
+					}
+				} else
+
+				{
+					Number value = values.get(j);
+
+					if(!ValueUtil.equals(value, defaultValue)){
+						indices.add(index);
+						entries.add(ValueUtil.asDouble(value));
+					}
+				}
+
+				index++;
+			}
+
+			return new VectorInstance(id, sparseArray, null);
+		} else
+
+		{
+			List<Number> denseValues = new ArrayList<>(numberOfUsedFeatures);
+
+			for(int j = featureMask.nextSetBit(0); j > -1; j = featureMask.nextSetBit(j + 1)){
+				denseValues.add(values.get(j));
+			}
+
+			return new VectorInstance(id, null, PMMLUtil.createRealArray(denseValues));
+		}
+	}
+
 	static
 	private <E> List<E> slice(List<E> list, int[] offsets, int index){
 		return list.subList(offsets[index], offsets[index + 1]);
 	}
+
+	static
+	private class FeatureMaskTask extends RecursiveTask<BitSet> {
+
+		private Matrix<? extends Number> sv = null;
+
+		private Double defaultValue = null;
+
+		private int fromRow = 0;
+
+		private int toRow = 0;
+
+
+		private FeatureMaskTask(Matrix<? extends Number> sv, Double defaultValue, int fromRow, int toRow){
+			this.sv = sv;
+			this.defaultValue = defaultValue;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+		}
+
+		@Override
+		protected BitSet compute(){
+
+			if((this.toRow - this.fromRow) <= LibSVMUtil.ROW_THRESHOLD){
+				return getFeatureMask(this.sv, this.defaultValue, this.fromRow, this.toRow);
+			}
+
+			int midRow = (this.fromRow + this.toRow) >>> 1;
+
+			FeatureMaskTask left = new FeatureMaskTask(this.sv, this.defaultValue, this.fromRow, midRow);
+			FeatureMaskTask right = new FeatureMaskTask(this.sv, this.defaultValue, midRow, this.toRow);
+
+			right.fork();
+
+			BitSet result = left.compute();
+			result.or(right.join());
+
+			return result;
+		}
+	}
+
+	static
+	private class VectorInstanceTask extends RecursiveAction {
+
+		private Matrix<? extends Number> sv = null;
+
+		private List<String> ids = null;
+
+		private BitSet featureMask = null;
+
+		private Double defaultValue = null;
+
+		private int fromRow = 0;
+
+		private int toRow = 0;
+
+		private VectorInstance[] result = null;
+
+
+		private VectorInstanceTask(Matrix<? extends Number> sv, List<String> ids, BitSet featureMask, Double defaultValue, int fromRow, int toRow, VectorInstance[] result){
+			this.sv = sv;
+			this.ids = ids;
+			this.featureMask = featureMask;
+			this.defaultValue = defaultValue;
+			this.fromRow = fromRow;
+			this.toRow = toRow;
+			this.result = result;
+		}
+
+		@Override
+		protected void compute(){
+
+			if((this.toRow - this.fromRow) <= LibSVMUtil.ROW_THRESHOLD){
+				createVectorInstances(this.sv, this.ids, this.featureMask, this.defaultValue, this.fromRow, this.toRow, this.result);
+
+				return;
+			}
+
+			int midRow = (this.fromRow + this.toRow) >>> 1;
+
+			invokeAll(
+				new VectorInstanceTask(this.sv, this.ids, this.featureMask, this.defaultValue, this.fromRow, midRow, this.result),
+				new VectorInstanceTask(this.sv, this.ids, this.featureMask, this.defaultValue, midRow, this.toRow, this.result)
+			);
+		}
+	}
+
+	private static final int ROW_THRESHOLD = 256;
 }
\ No newline at end of file
@@ -18,11 +18,18 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import jakarta.xml.bind.annotation.XmlAttribute;
 import org.dmg.pmml.PMMLObject;
@@ -34,12 +41,47 @@ import org.jpmml.model.visitors.AbstractVisitor;
  * <p>
  * A Visitor that sets redundant attribute values to <code>null</code>.
  * </p>
+ *
+ * <p>
+ * The reflective discovery of optional attributes is performed once per class.
+ * The resulting list of attribute accessors is cached, and applied to all objects of that class.
+ * </p>
  */
 public class AttributeCleaner extends AbstractVisitor {
 
 	@Override
 	public VisitorAction visit(PMMLObject object){
-		Map<Field, Method> getterMethods = ReflectionUtil.getGetterMethods(object.getClass());
+		List<AttributeAccessor> attributeAccessors = getAttributeAccessors(object.getClass());
+
+		for(int i = 0, max = attributeAccessors.size(); i < max; i++){
+			AttributeAccessor attributeAccessor = attributeAccessors.get(i);
+
+			attributeAccessor.clean(object);
+		}
+
+		return super.visit(object);
+	}
+
+	static
+	private List<AttributeAccessor> getAttributeAccessors(Class<? extends PMMLObject> clazz){
+		List<AttributeAccessor> result = AttributeCleaner.attributeAccessorCache.get(clazz);
+
+		if(result == null){
+			result = createAttributeAccessors(clazz);
+
+			AttributeCleaner.attributeAccessorCache.putIfAbsent(clazz, result);
+		}
+
+		return result;
+	}
+
+	static
+	private List<AttributeAccessor> createAttributeAccessors(Class<? extends PMMLObject> clazz){
+		List<AttributeAccessor> result = new ArrayList<>();
+
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+		Map<Field, Method> getterMethods = ReflectionUtil.getGetterMethods(clazz);
 
 		Collection<Map.Entry<Field, Method>> entries = getterMethods.entrySet();
 		for(Map.Entry<Field, Method> entry : entries){
@@ -51,21 +93,64 @@ public class AttributeCleaner extends AbstractVisitor {
 				continue;
 			}
 
-			Object fieldValue = ReflectionUtil.getFieldValue(field, object);
-			if(fieldValue != null){
-				Object getterMethodValue = ReflectionUtil.getGetterMethodValue(getterMethod, object);
+			field.setAccessible(true);
 
-				if(Objects.equals(fieldValue, getterMethodValue)){
-					ReflectionUtil.setFieldValue(field, object, null);
+			try {
+				MethodHandle fieldGetter = lookup.unreflectGetter(field)
+					.asType(MethodType.methodType(Object.class, PMMLObject.class));
+				MethodHandle fieldSetter = lookup.unreflectSetter(field)
+					.asType(MethodType.methodType(void.class, PMMLObject.class, Object.class));
+				MethodHandle getter = lookup.unreflect(getterMethod)
+					.asType(MethodType.methodType(Object.class, PMMLObject.class));
 
-					Object defaultGetterMethodValue = ReflectionUtil.getGetterMethodValue(getterMethod, object);
-					if(defaultGetterMethodValue == null || !Objects.equals(fieldValue, defaultGetterMethodValue)){
-						ReflectionUtil.setFieldValue(field, object, fieldValue);
+				result.add(new AttributeAccessor(fieldGetter, fieldSetter, getter));
+			} catch(ReflectiveOperationException roe){
+				throw new RuntimeException(roe);
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private class AttributeAccessor {
+
+		private MethodHandle fieldGetter = null;
+
+		private MethodHandle fieldSetter = null;
+
+		private MethodHandle getter = null;
+
+
+		private AttributeAccessor(MethodHandle fieldGetter, MethodHandle fieldSetter, MethodHandle getter){
+			this.fieldGetter = fieldGetter;
+			this.fieldSetter = fieldSetter;
+			this.getter = getter;
+		}
+
+		public void clean(PMMLObject object){
+
+			try {
+				Object fieldValue = (Object)this.fieldGetter.invokeExact(object);
+				if(fieldValue != null){
+					Object getterMethodValue = (Object)this.getter.invokeExact(object);
+
+					if(Objects.equals(fieldValue, getterMethodValue)){
+						this.fieldSetter.invokeExact(object, (Object)null);
+
+						Object defaultGetterMethodValue = (Object)this.getter.invokeExact(object);
+						if(defaultGetterMethodValue == null || !Objects.equals(fieldValue, defaultGetterMethodValue)){
+							this.fieldSetter.invokeExact(object, fieldValue);
+						}
 					}
 				}
+			} catch(RuntimeException | Error e){
+				throw e;
+			} catch(Throwable t){
+				throw new RuntimeException(t);
 			}
 		}
-
-		return super.visit(object);
 	}
+
+	private static final ConcurrentMap<Class<?>, List<AttributeAccessor>> attributeAccessorCache = new ConcurrentHashMap<>();
 }
\ No newline at end of file
@@ -18,6 +18,7 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -107,7 +108,12 @@ public class DataDictionaryCleaner extends ActiveFieldFinder {
 
 			Set<DataField> referencedDataFields = getReferencedDataFields();
 
+			List<DataField> removedDataFields = new ArrayList<>(dataFields);
+			removedDataFields.removeAll(referencedDataFields);
+
 			dataFields.retainAll(referencedDataFields);
+
+			removeFields(removedDataFields);
 		}
 	}
 
@@ -117,8 +123,8 @@ public class DataDictionaryCleaner extends ActiveFieldFinder {
 		Set<Field<?>> fields = new HashSet<>(getActiveFields());
 		fields.addAll(getNonActiveFields());
 
-		fieldDependencyResolver.expand(fields, fieldDependencyResolver.getLocalDerivedFields());
-		fieldDependencyResolver.expand(fields, fieldDependencyResolver.getGlobalDerivedFields());
+		fieldDependencyResolver.expand(fields, fieldDependencyResolver.getLocalDerivedFieldIds());
+		fieldDependencyResolver.expand(fields, fieldDependencyResolver.getGlobalDerivedFieldIds());
 
 		return (Set)fields;
 	}
@@ -18,6 +18,9 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.Collection;
+
+import org.dmg.pmml.Field;
 import org.dmg.pmml.Visitable;
 import org.jpmml.model.visitors.FieldResolver;
 
@@ -26,6 +29,8 @@ public class DeepFieldResolver extends FieldResolver {
 
 	private FieldDependencyResolver fieldDependencyResolver = null;
 
+	private FieldDependencyCache fieldDependencyCache = null;
+
 
 	@Override
 	public void reset(){
@@ -36,14 +41,39 @@ public class DeepFieldResolver extends FieldResolver {
 
 	@Override
 	public void applyTo(Visitable visitable){
-		FieldDependencyResolver fieldDependencyResolver = new FieldDependencyResolver();
-		fieldDependencyResolver.applyTo(visitable);
-
-		setFieldDependencyResolver(fieldDependencyResolver);
+		resolveFieldDependencies(visitable);
 
 		super.applyTo(visitable);
 	}
 
+	/**
+	 * <p>
+	 * Prepares this visitor for traversing the specified PMML class model.
+	 * </p>
+	 *
+	 * <p>
+	 * Must be called explicitly when this visitor is not applied directly, but as a part of a fused traversal.
+	 * </p>
+	 *
+	 * @see FusedVisitorBattery
+	 */
+	void resolveFieldDependencies(Visitable visitable){
+		FieldDependencyCache fieldDependencyCache = getFieldDependencyCache();
+
+		FieldDependencyResolver fieldDependencyResolver;
+
+		if(fieldDependencyCache != null){
+			fieldDependencyResolver = fieldDependencyCache.getFieldDependencyResolver(visitable);
+		} else
+
+		{
+			fieldDependencyResolver = new FieldDependencyResolver();
+			fieldDependencyResolver.applyTo(visitable);
+		}
+
+		setFieldDependencyResolver(fieldDependencyResolver);
+	}
+
 	public FieldDependencyResolver getFieldDependencyResolver(){
 
 		if(this.fieldDependencyResolver == null){
@@ -61,4 +91,38 @@ public class DeepFieldResolver extends FieldResolver {
 
 		this.fieldDependencyResolver = fieldDependencyResolver;
 	}
+
+	/**
+	 * <p>
+	 * Propagates the removal of field declarations to the shared field dependency graph (if any).
+	 * </p>
+	 */
+	protected void removeFields(Collection<? extends Field<?>> fields){
+		FieldDependencyCache fieldDependencyCache = getFieldDependencyCache();
+
+		if(fieldDependencyCache != null){
+			fieldDependencyCache.removeFields(fields);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Propagates the relocation of field declarations to the shared field dependency graph (if any).
+	 * </p>
+	 */
+	protected void invalidateFields(){
+		FieldDependencyCache fieldDependencyCache = getFieldDependencyCache();
+
+		if(fieldDependencyCache != null){
+			fieldDependencyCache.invalidate();
+		}
+	}
+
+	public FieldDependencyCache getFieldDependencyCache(){
+		return this.fieldDependencyCache;
+	}
+
+	public void setFieldDependencyCache(FieldDependencyCache fieldDependencyCache){
+		this.fieldDependencyCache = fieldDependencyCache;
+	}
 }
\ No newline at end of file
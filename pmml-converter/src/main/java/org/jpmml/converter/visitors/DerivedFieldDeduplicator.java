@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.dmg.pmml.DefineFunction;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.HasDerivedFields;
+import org.dmg.pmml.HasFieldReference;
+import org.dmg.pmml.LocalTransformations;
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.TransformationDictionary;
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.VisitorAction;
+import org.jpmml.converter.DerivedOutputField;
+import org.jpmml.converter.PMMLUtil;
+import org.jpmml.model.ReflectionUtil;
+import org.jpmml.model.visitors.AbstractVisitor;
+
+/**
+ * <p>
+ * A Visitor that merges structurally identical {@link DerivedField derived fields}.
+ * </p>
+ *
+ * <p>
+ * Derived fields are merged only within the same global or local transformation dictionary,
+ * and only if they differ by name alone.
+ * The first derived field in document order is kept.
+ * All field references to the other derived fields are redirected to it within the scope of the transformation dictionary.
+ * </p>
+ *
+ * <p>
+ * Candidate derived fields are grouped by the structural hash code of their expression,
+ * and then compared using {@link ReflectionUtil#equals(Object, Object)}.
+ * Merging is repeated until a fixed point, so that chains of duplicate derived fields collapse as well.
+ * </p>
+ *
+ * <p>
+ * The renamings are recorded per model, so that the owner of the PMML class model
+ * can rewrite any field references that it keeps outside of it (eg. decorators and feature importances).
+ * </p>
+ *
+ * @see #getFieldRenamings()
+ */
+public class DerivedFieldDeduplicator extends AbstractVisitor {
+
+	private Map<Model, Map<String, String>> fieldRenamings = new IdentityHashMap<>();
+
+
+	@Override
+	public VisitorAction visit(PMML pmml){
+		TransformationDictionary transformationDictionary = pmml.getTransformationDictionary();
+
+		if(transformationDictionary != null){
+			processDerivedFields(transformationDictionary, pmml);
+		}
+
+		return super.visit(pmml);
+	}
+
+	@Override
+	public VisitorAction visit(Model model){
+		LocalTransformations localTransformations = model.getLocalTransformations();
+
+		if(localTransformations != null){
+			processDerivedFields(localTransformations, model);
+		}
+
+		return super.visit(model);
+	}
+
+	private void processDerivedFields(HasDerivedFields<?> hasDerivedFields, Visitable scope){
+
+		while(hasDerivedFields.hasDerivedFields()){
+			Map<String, String> mappings = mergeDerivedFields(hasDerivedFields.getDerivedFields());
+
+			if(mappings.isEmpty()){
+				break;
+			}
+
+			FieldRenamer fieldRenamer = new FieldRenamer(mappings, this.fieldRenamings);
+			fieldRenamer.applyTo(scope);
+		}
+	}
+
+	/**
+	 * @return A mapping from models to the renamings of field references within them.
+	 * A renaming maps the name of a removed derived field to the name of the retained derived field.
+	 * Chained renamings have been collapsed.
+	 */
+	public Map<Model, Map<String, String>> getFieldRenamings(){
+		return this.fieldRenamings;
+	}
+
+	/**
+	 * @return A mapping from the names of removed derived fields to the names of retained derived fields.
+	 */
+	static
+	private Map<String, String> mergeDerivedFields(List<DerivedField> derivedFields){
+		Map<String, String> result = new LinkedHashMap<>();
+
+		Map<Integer, List<DerivedField>> hashCodeDerivedFields = new HashMap<>();
+
+		for(Iterator<DerivedField> it = derivedFields.iterator(); it.hasNext(); ){
+			DerivedField derivedField = it.next();
+
+			if(!isMergeable(derivedField)){
+				continue;
+			}
+
+			Integer hashCode = PMMLUtil.structuralHashCode(derivedField.requireExpression());
+
+			List<DerivedField> candidateDerivedFields = hashCodeDerivedFields.get(hashCode);
+			if(candidateDerivedFields == null){
+				candidateDerivedFields = new ArrayList<>();
+
+				hashCodeDerivedFields.put(hashCode, candidateDerivedFields);
+			}
+
+			DerivedField equivalentDerivedField = null;
+
+			for(DerivedField candidateDerivedField : candidateDerivedFields){
+
+				if(isEquivalent(candidateDerivedField, derivedField)){
+					equivalentDerivedField = candidateDerivedField;
+
+					break;
+				}
+			}
+
+			if(equivalentDerivedField != null){
+				it.remove();
+
+				result.put(derivedField.requireName(), equivalentDerivedField.requireName());
+			} else
+
+			{
+				candidateDerivedFields.add(derivedField);
+			}
+		}
+
+		return result;
+	}
+
+	static
+	private boolean isMergeable(DerivedField derivedField){
+
+		if(derivedField instanceof DerivedOutputField){
+			return false;
+		}
+
+		return !(derivedField.hasIntervals() || derivedField.hasValues() || derivedField.hasExtensions());
+	}
+
+	static
+	private boolean isEquivalent(DerivedField left, DerivedField right){
+		return Objects.equals(left.getOpType(), right.getOpType()) && Objects.equals(left.getDataType(), right.getDataType()) && Objects.equals(left.getDisplayName(), right.getDisplayName())
+			&& ReflectionUtil.equals(left.requireExpression(), right.requireExpression());
+	}
+
+	static
+	private class FieldRenamer extends AbstractVisitor {
+
+		private Map<String, String> mappings = null;
+
+		private Map<Model, Map<String, String>> fieldRenamings = null;
+
+
+		private FieldRenamer(Map<String, String> mappings, Map<Model, Map<String, String>> fieldRenamings){
+			this.mappings = mappings;
+			this.fieldRenamings = fieldRenamings;
+		}
+
+		@Override
+		public VisitorAction visit(Model model){
+			Map<String, String> modelFieldRenamings = this.fieldRenamings.get(model);
+
+			if(modelFieldRenamings == null){
+				modelFieldRenamings = new LinkedHashMap<>();
+
+				this.fieldRenamings.put(model, modelFieldRenamings);
+			}
+
+			Collection<Map.Entry<String, String>> entries = this.mappings.entrySet();
+			for(Map.Entry<String, String> entry : entries){
+				String name = entry.getKey();
+				String retainedName = entry.getValue();
+
+				// Collapse chains
+				modelFieldRenamings.replaceAll((key, value) -> Objects.equals(value, name) ? retainedName : value);
+
+				modelFieldRenamings.putIfAbsent(name, retainedName);
+			}
+
+			return super.visit(model);
+		}
+
+		@Override
+		public VisitorAction visit(DefineFunction defineFunction){
+			// Field references are resolved against parameter fields
+			return VisitorAction.SKIP;
+		}
+
+		@Override
+		public VisitorAction visit(MiningField miningField){
+			String name = this.mappings.get(miningField.requireName());
+
+			if(name != null){
+				miningField.setName(name);
+			}
+
+			return super.visit(miningField);
+		}
+
+		@Override
+		public VisitorAction visit(PMMLObject object){
+
+			if(object instanceof HasFieldReference){
+				HasFieldReference<?> hasFieldReference = (HasFieldReference<?>)object;
+
+				String field = hasFieldReference.getField();
+				if(field != null){
+					String name = this.mappings.get(field);
+
+					if(name != null){
+						hasFieldReference.setField(name);
+					}
+				}
+			}
+
+			return super.visit(object);
+		}
+	}
+}
\ No newline at end of file
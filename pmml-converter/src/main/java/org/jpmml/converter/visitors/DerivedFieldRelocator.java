@@ -266,8 +266,15 @@ public class DerivedFieldRelocator extends DeepFieldResolver {
 		};
 
 		indexer.applyTo(pmml);
+
+		if(derivedFieldScopes.isEmpty()){
+			return;
+		}
+
 		relocator.applyTo(pmml);
 		sorter.applyTo(pmml);
+
+		invalidateFields();
 	}
 
 	private Set<DerivedField> getActiveDerivedFields(Model model){
@@ -285,8 +292,8 @@ public class DerivedFieldRelocator extends DeepFieldResolver {
 
 		Set<Field<?>> activeDerivedFields = new HashSet<>();
 
-		activeDerivedFields.addAll(fieldDependencyResolver.expand(activeFields, fieldDependencyResolver.getLocalDerivedFields()));
-		activeDerivedFields.addAll(fieldDependencyResolver.expand(activeFields, fieldDependencyResolver.getGlobalDerivedFields()));
+		activeDerivedFields.addAll(fieldDependencyResolver.expand(activeFields, fieldDependencyResolver.getLocalDerivedFieldIds()));
+		activeDerivedFields.addAll(fieldDependencyResolver.expand(activeFields, fieldDependencyResolver.getGlobalDerivedFieldIds()));
 
 		return (Set)activeDerivedFields;
 	}
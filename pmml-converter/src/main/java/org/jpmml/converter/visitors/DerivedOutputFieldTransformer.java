@@ -34,6 +34,9 @@ import org.jpmml.model.visitors.AbstractVisitor;
 
 public class DerivedOutputFieldTransformer extends AbstractVisitor {
 
+	private FieldDependencyCache fieldDependencyCache = null;
+
+
 	@Override
 	public VisitorAction visit(LocalTransformations localTransformations){
 		processDerivedFields(localTransformations);
@@ -77,6 +80,19 @@ public class DerivedOutputFieldTransformer extends AbstractVisitor {
 					it.remove();
 				}
 			}
+
+			// Replacing DerivedField elements with OutputField elements changes field resolution
+			if(!indices.isEmpty() && this.fieldDependencyCache != null){
+				this.fieldDependencyCache.invalidate();
+			}
 		}
 	}
+
+	public FieldDependencyCache getFieldDependencyCache(){
+		return this.fieldDependencyCache;
+	}
+
+	public void setFieldDependencyCache(FieldDependencyCache fieldDependencyCache){
+		this.fieldDependencyCache = fieldDependencyCache;
+	}
 }
\ No newline at end of file
@@ -18,15 +18,21 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.Deque;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Objects;
 
 import org.dmg.pmml.Apply;
 import org.dmg.pmml.Constant;
+import org.dmg.pmml.DataType;
 import org.dmg.pmml.Expression;
+import org.dmg.pmml.HasExpression;
+import org.dmg.pmml.InvalidValueTreatmentMethod;
 import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.PMMLObject;
 import org.dmg.pmml.VisitorAction;
+import org.jpmml.converter.ExpressionUtil;
 import org.jpmml.model.InvalidElementException;
 import org.jpmml.model.visitors.AbstractVisitor;
 
@@ -58,6 +64,35 @@ public class ExpressionCompactor extends AbstractVisitor {
 		return super.visit(apply);
 	}
 
+	/**
+	 * <p>
+	 * Folds arithmetic expressions bottom-up, after all their arguments have been compacted.
+	 * </p>
+	 *
+	 * <p>
+	 * The folded expression replaces the original expression in the parent element.
+	 * The top-level expression of a traversal cannot be replaced.
+	 * </p>
+	 */
+	@Override
+	public PMMLObject popParent(){
+		PMMLObject parent = super.popParent();
+
+		if(parent instanceof Apply){
+			Apply apply = (Apply)parent;
+
+			Expression expression = foldArithmeticExpression(apply);
+
+			if(expression != apply){
+				Deque<PMMLObject> parents = getParents();
+
+				replaceExpression(parents.peekFirst(), apply, expression);
+			}
+		}
+
+		return parent;
+	}
+
 	static
 	private void simplifyComparisonExpression(Apply apply){
 		String function = apply.requireFunction();
@@ -155,6 +190,251 @@ public class ExpressionCompactor extends AbstractVisitor {
 		}
 	}
 
+	/**
+	 * <p>
+	 * Evaluates arithmetic expressions between numeric constants,
+	 * and eliminates arithmetic identities (<code>x + 0</code>, <code>0 + x</code>, <code>x - 0</code>, <code>x * 1</code> and <code>1 * x</code>).
+	 * Nested products of integer constants are combined (eg. <code>-1 * (-1 * x)</code> becomes <code>x</code>).
+	 * </p>
+	 *
+	 * <p>
+	 * PMML arithmetic functions return a missing value if any of their arguments is missing.
+	 * This is preserved by never folding away a non-constant argument (eg. <code>x * 0</code> is kept as-is),
+	 * and by skipping expressions that customize their missing or invalid value handling.
+	 * Identities are only eliminated for integer constants, because a floating-point constant would change the data type of the result.
+	 * </p>
+	 *
+	 * @return The folded expression, or the original expression.
+	 */
+	static
+	private Expression foldArithmeticExpression(Apply apply){
+		String function = apply.requireFunction();
+
+		switch(function){
+			case PMMLFunctions.ADD:
+			case PMMLFunctions.SUBTRACT:
+			case PMMLFunctions.MULTIPLY:
+			case PMMLFunctions.DIVIDE:
+				break;
+			default:
+				return apply;
+		}
+
+		List<Expression> expressions = apply.getExpressions();
+
+		if(expressions.size() != 2 || !hasDefaultValueTreatment(apply)){
+			return apply;
+		}
+
+		Expression left = expressions.get(0);
+		Expression right = expressions.get(1);
+
+		Number leftValue = getNumericValue(left);
+		Number rightValue = getNumericValue(right);
+
+		if(leftValue != null && rightValue != null){
+			Number value = evaluate(function, leftValue, rightValue);
+
+			if(value != null){
+				return ExpressionUtil.createConstant(value);
+			}
+
+			return apply;
+		}
+
+		switch(function){
+			case PMMLFunctions.ADD:
+				if(isInteger(leftValue, 0)){
+					return right;
+				} else
+
+				if(isInteger(rightValue, 0)){
+					return left;
+				}
+				break;
+			case PMMLFunctions.SUBTRACT:
+				if(isInteger(rightValue, 0)){
+					return left;
+				}
+				break;
+			case PMMLFunctions.MULTIPLY:
+				if(leftValue instanceof Integer){
+					return foldProduct(apply, (Integer)leftValue, right);
+				} else
+
+				if(rightValue instanceof Integer){
+					return foldProduct(apply, (Integer)rightValue, left);
+				}
+				break;
+			default:
+				break;
+		}
+
+		return apply;
+	}
+
+	static
+	private Expression foldProduct(Apply apply, Integer value, Expression expression){
+
+		if(expression instanceof Apply){
+			Apply nestedApply = (Apply)expression;
+
+			List<Expression> nestedExpressions = nestedApply.getExpressions();
+
+			if((PMMLFunctions.MULTIPLY).equals(nestedApply.requireFunction()) && nestedExpressions.size() == 2 && hasDefaultValueTreatment(nestedApply)){
+				Number nestedLeftValue = getNumericValue(nestedExpressions.get(0));
+				Number nestedRightValue = getNumericValue(nestedExpressions.get(1));
+
+				Integer nestedValue = null;
+
+				if(nestedLeftValue instanceof Integer && nestedRightValue == null){
+					nestedValue = (Integer)nestedLeftValue;
+					expression = nestedExpressions.get(1);
+				} else
+
+				if(nestedRightValue instanceof Integer && nestedLeftValue == null){
+					nestedValue = (Integer)nestedRightValue;
+					expression = nestedExpressions.get(0);
+				} // End if
+
+				if(nestedValue != null){
+					Integer product = (Integer)evaluate(PMMLFunctions.MULTIPLY, value, nestedValue);
+
+					if(product == null){
+						return apply;
+					}
+
+					value = product;
+
+					(apply.getExpressions()).clear();
+					apply.addExpressions(ExpressionUtil.createConstant(value), expression);
+				}
+			}
+		} // End if
+
+		if(isInteger(value, 1)){
+			return expression;
+		}
+
+		return apply;
+	}
+
+	static
+	private Number evaluate(String function, Number left, Number right){
+
+		if(left instanceof Integer && right instanceof Integer){
+
+			try {
+				switch(function){
+					case PMMLFunctions.ADD:
+						return Math.addExact(left.intValue(), right.intValue());
+					case PMMLFunctions.SUBTRACT:
+						return Math.subtractExact(left.intValue(), right.intValue());
+					case PMMLFunctions.MULTIPLY:
+						return Math.multiplyExact(left.intValue(), right.intValue());
+					default:
+						break;
+				}
+			} catch(ArithmeticException ae){
+				return null;
+			}
+		}
+
+		double leftValue = left.doubleValue();
+		double rightValue = right.doubleValue();
+
+		double value;
+
+		switch(function){
+			case PMMLFunctions.ADD:
+				value = (leftValue + rightValue);
+				break;
+			case PMMLFunctions.SUBTRACT:
+				value = (leftValue - rightValue);
+				break;
+			case PMMLFunctions.MULTIPLY:
+				value = (leftValue * rightValue);
+				break;
+			case PMMLFunctions.DIVIDE:
+				if(rightValue == 0d){
+					return null;
+				}
+				value = (leftValue / rightValue);
+				break;
+			default:
+				return null;
+		}
+
+		if(Double.isNaN(value) || Double.isInfinite(value)){
+			return null;
+		}
+
+		return value;
+	}
+
+	static
+	private boolean hasDefaultValueTreatment(Apply apply){
+		return (apply.getMapMissingTo() == null) && (apply.getDefaultValue() == null) && (apply.getInvalidValueTreatment() == InvalidValueTreatmentMethod.RETURN_INVALID);
+	}
+
+	/**
+	 * @return An {@link Integer} or {@link Double} value, or <code>null</code>.
+	 */
+	static
+	private Number getNumericValue(Expression expression){
+
+		if(expression instanceof Constant){
+			Constant constant = (Constant)expression;
+
+			if(constant.isMissing()){
+				return null;
+			}
+
+			DataType dataType = constant.getDataType();
+			Object value = constant.getValue();
+
+			if(value instanceof Integer && (dataType == null || dataType == DataType.INTEGER)){
+				return (Integer)value;
+			} else
+
+			if(value instanceof Double && (dataType == null || dataType == DataType.DOUBLE)){
+				return (Double)value;
+			}
+		}
+
+		return null;
+	}
+
+	static
+	private boolean isInteger(Number value, int expectedValue){
+		return (value instanceof Integer) && (value.intValue() == expectedValue);
+	}
+
+	static
+	private void replaceExpression(PMMLObject parent, Expression expression, Expression replacementExpression){
+
+		if(parent instanceof Apply){
+			Apply parentApply = (Apply)parent;
+
+			List<Expression> expressions = parentApply.getExpressions();
+
+			for(int i = 0; i < expressions.size(); i++){
+
+				if(expressions.get(i) == expression){
+					expressions.set(i, replacementExpression);
+				}
+			}
+		} else
+
+		if(parent instanceof HasExpression){
+			HasExpression<?> hasExpression = (HasExpression<?>)parent;
+
+			if(hasExpression.getExpression() == expression){
+				hasExpression.setExpression(replacementExpression);
+			}
+		}
+	}
+
 	static
 	private boolean isMissingConstant(Expression expression){
 
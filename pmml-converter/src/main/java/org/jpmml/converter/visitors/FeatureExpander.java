@@ -18,6 +18,7 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Deque;
@@ -105,23 +106,27 @@ public class FeatureExpander extends DeepFieldResolver {
 
 		Collection<Field<?>> featureFields = FieldUtil.selectAll(modelFields, features, true);
 
-		Map<String, DerivedField> localDerivedFields = Collections.emptyMap();
+		BitSet localDerivedFieldIds;
 
 		LocalTransformations localTransformations = model.getLocalTransformations();
 		if(localTransformations != null && localTransformations.hasDerivedFields()){
-			localDerivedFields = FieldUtil.nameMap(localTransformations.getDerivedFields());
-		} // End if
+			localDerivedFieldIds = fieldDependencyResolver.getIds(localTransformations.getDerivedFields());
+		} else
+
+		{
+			localDerivedFieldIds = new BitSet();
+		}
 
 		if(parentMiningModel != null){
 
-			if(localDerivedFields.isEmpty()){
+			if(localDerivedFieldIds.isEmpty()){
 				return;
 			}
 
-			featureFields.retainAll(localDerivedFields.values());
+			featureFields.removeIf(featureField -> !fieldDependencyResolver.containsId(localDerivedFieldIds, featureField));
 		}
 
-		Map<String, DerivedField> globalDerivedFields = FieldUtil.nameMap(fieldDependencyResolver.getGlobalDerivedFields());
+		BitSet globalDerivedFieldIds = fieldDependencyResolver.getGlobalDerivedFieldIds();
 
 		Map<String, Set<Field<?>>> expandedFields;
 
@@ -167,11 +172,11 @@ public class FeatureExpander extends DeepFieldResolver {
 					};
 					visitor.applyTo(segmentation);
 
-					fieldDependencyResolver.expand(expandedFeatureFields, extraLocalDerivedFields);
+					fieldDependencyResolver.expand(expandedFeatureFields, fieldDependencyResolver.getIds(extraLocalDerivedFields));
 				}
 
-				fieldDependencyResolver.expand(expandedFeatureFields, new HashSet<>(localDerivedFields.values()));
-				fieldDependencyResolver.expand(expandedFeatureFields, new HashSet<>(globalDerivedFields.values()));
+				fieldDependencyResolver.expand(expandedFeatureFields, localDerivedFieldIds);
+				fieldDependencyResolver.expand(expandedFeatureFields, globalDerivedFieldIds);
 
 				expandedFields.put(name, expandedFeatureFields);
 			} else
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.Collection;
+
+import org.dmg.pmml.Field;
+import org.dmg.pmml.Visitable;
+
+/**
+ * <p>
+ * A field dependency graph that is shared between a sequence of visitors.
+ * </p>
+ *
+ * <p>
+ * The graph is built on first request, and then kept up to date by visitors that remove or relocate field declarations.
+ * Removals are patched into the graph in place.
+ * Relocations invalidate the graph, so that it gets rebuilt on next request.
+ * </p>
+ *
+ * @see DeepFieldResolver#setFieldDependencyCache(FieldDependencyCache)
+ */
+public class FieldDependencyCache {
+
+	private Visitable visitable = null;
+
+	private FieldDependencyResolver fieldDependencyResolver = null;
+
+
+	public FieldDependencyResolver getFieldDependencyResolver(Visitable visitable){
+
+		if(this.fieldDependencyResolver == null || this.visitable != visitable){
+			FieldDependencyResolver fieldDependencyResolver = new FieldDependencyResolver();
+			fieldDependencyResolver.applyTo(visitable);
+
+			this.visitable = visitable;
+			this.fieldDependencyResolver = fieldDependencyResolver;
+		}
+
+		return this.fieldDependencyResolver;
+	}
+
+	public boolean isValid(Visitable visitable){
+		return (this.fieldDependencyResolver != null) && (this.visitable == visitable);
+	}
+
+	/**
+	 * <p>
+	 * Notifies about field declarations that have been removed from the PMML class model.
+	 * </p>
+	 */
+	public void removeFields(Collection<? extends Field<?>> fields){
+
+		if(this.fieldDependencyResolver != null && !fields.isEmpty()){
+			this.fieldDependencyResolver.removeFields(fields);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Notifies about field declarations that have been added or moved to a different scope.
+	 * </p>
+	 */
+	public void invalidate(){
+		this.visitable = null;
+		this.fieldDependencyResolver = null;
+	}
+}
\ No newline at end of file
@@ -18,11 +18,14 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -50,6 +53,8 @@ public class FieldDependencyResolver extends FieldResolver {
 
 	private Map<Field<?>, Set<Field<?>>> dependencies = new IdentityHashMap<>();
 
+	private Map<Field<?>, Integer> ids = new IdentityHashMap<>();
+
 	private Set<DataField> dataFields = new HashSet<>();
 
 	private Set<DerivedField> globalDerivedFields = new HashSet<>();
@@ -58,6 +63,10 @@ public class FieldDependencyResolver extends FieldResolver {
 
 	private Set<OutputField> outputFields = new HashSet<>();
 
+	private BitSet globalDerivedFieldIds = null;
+
+	private BitSet localDerivedFieldIds = null;
+
 
 	@Override
 	public void reset(){
@@ -65,10 +74,15 @@ public class FieldDependencyResolver extends FieldResolver {
 
 		this.dependencies.clear();
 
+		this.ids.clear();
+
 		this.dataFields.clear();
 		this.globalDerivedFields.clear();
 		this.localDerivedFields.clear();
 		this.outputFields.clear();
+
+		this.globalDerivedFieldIds = null;
+		this.localDerivedFieldIds = null;
 	}
 
 	@Override
@@ -104,6 +118,8 @@ public class FieldDependencyResolver extends FieldResolver {
 
 		if(localTransformations.hasDerivedFields()){
 			this.localDerivedFields.addAll(localTransformations.getDerivedFields());
+
+			this.localDerivedFieldIds = null;
 		}
 
 		return super.visit(localTransformations);
@@ -131,6 +147,8 @@ public class FieldDependencyResolver extends FieldResolver {
 
 		if(transformationDictionary.hasDerivedFields()){
 			this.globalDerivedFields.addAll(transformationDictionary.getDerivedFields());
+
+			this.globalDerivedFieldIds = null;
 		}
 
 		return super.visit(transformationDictionary);
@@ -171,43 +189,165 @@ public class FieldDependencyResolver extends FieldResolver {
 		return this.outputFields;
 	}
 
+	BitSet getGlobalDerivedFieldIds(){
+
+		if(this.globalDerivedFieldIds == null){
+			this.globalDerivedFieldIds = getIds(this.globalDerivedFields);
+		}
+
+		return this.globalDerivedFieldIds;
+	}
+
+	BitSet getLocalDerivedFieldIds(){
+
+		if(this.localDerivedFieldIds == null){
+			this.localDerivedFieldIds = getIds(this.localDerivedFields);
+		}
+
+		return this.localDerivedFieldIds;
+	}
+
+	/**
+	 * @return The ids of fields. Fields that have not been traversed are ignored.
+	 */
+	BitSet getIds(Collection<? extends Field<?>> fields){
+		BitSet result = new BitSet(this.ids.size());
+
+		for(Field<?> field : fields){
+			int id = findId(field);
+
+			if(id > -1){
+				result.set(id);
+			}
+		}
+
+		return result;
+	}
+
+	boolean containsId(BitSet ids, Field<?> field){
+		int id = findId(field);
+
+		return (id > -1) && ids.get(id);
+	}
+
+	void removeFields(Collection<? extends Field<?>> fields){
+
+		for(Field<?> field : fields){
+			this.dependencies.remove(field);
+
+			if(field instanceof DataField){
+				this.dataFields.remove(field);
+			} else
+
+			if(field instanceof DerivedField){
+				this.globalDerivedFields.remove(field);
+				this.localDerivedFields.remove(field);
+			} else
+
+			if(field instanceof OutputField){
+				this.outputFields.remove(field);
+			}
+		}
+
+		this.globalDerivedFieldIds = null;
+		this.localDerivedFieldIds = null;
+	}
+
+	/**
+	 * <p>
+	 * Replaces expandable fields with their dependencies, transitively.
+	 * </p>
+	 *
+	 * <p>
+	 * Every expandable field is expanded at most once, which makes the expansion linear in the size of the field dependency graph,
+	 * and safe against arbitrarily deep (or cyclic) field dependency chains.
+	 * The iteration order of the resulting set is the same as that of a naive level-by-level fixpoint iteration.
+	 * </p>
+	 *
+	 * @param fields The fields to expand. Modified in place.
+	 * @param expandableFields The fields that should be replaced.
+	 *
+	 * @return The fields that were replaced.
+	 */
 	public Set<Field<?>> expand(Set<Field<?>> fields, Set<? extends Field<?>> expandableFields){
-		Set<Field<?>> removableFields = new LinkedHashSet<>();
+		return expand(fields, getIds(expandableFields));
+	}
+
+	/**
+	 * @param expandableIds The ids of fields that should be replaced.
+	 *
+	 * @see #expand(Set, Set)
+	 */
+	Set<Field<?>> expand(Set<Field<?>> fields, BitSet expandableIds){
 		Set<Field<?>> expandedFields = new LinkedHashSet<>();
 
-		for(int i = 0; true; i++){
+		List<Field<?>> queue = new ArrayList<>();
 
-			if(i > FieldDependencyResolver.MAX_STACK_HEIGHT){
-				throw new IllegalStateException();
+		for(Field<?> field : fields){
+
+			if(containsId(expandableIds, field)){
+				queue.add(field);
 			}
+		}
 
-			removableFields.clear();
+		if(queue.isEmpty()){
+			return expandedFields;
+		}
 
-			for(Field<?> field : fields){
+		BitSet expandedIds = new BitSet(this.ids.size());
 
-				if(expandableFields.contains(field)){
-					removableFields.add(field);
-				}
-			}
+		for(int i = 0; i < queue.size(); i++){
+			Field<?> field = queue.get(i);
+
+			int id = getId(field);
 
-			if(removableFields.isEmpty()){
-				break;
+			if(expandedIds.get(id)){
+				continue;
 			}
 
-			for(Field<?> removableField : removableFields){
-				Set<Field<?>> dependencies = getDependencies(removableField);
+			expandedIds.set(id);
+
+			Set<Field<?>> dependencies = getDependencies(field);
+
+			for(Field<?> dependency : dependencies){
 
-				fields.addAll(dependencies);
+				if(containsId(expandableIds, dependency)){
+					queue.add(dependency);
+				} else
+
+				{
+					fields.add(dependency);
+				}
 			}
 
-			fields.removeAll(removableFields);
+			fields.remove(field);
 
-			expandedFields.addAll(removableFields);
+			expandedFields.add(field);
 		}
 
 		return expandedFields;
 	}
 
+	private int getId(Field<?> field){
+		int id = findId(field);
+
+		if(id < 0){
+			throw new IllegalArgumentException();
+		}
+
+		return id;
+	}
+
+	private int findId(Field<?> field){
+		Integer id = this.ids.get(field);
+
+		if(id == null){
+			return -1;
+		}
+
+		return id;
+	}
+
 	private void process(Field<?> field){
 		Set<Field<?>> activeFields = Collections.emptySet();
 
@@ -228,7 +368,17 @@ public class FieldDependencyResolver extends FieldResolver {
 		}
 
 		this.dependencies.put(field, activeFields);
+
+		Integer id = this.ids.putIfAbsent(field, this.ids.size());
+		if(id == null && (field instanceof DerivedField)){
+			this.globalDerivedFieldIds = null;
+			this.localDerivedFieldIds = null;
+		}
 	}
 
+	/**
+	 * @deprecated Field dependency chains are no longer limited in height.
+	 */
+	@Deprecated
 	public static int MAX_STACK_HEIGHT = 50;
 }
\ No newline at end of file
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.jpmml.model.visitors.AbstractVisitor;
+
+/**
+ * <p>
+ * A Visitor that dispatches a single traversal to a list of visitors.
+ * </p>
+ *
+ * <p>
+ * Every visitor observes exactly the same sequence of callbacks as it would during a standalone traversal.
+ * If a visitor skips an element, then it is suspended until the traversal leaves that element.
+ * If a visitor terminates, then it is only notified about leaving the elements that it had already entered.
+ * </p>
+ *
+ * <p>
+ * All type-specific callbacks arrive at {@link #visit(PMMLObject)}, and are forwarded to the type-specific <code>visit</code> method of every visitor.
+ * The forwarding method handle is looked up once per class.
+ * Visited elements are counted along the way.
+ * </p>
+ *
+ * <p>
+ * Every visitor maintains its own parent stack, which does not contain the elements that were entered while the visitor was suspended or terminated.
+ * The parent stack of this visitor always contains all the elements that have been entered.
+ * </p>
+ */
+class FusedVisitor extends AbstractVisitor {
+
+	private List<Visitor> visitors = null;
+
+	private int[] suspendedDepths = null;
+
+	private int[] terminatedDepths = null;
+
+	private Set<?> excludedObjects = null;
+
+	private long visitCount = 0L;
+
+
+	private FusedVisitor(List<? extends Visitor> visitors, Set<?> excludedObjects){
+		this.visitors = new ArrayList<>(visitors);
+		this.excludedObjects = excludedObjects;
+
+		if(this.visitors.isEmpty()){
+			throw new IllegalArgumentException();
+		}
+
+		this.suspendedDepths = new int[this.visitors.size()];
+		this.terminatedDepths = new int[this.visitors.size()];
+
+		Arrays.fill(this.suspendedDepths, -1);
+		Arrays.fill(this.terminatedDepths, -1);
+	}
+
+	@Override
+	public VisitorAction visit(PMMLObject object){
+
+		if(this.excludedObjects != null && this.excludedObjects.contains(object)){
+			return VisitorAction.SKIP;
+		}
+
+		this.visitCount++;
+
+		MethodHandle visitMethod = getVisitMethod(object.getClass());
+
+		int depth = (getParents()).size();
+
+		boolean active = false;
+
+		for(int i = 0, max = this.visitors.size(); i < max; i++){
+
+			if(this.terminatedDepths[i] > -1 || this.suspendedDepths[i] > -1){
+				continue;
+			}
+
+			Visitor visitor = this.visitors.get(i);
+
+			VisitorAction action;
+
+			try {
+				action = (VisitorAction)visitMethod.invokeExact(visitor, object);
+			} catch(RuntimeException | Error e){
+				throw e;
+			} catch(Throwable t){
+				throw new RuntimeException(t);
+			}
+
+			switch(action){
+				case CONTINUE:
+					active = true;
+					break;
+				case SKIP:
+					this.suspendedDepths[i] = depth;
+					break;
+				case TERMINATE:
+					this.terminatedDepths[i] = depth;
+					break;
+				default:
+					throw new IllegalArgumentException();
+			}
+		}
+
+		if(active){
+			return VisitorAction.CONTINUE;
+		}
+
+		// The element will not be entered, so there will be no matching popParent() call
+		for(int i = 0, max = this.visitors.size(); i < max; i++){
+
+			if(this.suspendedDepths[i] == depth){
+				this.suspendedDepths[i] = -1;
+			}
+		}
+
+		for(int i = 0, max = this.visitors.size(); i < max; i++){
+
+			if(this.terminatedDepths[i] < 0){
+				return VisitorAction.SKIP;
+			}
+		}
+
+		return VisitorAction.TERMINATE;
+	}
+
+	@Override
+	public void pushParent(PMMLObject parent){
+
+		for(int i = 0, max = this.visitors.size(); i < max; i++){
+
+			if(this.terminatedDepths[i] > -1 || this.suspendedDepths[i] > -1){
+				continue;
+			}
+
+			Visitor visitor = this.visitors.get(i);
+
+			visitor.pushParent(parent);
+		}
+
+		super.pushParent(parent);
+	}
+
+	@Override
+	public PMMLObject popParent(){
+		PMMLObject parent = super.popParent();
+
+		int depth = (getParents()).size();
+
+		for(int i = 0, max = this.visitors.size(); i < max; i++){
+			Visitor visitor = this.visitors.get(i);
+
+			if(this.terminatedDepths[i] > -1){
+
+				if(depth < this.terminatedDepths[i]){
+					visitor.popParent();
+
+					this.terminatedDepths[i] = depth;
+				}
+			} else
+
+			if(this.suspendedDepths[i] > -1){
+
+				if(this.suspendedDepths[i] == depth){
+					this.suspendedDepths[i] = -1;
+				}
+			} else
+
+			{
+				visitor.popParent();
+			}
+		}
+
+		return parent;
+	}
+
+	@Override
+	public String toString(){
+		return "FusedVisitor" + this.visitors;
+	}
+
+	/**
+	 * @return The number of elements that were visited.
+	 */
+	static
+	public long applyTo(List<? extends Visitor> visitors, Visitable visitable){
+		return applyTo(visitors, null, visitable);
+	}
+
+	/**
+	 * @param excludedObjects Elements that are skipped, without notifying any of the visitors.
+	 *
+	 * @return The number of elements that were visited, not counting excluded elements.
+	 */
+	static
+	public long applyTo(List<? extends Visitor> visitors, Set<?> excludedObjects, Visitable visitable){
+		FusedVisitor fusedVisitor = new FusedVisitor(visitors, excludedObjects);
+
+		fusedVisitor.applyTo(visitable);
+
+		return fusedVisitor.visitCount;
+	}
+
+	static
+	private MethodHandle getVisitMethod(Class<? extends PMMLObject> clazz){
+		MethodHandle result = FusedVisitor.visitMethodCache.get(clazz);
+
+		if(result == null){
+			result = createVisitMethod(clazz);
+
+			FusedVisitor.visitMethodCache.putIfAbsent(clazz, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Finds the <code>Visitor#visit</code> method that the <code>accept</code> method of the specified class invokes,
+	 * which is the one that takes the most specific (super)class as an argument.
+	 * </p>
+	 */
+	static
+	private MethodHandle createVisitMethod(Class<? extends PMMLObject> clazz){
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+		for(Class<?> argClazz = clazz; argClazz != null; argClazz = argClazz.getSuperclass()){
+			MethodHandle visitMethod;
+
+			try {
+				visitMethod = lookup.findVirtual(Visitor.class, "visit", MethodType.methodType(VisitorAction.class, argClazz));
+			} catch(NoSuchMethodException nsme){
+				continue;
+			} catch(IllegalAccessException iae){
+				throw new RuntimeException(iae);
+			}
+
+			return visitMethod.asType(MethodType.methodType(VisitorAction.class, Visitor.class, PMMLObject.class));
+		}
+
+		throw new IllegalArgumentException(clazz.getName());
+	}
+
+	private static final ConcurrentMap<Class<?>, MethodHandle> visitMethodCache = new ConcurrentHashMap<>();
+}
\ No newline at end of file
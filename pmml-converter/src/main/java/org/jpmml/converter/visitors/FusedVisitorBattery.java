@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.Visitor;
+import org.jpmml.model.visitors.VisitorBattery;
+
+/**
+ * <p>
+ * A Visitor battery that applies compatible visitors during a shared traversal.
+ * </p>
+ *
+ * <p>
+ * Visitors that are added using {@link #add(Object)} are applied one by one, as usual.
+ * Visitors that are added using {@link #addFusible(Class, Class[])} are grouped together with immediately preceding fusible visitors into a single pass,
+ * except when the pass already contains some of their prerequisite visitors.
+ * </p>
+ *
+ * <p>
+ * A visitor is fusible if it does not depend on the effects of other visitors in the same pass,
+ * beyond the effects on elements that have been fully traversed.
+ * </p>
+ */
+public class FusedVisitorBattery extends VisitorBattery {
+
+	private Map<Class<? extends Visitor>, Set<Class<? extends Visitor>>> prerequisites = new HashMap<>();
+
+
+	/**
+	 * @param prerequisiteClazzes Visitors that must have completed before the specified visitor starts.
+	 */
+	@SafeVarargs
+	public final void addFusible(Class<? extends Visitor> visitorClazz, Class<? extends Visitor>... prerequisiteClazzes){
+		List<Class<? extends Visitor>> prerequisiteClazzList = Arrays.asList(prerequisiteClazzes);
+
+		for(Class<? extends Visitor> prerequisiteClazz : prerequisiteClazzList){
+
+			if(!contains(prerequisiteClazz)){
+				throw new IllegalArgumentException("Prerequisite visitor " + prerequisiteClazz.getName() + " has not been added");
+			}
+		}
+
+		add(visitorClazz);
+
+		this.prerequisites.put(visitorClazz, new LinkedHashSet<>(prerequisiteClazzList));
+	}
+
+	public boolean isFusible(Class<? extends Visitor> visitorClazz){
+		return this.prerequisites.containsKey(visitorClazz);
+	}
+
+	@Override
+	public void applyTo(Visitable visitable){
+		List<List<Class<? extends Visitor>>> passes = getPasses();
+
+		for(List<Class<? extends Visitor>> pass : passes){
+			List<Visitor> visitors = new ArrayList<>();
+
+			for(Class<? extends Visitor> visitorClazz : pass){
+				Visitor visitor = createVisitor(visitorClazz);
+
+				visitors.add(visitor);
+			}
+
+			applyPass(visitors, visitable);
+		}
+	}
+
+	protected Visitor createVisitor(Class<? extends Visitor> visitorClazz){
+
+		try {
+			return (visitorClazz.getDeclaredConstructor()).newInstance();
+		} catch(ReflectiveOperationException roe){
+			throw new RuntimeException(roe);
+		}
+	}
+
+	/**
+	 * <p>
+	 * Groups visitors into passes.
+	 * </p>
+	 */
+	public List<List<Class<? extends Visitor>>> getPasses(){
+		List<List<Class<? extends Visitor>>> result = new ArrayList<>();
+
+		List<Class<? extends Visitor>> pass = null;
+
+		List<Class<? extends Visitor>> visitorClazzes = this;
+		for(Class<? extends Visitor> visitorClazz : visitorClazzes){
+			Set<Class<? extends Visitor>> prerequisiteClazzes = this.prerequisites.get(visitorClazz);
+
+			boolean fusible = (pass != null) && (prerequisiteClazzes != null) && isFusible(pass.get(0)) && Collections.disjoint(pass, prerequisiteClazzes);
+			if(!fusible){
+				pass = new ArrayList<>();
+
+				result.add(pass);
+			}
+
+			pass.add(visitorClazz);
+		}
+
+		return result;
+	}
+
+	/**
+	 * <p>
+	 * Applies a group of visitors during a single traversal.
+	 * </p>
+	 */
+	protected void applyPass(List<Visitor> visitors, Visitable visitable){
+
+		if(visitors.size() == 1){
+			Visitor visitor = visitors.get(0);
+
+			visitor.applyTo(visitable);
+
+			return;
+		}
+
+		applyCountedPass(visitors, visitable);
+	}
+
+	/**
+	 * <p>
+	 * Applies a group of visitors during a single traversal, and counts the elements that were visited.
+	 * </p>
+	 *
+	 * <p>
+	 * The traversal is dispatched to visitors the same way as for fused visitors, even if there is only one visitor in the group.
+	 * The <code>applyTo(Visitable)</code> method of a visitor is not called.
+	 * </p>
+	 *
+	 * @return The number of elements that were visited.
+	 */
+	protected long applyCountedPass(List<Visitor> visitors, Visitable visitable){
+
+		for(Visitor visitor : visitors){
+
+			if(visitor instanceof DeepFieldResolver){
+				DeepFieldResolver deepFieldResolver = (DeepFieldResolver)visitor;
+
+				deepFieldResolver.resolveFieldDependencies(visitable);
+			}
+		}
+
+		return FusedVisitor.applyTo(visitors, visitable);
+	}
+}
\ No newline at end of file
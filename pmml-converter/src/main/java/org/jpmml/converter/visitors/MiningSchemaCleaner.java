@@ -118,11 +118,11 @@ public class MiningSchemaCleaner extends DeepFieldResolver {
 	private void expandDerivedFields(Model model, Set<Field<?>> fields){
 		FieldDependencyResolver fieldDependencyResolver = getFieldDependencyResolver();
 
-		fieldDependencyResolver.expand(fields, fieldDependencyResolver.getGlobalDerivedFields());
+		fieldDependencyResolver.expand(fields, fieldDependencyResolver.getGlobalDerivedFieldIds());
 
 		LocalTransformations localTransformations = model.getLocalTransformations();
 		if(localTransformations != null && localTransformations.hasDerivedFields()){
-			fieldDependencyResolver.expand(fields, new HashSet<>(localTransformations.getDerivedFields()));
+			fieldDependencyResolver.expand(fields, fieldDependencyResolver.getIds(localTransformations.getDerivedFields()));
 		}
 	}
 
@@ -18,11 +18,56 @@
  */
 package org.jpmml.converter.visitors;
 
-import org.jpmml.model.visitors.VisitorBattery;
+import java.util.Collections;
+import java.util.Map;
+
+import org.dmg.pmml.Model;
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.Visitor;
+
+/**
+ * <p>
+ * A Visitor battery that cleans a freshly encoded PMML class model.
+ * </p>
+ *
+ * <p>
+ * Field dependency-aware visitors share a single {@link FieldDependencyCache field dependency graph},
+ * which is rebuilt only after some visitor has actually relocated or replaced field declarations.
+ * </p>
+ *
+ * <p>
+ * Visitors that only prune their "own" elements (and do not move elements around) share the final traversal.
+ * </p>
+ *
+ * <p>
+ * The merging of structurally identical derived fields is opt-in.
+ * It renames field references within the PMML class model only.
+ * The renamings are made available via {@link #getFieldRenamings()}, so that the caller can rewrite its own field references.
+ * </p>
+ *
+ * @see DerivedFieldDeduplicator
+ */
+public class ModelCleanerBattery extends FusedVisitorBattery {
+
+	private FieldDependencyCache fieldDependencyCache = new FieldDependencyCache();
+
+	private DerivedFieldDeduplicator derivedFieldDeduplicator = null;
 
-public class ModelCleanerBattery extends VisitorBattery {
 
 	public ModelCleanerBattery(){
+		this(false);
+	}
+
+	/**
+	 * @param deduplicateDerivedFields <code>true</code> if derived fields that differ by name alone should be merged, <code>false</code> otherwise.
+	 */
+	public ModelCleanerBattery(boolean deduplicateDerivedFields){
+
+		// DerivedField elements that differ by name alone
+		if(deduplicateDerivedFields){
+			add(DerivedFieldDeduplicator.class);
+		}
+
 		// DataField and DerivedField elements
 		add(TransformationDictionaryCleaner.class);
 		add(DerivedFieldRelocator.class);
@@ -38,12 +83,72 @@ public class ModelCleanerBattery extends VisitorBattery {
 		 */
 
 		// DefineFunction elements
-		add(FunctionDictionaryCleaner.class);
+		addFusible(FunctionDictionaryCleaner.class, TransformationDictionaryCleaner.class, DerivedOutputFieldTransformer.class);
 
-		add(MiningSchemaCleaner.class);
-		add(ModelVerificationCleaner.class);
+		addFusible(MiningSchemaCleaner.class, TransformationDictionaryCleaner.class, DerivedFieldRelocator.class, DataDictionaryCleaner.class, DerivedOutputFieldTransformer.class);
+		addFusible(ModelVerificationCleaner.class, DerivedOutputFieldTransformer.class);
 
 		// Field container elements
-		add(ModelCleaner.class);
+		addFusible(ModelCleaner.class, TransformationDictionaryCleaner.class, DerivedFieldRelocator.class, DerivedOutputFieldTransformer.class);
+	}
+
+	@Override
+	public void applyTo(Visitable visitable){
+		FieldDependencyCache fieldDependencyCache = getFieldDependencyCache();
+
+		fieldDependencyCache.invalidate();
+
+		this.derivedFieldDeduplicator = null;
+
+		super.applyTo(visitable);
+	}
+
+	@Override
+	protected Visitor createVisitor(Class<? extends Visitor> visitorClazz){
+		FieldDependencyCache fieldDependencyCache = getFieldDependencyCache();
+
+		Visitor visitor = super.createVisitor(visitorClazz);
+
+		if(visitor instanceof DerivedFieldDeduplicator){
+			this.derivedFieldDeduplicator = (DerivedFieldDeduplicator)visitor;
+		} else
+
+		if(visitor instanceof DeepFieldResolver){
+			DeepFieldResolver deepFieldResolver = (DeepFieldResolver)visitor;
+
+			deepFieldResolver.setFieldDependencyCache(fieldDependencyCache);
+		} else
+
+		if(visitor instanceof DerivedOutputFieldTransformer){
+			DerivedOutputFieldTransformer derivedOutputFieldTransformer = (DerivedOutputFieldTransformer)visitor;
+
+			derivedOutputFieldTransformer.setFieldDependencyCache(fieldDependencyCache);
+		}
+
+		return visitor;
+	}
+
+	/**
+	 * <p>
+	 * The field dependency graph is valid after the last {@link #applyTo(Visitable)} call,
+	 * and may be reused by follow-up field dependency-aware visitors such as {@link FeatureExpander}.
+	 * </p>
+	 */
+	public FieldDependencyCache getFieldDependencyCache(){
+		return this.fieldDependencyCache;
+	}
+
+	/**
+	 * @return The field renamings of the last {@link #applyTo(Visitable)} call.
+	 *
+	 * @see DerivedFieldDeduplicator#getFieldRenamings()
+	 */
+	public Map<Model, Map<String, String>> getFieldRenamings(){
+
+		if(this.derivedFieldDeduplicator == null){
+			return Collections.emptyMap();
+		}
+
+		return this.derivedFieldDeduplicator.getFieldRenamings();
 	}
 }
\ No newline at end of file
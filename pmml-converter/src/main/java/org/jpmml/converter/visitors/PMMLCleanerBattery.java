@@ -18,14 +18,12 @@
  */
 package org.jpmml.converter.visitors;
 
-import org.jpmml.model.visitors.VisitorBattery;
-
-public class PMMLCleanerBattery extends VisitorBattery {
+public class PMMLCleanerBattery extends FusedVisitorBattery {
 
 	public PMMLCleanerBattery(){
-		add(AttributeCleaner.class);
+		addFusible(AttributeCleaner.class);
 
 		// Field container elements
-		add(PMMLCleaner.class);
+		addFusible(PMMLCleaner.class);
 	}
 }
\ No newline at end of file
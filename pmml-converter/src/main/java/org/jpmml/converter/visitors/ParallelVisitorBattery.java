@@ -0,0 +1,343 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.dmg.pmml.PMMLObject;
+import org.dmg.pmml.Visitable;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.mining.Segment;
+import org.jpmml.model.visitors.AbstractVisitor;
+import org.jpmml.model.visitors.VisitorBattery;
+
+/**
+ * <p>
+ * A Visitor battery that processes the segments of ensemble models in parallel.
+ * </p>
+ *
+ * <p>
+ * The PMML class model is split into the "skeleton" (everything but segments) and segment subtrees.
+ * The skeleton is processed first, and then all segment subtrees are processed as independent fork-join tasks.
+ * Nested segmentations are split recursively.
+ * Every task applies all visitors in order, using fresh visitor instances.
+ * The segments of a subtree are skipped during its processing, so the PMML class model is never restructured for the purpose of splitting it.
+ * </p>
+ *
+ * <p>
+ * This is only applicable to visitors that read and modify state that is local to the subtree being traversed.
+ * For such visitors, the result is identical to that of the sequential {@link VisitorBattery}.
+ * Visitors that resolve field references, or collect information across segments, are not eligible.
+ * </p>
+ *
+ * <p>
+ * Elements that are shared between several locations (eg. interned predicates and score distributions) are not local to any subtree.
+ * They are detected by a preliminary traversal, which is split into fork-join tasks in the same way.
+ * They are processed once, serially, before forking, and are skipped during the parallel processing of subtrees.
+ * Eligible visitors must therefore not depend on the location of shared elements.
+ * </p>
+ */
+public class ParallelVisitorBattery extends VisitorBattery {
+
+	private ForkJoinPool forkJoinPool = null;
+
+
+	public ParallelVisitorBattery(){
+		this(ForkJoinPool.commonPool());
+	}
+
+	public ParallelVisitorBattery(ForkJoinPool forkJoinPool){
+		setForkJoinPool(forkJoinPool);
+	}
+
+	@Override
+	public void applyTo(Visitable visitable){
+		ForkJoinPool forkJoinPool = getForkJoinPool();
+
+		if(isEmpty()){
+			return;
+		}
+
+		Set<ObjectKey> objects = ConcurrentHashMap.newKeySet();
+
+		Set<PMMLObject> sharedObjects = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+		Subtree subtree = new Subtree(visitable);
+
+		forkJoinPool.invoke(new SharingTask(subtree, objects, sharedObjects));
+
+		// Release the references to all elements
+		objects = null;
+
+		if(!sharedObjects.isEmpty()){
+			List<Class<? extends Visitor>> visitorClazzes = this;
+			for(Class<? extends Visitor> visitorClazz : visitorClazzes){
+				Visitor visitor = createVisitor(visitorClazz);
+
+				for(PMMLObject sharedObject : sharedObjects){
+					visitor.applyTo(sharedObject);
+				}
+			}
+		}
+
+		forkJoinPool.invoke(new VisitorTask(subtree, sharedObjects));
+	}
+
+	protected Visitor createVisitor(Class<? extends Visitor> visitorClazz){
+
+		try {
+			return (visitorClazz.getDeclaredConstructor()).newInstance();
+		} catch(ReflectiveOperationException roe){
+			throw new RuntimeException(roe);
+		}
+	}
+
+	public ForkJoinPool getForkJoinPool(){
+		return this.forkJoinPool;
+	}
+
+	private void setForkJoinPool(ForkJoinPool forkJoinPool){
+
+		if(forkJoinPool == null){
+			throw new IllegalArgumentException();
+		}
+
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * <p>
+	 * Finds the segments and the shared elements of a subtree.
+	 * </p>
+	 */
+	static
+	private class SharingTask extends RecursiveAction {
+
+		private Subtree subtree = null;
+
+		private Set<ObjectKey> objects = null;
+
+		private Set<PMMLObject> sharedObjects = null;
+
+
+		private SharingTask(Subtree subtree, Set<ObjectKey> objects, Set<PMMLObject> sharedObjects){
+			this.subtree = subtree;
+			this.objects = objects;
+			this.sharedObjects = sharedObjects;
+		}
+
+		@Override
+		protected void compute(){
+			Visitable root = this.subtree.getRoot();
+
+			Set<Segment> segments = this.subtree.getSegments();
+
+			Visitor visitor = new AbstractVisitor(){
+
+				@Override
+				public VisitorAction visit(PMMLObject object){
+
+					// The root of a segment subtree has been claimed by the enclosing task
+					if(object == root){
+						return super.visit(object);
+					} // End if
+
+					if(!SharingTask.this.objects.add(new ObjectKey(object))){
+						SharingTask.this.sharedObjects.add(object);
+
+						return VisitorAction.SKIP;
+					} // End if
+
+					if(object instanceof Segment){
+						segments.add((Segment)object);
+
+						return VisitorAction.SKIP;
+					}
+
+					return super.visit(object);
+				}
+			};
+			visitor.applyTo(root);
+
+			List<SharingTask> tasks = new ArrayList<>();
+
+			for(Segment segment : segments){
+				tasks.add(new SharingTask(this.subtree.addChild(segment), this.objects, this.sharedObjects));
+			}
+
+			invokeAll(tasks);
+		}
+	}
+
+	private class VisitorTask extends RecursiveAction {
+
+		private Subtree subtree = null;
+
+		private Set<PMMLObject> sharedObjects = null;
+
+
+		private VisitorTask(Subtree subtree, Set<PMMLObject> sharedObjects){
+			this.subtree = subtree;
+			this.sharedObjects = sharedObjects;
+		}
+
+		@Override
+		protected void compute(){
+			Visitable root = this.subtree.getRoot();
+
+			if(this.sharedObjects.contains(root)){
+				return;
+			}
+
+			Set<Object> excludedObjects = new ExcludedObjects(this.subtree.getSegments(), this.sharedObjects);
+
+			List<Class<? extends Visitor>> visitorClazzes = ParallelVisitorBattery.this;
+			for(Class<? extends Visitor> visitorClazz : visitorClazzes){
+				Visitor visitor = createVisitor(visitorClazz);
+
+				FusedVisitor.applyTo(Collections.singletonList(visitor), excludedObjects, root);
+			}
+
+			List<VisitorTask> tasks = new ArrayList<>();
+
+			List<Subtree> children = this.subtree.getChildren();
+			for(Subtree child : children){
+				tasks.add(new VisitorTask(child, this.sharedObjects));
+			}
+
+			invokeAll(tasks);
+		}
+	}
+
+	static
+	private class Subtree {
+
+		private Visitable root = null;
+
+		private Set<Segment> segments = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		private List<Subtree> children = new ArrayList<>();
+
+
+		private Subtree(Visitable root){
+			this.root = root;
+		}
+
+		public Subtree addChild(Segment segment){
+			Subtree child = new Subtree(segment);
+
+			this.children.add(child);
+
+			return child;
+		}
+
+		public Visitable getRoot(){
+			return this.root;
+		}
+
+		/**
+		 * @return The outermost segments of this subtree, which are roots of child subtrees.
+		 */
+		public Set<Segment> getSegments(){
+			return this.segments;
+		}
+
+		public List<Subtree> getChildren(){
+			return this.children;
+		}
+	}
+
+	/**
+	 * <p>
+	 * A read-only union of the segments of a subtree and shared elements.
+	 * Only supports the {@link #contains(Object)} operation.
+	 * </p>
+	 */
+	static
+	private class ExcludedObjects extends AbstractSet<Object> {
+
+		private Set<Segment> segments = null;
+
+		private Set<PMMLObject> sharedObjects = null;
+
+
+		private ExcludedObjects(Set<Segment> segments, Set<PMMLObject> sharedObjects){
+			this.segments = segments;
+			this.sharedObjects = sharedObjects;
+		}
+
+		@Override
+		public boolean contains(Object object){
+			return this.segments.contains(object) || this.sharedObjects.contains(object);
+		}
+
+		@Override
+		public Iterator<Object> iterator(){
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int size(){
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * <p>
+	 * An identity-based key for concurrent sets.
+	 * </p>
+	 */
+	static
+	private class ObjectKey {
+
+		private PMMLObject object = null;
+
+
+		private ObjectKey(PMMLObject object){
+			this.object = object;
+		}
+
+		@Override
+		public int hashCode(){
+			return System.identityHashCode(this.object);
+		}
+
+		@Override
+		public boolean equals(Object object){
+
+			if(object instanceof ObjectKey){
+				ObjectKey that = (ObjectKey)object;
+
+				return (this.object == that.object);
+			}
+
+			return false;
+		}
+	}
+}
\ No newline at end of file
@@ -18,6 +18,7 @@
  */
 package org.jpmml.converter.visitors;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -73,6 +74,8 @@ public class TransformationDictionaryCleaner extends ActiveFieldFinder {
 
 			Set<DerivedField> activeDerivedFields = getActiveDerivedFields(derivedFields);
 
+			List<DerivedField> removedDerivedFields = new ArrayList<>();
+
 			for(Iterator<DerivedField> it = derivedFields.iterator(); it.hasNext(); ){
 				DerivedField derivedField = it.next();
 
@@ -86,8 +89,12 @@ public class TransformationDictionaryCleaner extends ActiveFieldFinder {
 
 				if(!retain){
 					it.remove();
+
+					removedDerivedFields.add(derivedField);
 				}
 			}
+
+			removeFields(removedDerivedFields);
 		}
 	}
 
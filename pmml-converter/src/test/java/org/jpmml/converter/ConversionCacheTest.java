@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.MissingValueTreatmentMethod;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.True;
+import org.dmg.pmml.tree.BranchNode;
+import org.dmg.pmml.tree.LeafNode;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.model.ReflectionUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConversionCacheTest {
+
+	@TempDir
+	public Path directory;
+
+
+	@Test
+	public void computeIfAbsent() throws Exception {
+		ConversionCache cache = new ConversionCache(this.directory, Long.MAX_VALUE);
+
+		Schema schema = createSchema("x");
+
+		String key = ConversionCache.computeKey("tree-0".getBytes(StandardCharsets.UTF_8), schema);
+
+		assertEquals(key, ConversionCache.computeKey("tree-0".getBytes(StandardCharsets.UTF_8), createSchema("x")));
+		assertNotEquals(key, ConversionCache.computeKey("tree-1".getBytes(StandardCharsets.UTF_8), schema));
+		assertNotEquals(key, ConversionCache.computeKey("tree-0".getBytes(StandardCharsets.UTF_8), createSchema("z")));
+
+		ModelEncoder encoder = schema.getEncoder();
+
+		AtomicInteger count = new AtomicInteger();
+
+		TreeModel treeModel = cache.computeIfAbsent(key, TreeModel.class, encoder, () -> {
+			count.incrementAndGet();
+
+			return createTreeModel();
+		});
+
+		// Modifications after caching do not leak into the cache
+		treeModel.setModelName("modified");
+
+		TreeModel cachedTreeModel = cache.computeIfAbsent(key, TreeModel.class, encoder, () -> {
+			count.incrementAndGet();
+
+			return createTreeModel();
+		});
+
+		assertEquals(1, count.get());
+
+		assertNotSame(treeModel, cachedTreeModel);
+		assertNull(cachedTreeModel.getModelName());
+		assertTrue(ReflectionUtil.equals(createTreeModel(), cachedTreeModel));
+
+		// Survives between cache instances
+		cache = new ConversionCache(this.directory, Long.MAX_VALUE);
+
+		assertTrue(cache.containsKey(key));
+		assertNotNull(cache.get(key, TreeModel.class, encoder));
+	}
+
+	@Test
+	public void computeIfAbsentSideEffects() throws Exception {
+		ConversionCache cache = new ConversionCache(this.directory, Long.MAX_VALUE);
+
+		Schema schema = createSchema("x");
+
+		String key = ConversionCache.computeKey("tree-0".getBytes(StandardCharsets.UTF_8), schema);
+
+		ModelEncoder encoder = schema.getEncoder();
+
+		TreeModel treeModel = cache.computeIfAbsent(key, TreeModel.class, encoder, () -> {
+			DerivedField derivedField = encoder.createDerivedField("x_copy", OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("x"));
+
+			TreeModel result = createTreeModel();
+
+			encoder.addDecorator(encoder.getDataField("x"), new MissingValueDecorator(MissingValueTreatmentMethod.AS_IS, null));
+			encoder.addDecorator(result, derivedField, new MissingValueDecorator(MissingValueTreatmentMethod.AS_MEAN, 0d));
+
+			return result;
+		});
+
+		assertNotNull(treeModel);
+
+		Schema otherSchema = createSchema("x");
+
+		ModelEncoder otherEncoder = otherSchema.getEncoder();
+
+		TreeModel cachedTreeModel = cache.computeIfAbsent(key, TreeModel.class, otherEncoder, () -> {
+			throw new AssertionError();
+		});
+
+		assertNotNull(cachedTreeModel);
+
+		// The side effects of the supplier are replayed
+		DerivedField derivedField = otherEncoder.getDerivedField("x_copy");
+
+		assertNotNull(derivedField);
+		assertTrue(ReflectionUtil.equals(encoder.getDerivedField("x_copy"), derivedField));
+
+		assertEquals(new MissingValueDecorator(MissingValueTreatmentMethod.AS_IS, null), otherEncoder.getDecorator(otherEncoder.getDataField("x"), MissingValueDecorator.class));
+		assertEquals(new MissingValueDecorator(MissingValueTreatmentMethod.AS_MEAN, 0d), otherEncoder.getDecorator(cachedTreeModel, derivedField, MissingValueDecorator.class));
+
+		// Conflicting side effects make a cache miss
+		Schema conflictingSchema = createSchema("x");
+
+		ModelEncoder conflictingEncoder = conflictingSchema.getEncoder();
+		conflictingEncoder.createDerivedField("x_copy", OpType.CONTINUOUS, DataType.FLOAT, new FieldRef("x"));
+
+		assertNull(cache.get(key, TreeModel.class, conflictingEncoder));
+		assertTrue(cache.containsKey(key));
+	}
+
+	@Test
+	public void computeIfAbsentUnreplayableSideEffects() throws Exception {
+		ConversionCache cache = new ConversionCache(this.directory, Long.MAX_VALUE);
+
+		Schema schema = createSchema("x");
+
+		String key = ConversionCache.computeKey("tree-0".getBytes(StandardCharsets.UTF_8), schema);
+
+		ModelEncoder encoder = schema.getEncoder();
+
+		TreeModel treeModel = cache.computeIfAbsent(key, TreeModel.class, encoder, () -> {
+			encoder.addFeatureImportance((schema.getFeatures()).get(0), 1d);
+
+			return createTreeModel();
+		});
+
+		assertNotNull(treeModel);
+
+		assertFalse(cache.containsKey(key));
+	}
+
+	@Test
+	public void computeKey(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		DataField dataField = encoder.createDataField("x", OpType.CATEGORICAL, DataType.STRING, Arrays.asList("1", "2"));
+
+		Schema schema = new Schema(encoder, null, Collections.singletonList(new CategoricalFeature(encoder, dataField, Arrays.asList("1", "2"))));
+
+		String key = ConversionCache.computeKey(new byte[0], schema);
+
+		ModelEncoder otherEncoder = new ModelEncoder();
+
+		DataField otherDataField = otherEncoder.createDataField("x", OpType.CATEGORICAL, DataType.STRING, Arrays.asList(1, 2));
+
+		Schema otherSchema = new Schema(otherEncoder, null, Collections.singletonList(new CategoricalFeature(otherEncoder, otherDataField, Arrays.asList(1, 2))));
+
+		assertNotEquals(key, ConversionCache.computeKey(new byte[0], otherSchema));
+	}
+
+	@Test
+	public void filter() throws Exception {
+
+		try(OutputStream os = Files.newOutputStream(this.directory.resolve("untrusted.ser"))){
+			ObjectOutputStream oos = new ObjectOutputStream(os);
+
+			oos.writeObject(new URI("https://example.com/"));
+			oos.flush();
+		}
+
+		ConversionCache cache = new ConversionCache(this.directory, Long.MAX_VALUE);
+
+		assertTrue(cache.containsKey("untrusted"));
+
+		assertNull(cache.get("untrusted", TreeModel.class, new ModelEncoder()));
+
+		assertFalse(cache.containsKey("untrusted"));
+	}
+
+	@Test
+	public void evict() throws Exception {
+		ConversionCache cache = new ConversionCache(this.directory, Long.MAX_VALUE);
+
+		cache.put("first", createTreeModel());
+
+		long entrySize = cache.size();
+
+		assertTrue(entrySize > 0L);
+
+		cache = new ConversionCache(this.directory, 2 * entrySize);
+
+		cache.put("second", createTreeModel());
+
+		// Makes the "first" entry more recently used than the "second" entry
+		assertNotNull(cache.get("first", TreeModel.class, new ModelEncoder()));
+
+		cache.put("third", createTreeModel());
+
+		assertTrue(cache.containsKey("first"));
+		assertFalse(cache.containsKey("second"));
+		assertTrue(cache.containsKey("third"));
+
+		assertEquals(2 * entrySize, cache.size());
+	}
+
+	static
+	private Schema createSchema(String name){
+		ModelEncoder encoder = new ModelEncoder();
+
+		DataField dataField = encoder.createDataField(name, OpType.CONTINUOUS, DataType.DOUBLE);
+
+		return new Schema(encoder, null, Collections.singletonList(new ContinuousFeature(encoder, dataField)));
+	}
+
+	static
+	private TreeModel createTreeModel(){
+		Node root = new BranchNode(null, True.INSTANCE)
+			.addNodes(
+				new LeafNode(-1d, new SimplePredicate("x", SimplePredicate.Operator.LESS_OR_EQUAL, 0d)),
+				new LeafNode(1d, new SimplePredicate("x", SimplePredicate.Operator.GREATER_THAN, 0d))
+			);
+
+		return new TreeModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema((Label)null), root);
+	}
+}
\ No newline at end of file
@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import jakarta.xml.bind.Marshaller;
+import org.dmg.pmml.ComplexScoreDistribution;
+import org.dmg.pmml.CompoundPredicate;
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.Extension;
+import org.dmg.pmml.False;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.ScoreDistribution;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.True;
+import org.dmg.pmml.mining.MiningModel;
+import org.dmg.pmml.mining.Segmentation;
+import org.dmg.pmml.tree.BranchNode;
+import org.dmg.pmml.tree.ComplexNode;
+import org.dmg.pmml.tree.LeafNode;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.converter.mining.MiningModelUtil;
+import org.jpmml.model.JAXBUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DirectPMMLSerializerTest {
+
+	@Test
+	public void serialize() throws Exception {
+		ModelEncoder encoder = new ModelEncoder();
+
+		DataField targetField = encoder.createDataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField continuousField = encoder.createDataField("x1", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField categoricalField = encoder.createDataField("x2", OpType.CATEGORICAL, DataType.STRING, Arrays.asList("a&b", "<c>", "\"d\""));
+
+		Node root = new BranchNode(null, True.INSTANCE)
+			.addNodes(
+				new BranchNode(null, new SimplePredicate(continuousField.requireName(), SimplePredicate.Operator.LESS_OR_EQUAL, 1.5d))
+					.addNodes(
+						new LeafNode(-1d, new SimplePredicate(categoricalField.requireName(), SimplePredicate.Operator.EQUAL, "a&b")),
+						new LeafNode(1d, new CompoundPredicate(CompoundPredicate.BooleanOperator.OR, null)
+							.addPredicates(
+								new SimplePredicate(categoricalField.requireName(), SimplePredicate.Operator.EQUAL, "<c>"),
+								new SimplePredicate(categoricalField.requireName(), SimplePredicate.Operator.IS_MISSING, null)
+							)
+						)
+					),
+				new LeafNode(Double.NaN, new SimplePredicate(continuousField.requireName(), SimplePredicate.Operator.GREATER_THAN, 1.5d))
+			);
+
+		// Not supported by the direct serializer
+		Node extendedRoot = new ComplexNode()
+			.setScore(0.5d)
+			.setPredicate(True.INSTANCE)
+			.addExtensions(new Extension()
+				.setName("comment")
+				.setValue("\"d\"")
+			);
+
+		TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema((Label)null), root);
+		TreeModel extendedTreeModel = new TreeModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema((Label)null), extendedRoot);
+
+		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(new ContinuousLabel(targetField)))
+			.setSegmentation(MiningModelUtil.createSegmentation(Segmentation.MultipleModelMethod.SUM, Segmentation.MissingPredictionTreatment.RETURN_MISSING, Arrays.asList(treeModel, extendedTreeModel)));
+
+		PMML pmml = encoder.encodePMML(miningModel);
+
+		ByteArrayOutputStream jaxbOs = new ByteArrayOutputStream();
+
+		Marshaller marshaller = (JAXBUtil.getContext()).createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+		marshaller.marshal(pmml, jaxbOs);
+
+		ByteArrayOutputStream directOs = new ByteArrayOutputStream();
+
+		DirectPMMLSerializer serializer = new DirectPMMLSerializer();
+		serializer.serialize(pmml, directOs);
+
+		assertArrayEquals(jaxbOs.toByteArray(), directOs.toByteArray());
+
+		// The original node trees have been restored
+		assertArrayEquals(jaxbOs.toByteArray(), marshal(marshaller, pmml));
+	}
+
+	@Test
+	public void serializeEscaped() throws Exception {
+		ModelEncoder encoder = new ModelEncoder();
+
+		DataField targetField = encoder.createDataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField categoricalField = encoder.createDataField("x", OpType.CATEGORICAL, DataType.STRING);
+
+		Node root = new BranchNode(null, True.INSTANCE)
+			.addNodes(
+				new LeafNode(-1d, new SimplePredicate(categoricalField.requireName(), SimplePredicate.Operator.EQUAL, "a\tb\nc\r\nd")),
+				new LeafNode(1d, new SimplePredicate(categoricalField.requireName(), SimplePredicate.Operator.NOT_EQUAL, "a\tb\nc\r\nd"))
+			);
+
+		TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(new ContinuousLabel(targetField)), root);
+
+		PMML pmml = encoder.encodePMML(treeModel);
+
+		Marshaller marshaller = (JAXBUtil.getContext()).createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+
+		ByteArrayOutputStream directOs = new ByteArrayOutputStream();
+
+		DirectPMMLSerializer serializer = new DirectPMMLSerializer();
+		serializer.serialize(pmml, directOs);
+
+		assertArrayEquals(marshal(marshaller, pmml), directOs.toByteArray());
+
+		String string = new String(directOs.toByteArray(), StandardCharsets.UTF_8);
+
+		assertTrue(string.contains("value=\"a&#x9;b&#xA;c&#xD;&#xA;d\""));
+	}
+
+	@Test
+	public void serializeClassification() throws Exception {
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<String> values = Arrays.asList("a&b", "<c>", "\"d\"", "'e'", "f\tg", "\u00e4\u20ac", "\ud835\udf0b");
+
+		List<String> targetCategories = Arrays.asList("no", "yes");
+
+		DataField targetField = encoder.createDataField("y", OpType.CATEGORICAL, DataType.STRING, targetCategories);
+		DataField continuousField = encoder.createDataField("x1", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField categoricalField = encoder.createDataField("x2", OpType.CATEGORICAL, DataType.STRING, values);
+
+		ScoreDistributionManager scoreDistributionManager = new ScoreDistributionManager();
+
+		Node leftChild = new ComplexNode()
+			.setId("1<2")
+			.setScore("no")
+			.setRecordCount(3)
+			.setPredicate(new CompoundPredicate(CompoundPredicate.BooleanOperator.SURROGATE, null)
+				.addPredicates(
+					new SimplePredicate(continuousField.requireName(), SimplePredicate.Operator.LESS_THAN, 0.1f),
+					new CompoundPredicate(CompoundPredicate.BooleanOperator.AND, null)
+						.addPredicates(
+							new SimplePredicate(categoricalField.requireName(), SimplePredicate.Operator.NOT_EQUAL, values.get(3)),
+							new SimplePredicate(categoricalField.requireName(), SimplePredicate.Operator.NOT_EQUAL, values.get(6))
+						),
+					False.INSTANCE
+				)
+			);
+
+		scoreDistributionManager.addScoreDistributions(leftChild, targetCategories, Arrays.asList(2, 1), Arrays.asList(2d / 3d, 1d / 3d));
+
+		Node rightChild = new ComplexNode()
+			.setId("\u00e4\"&")
+			.setScore("yes")
+			.setRecordCount(7)
+			.setPredicate(new SimplePredicate(continuousField.requireName(), SimplePredicate.Operator.GREATER_OR_EQUAL, 1e-10d));
+
+		scoreDistributionManager.addScoreDistributions(rightChild, targetCategories, Arrays.asList(0d, 7d), null);
+
+		Node root = new ComplexNode()
+			.setId("0")
+			.setScore("yes")
+			.setRecordCount(10)
+			.setDefaultChild(rightChild.getId())
+			.setPredicate(True.INSTANCE)
+			.addNodes(leftChild, rightChild);
+
+		scoreDistributionManager.addScoreDistributions(root, targetCategories, Arrays.asList(3, 7), Arrays.asList(0.3d, 0.7d));
+
+		// Not supported by the direct serializer
+		ScoreDistribution extendedScoreDistribution = new ComplexScoreDistribution()
+			.addExtensions(PMMLUtil.createExtension("comment", values.get(0)))
+			.setValue("yes")
+			.setRecordCount(1);
+
+		Node extendedRoot = new ComplexNode()
+			.setScore("yes")
+			.setPredicate(True.INSTANCE)
+			.addScoreDistributions(extendedScoreDistribution);
+
+		TreeModel treeModel = new TreeModel(MiningFunction.CLASSIFICATION, ModelUtil.createMiningSchema((Label)null), root)
+			.setMissingValueStrategy(TreeModel.MissingValueStrategy.DEFAULT_CHILD)
+			.addExtensions(PMMLUtil.createExtension("comment", values.get(1)));
+
+		TreeModel extendedTreeModel = new TreeModel(MiningFunction.CLASSIFICATION, ModelUtil.createMiningSchema((Label)null), extendedRoot);
+
+		MiningModel miningModel = new MiningModel(MiningFunction.CLASSIFICATION, ModelUtil.createMiningSchema(new CategoricalLabel(targetField.requireName(), targetField.requireDataType(), targetCategories)))
+			.setSegmentation(MiningModelUtil.createSegmentation(Segmentation.MultipleModelMethod.MAJORITY_VOTE, Segmentation.MissingPredictionTreatment.RETURN_MISSING, Arrays.asList(treeModel, extendedTreeModel)))
+			.addExtensions(PMMLUtil.createExtension("comment", values.get(5)));
+
+		PMML pmml = encoder.encodePMML(miningModel)
+			.addExtensions(PMMLUtil.createExtension("comment", values.get(2)));
+
+		Marshaller marshaller = (JAXBUtil.getContext()).createMarshaller();
+		marshaller.setProperty(Marshaller.JAXB_ENCODING, "UTF-8");
+
+		byte[] jaxbBytes = marshal(marshaller, pmml);
+
+		ByteArrayOutputStream directOs = new ByteArrayOutputStream();
+
+		DirectPMMLSerializer serializer = new DirectPMMLSerializer();
+		serializer.serialize(pmml, directOs);
+
+		assertArrayEquals(jaxbBytes, directOs.toByteArray());
+
+		// The original node trees have been restored
+		assertSame(root, treeModel.getNode());
+		assertSame(extendedRoot, extendedTreeModel.getNode());
+
+		String string = new String(directOs.toByteArray(), StandardCharsets.UTF_8);
+
+		assertTrue(string.contains("<ScoreDistribution"));
+		assertTrue(string.contains("<CompoundPredicate booleanOperator=\"surrogate\">"));
+		assertTrue(string.contains("id=\"\u00e4&quot;&amp;\""));
+	}
+
+	static
+	private byte[] marshal(Marshaller marshaller, PMML pmml) throws Exception {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		marshaller.marshal(pmml, os);
+
+		return os.toByteArray();
+	}
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class DoubleMatrixTest {
+
+	@TempDir
+	public Path tempDir;
+
+
+	@Test
+	public void rowMajor(){
+		DoubleMatrix matrix = new DoubleMatrix(DoubleMatrixTest.C_DATA, 3, 4);
+
+		checkMatrix(matrix);
+
+		assertEquals(new CMatrix<>(matrix.getValues(), 3, 4).getColumnValues(2), matrix.getColumnValues(2));
+	}
+
+	@Test
+	public void columnMajor(){
+		DoubleMatrix matrix = new DoubleMatrix(DoubleMatrixTest.FORTRAN_DATA, 3, 4, true);
+
+		checkMatrix(matrix);
+
+		assertEquals(new FortranMatrix<>(matrix.getValues(), 3, 4).getRowValues(1), matrix.getRowValues(1));
+	}
+
+	@Test
+	public void map() throws IOException {
+		Path path = this.tempDir.resolve("matrix.bin");
+
+		ByteBuffer buffer = ByteBuffer.allocate(DoubleMatrixTest.C_DATA.length * Double.BYTES)
+			.order(ByteOrder.LITTLE_ENDIAN);
+
+		(buffer.asDoubleBuffer()).put(DoubleMatrixTest.C_DATA);
+
+		Files.write(path, buffer.array());
+
+		checkMatrix(DoubleMatrix.map(path, ByteOrder.LITTLE_ENDIAN, 3, 4, false));
+
+		assertThrows(IOException.class, () -> DoubleMatrix.map(path, ByteOrder.LITTLE_ENDIAN, 4, 4, false));
+	}
+
+	@Test
+	public void invalidSize(){
+		assertThrows(ConversionException.class, () -> new DoubleMatrix(DoubleMatrixTest.C_DATA, 4, 4));
+		assertThrows(IllegalArgumentException.class, () -> new DoubleMatrix(new double[0], 200_000, 20_000));
+	}
+
+	static
+	private void checkMatrix(DoubleMatrix matrix){
+		assertEquals(Arrays.asList(11d, 12d, 13d, 14d), matrix.getRowValues(0));
+		assertEquals(Arrays.asList(31d, 32d, 33d, 34d), matrix.getRowValues(2));
+
+		assertEquals(Arrays.asList(11d, 21d, 31d), matrix.getColumnValues(0));
+		assertEquals(Arrays.asList(14d, 24d, 34d), matrix.getColumnValues(3));
+
+		assertArrayEquals(new double[]{13d, 23d, 33d}, (matrix.getColumnValues(2)).toDoubleArray());
+
+		List<Double> rowValues = matrix.getRowValues(1);
+
+		assertEquals(Arrays.asList(23d, 24d), rowValues.subList(2, 4));
+
+		assertEquals(23d, matrix.getDouble(1, 2));
+
+		assertThrows(IndexOutOfBoundsException.class, () -> matrix.getDouble(0, 4));
+		assertThrows(IndexOutOfBoundsException.class, () -> rowValues.get(4));
+	}
+
+	private static final double[] C_DATA = {
+		11d, 12d, 13d, 14d,
+		21d, 22d, 23d, 24d,
+		31d, 32d, 33d, 34d,
+	};
+
+	private static final double[] FORTRAN_DATA = {
+		11d, 21d, 31d,
+		12d, 22d, 32d,
+		13d, 23d, 33d,
+		14d, 24d, 34d,
+	};
+}
\ No newline at end of file
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dmg.pmml.DataType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FeatureListTest {
+
+	@Test
+	public void resolveFeature(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Feature a = new ContinuousFeature(encoder, "a", DataType.DOUBLE);
+		Feature b = new ContinuousFeature(encoder, "b", DataType.DOUBLE);
+		Feature c = new ContinuousFeature(encoder, "c", DataType.DOUBLE);
+
+		List<String> names = new ArrayList<>(Arrays.asList("x", "y", "x"));
+
+		FeatureList featureList = new FeatureList(Arrays.asList(a, b, c), names);
+
+		assertSame(a, featureList.resolveFeature("x"));
+		assertSame(b, featureList.resolveFeature("y"));
+		assertThrows(SchemaException.class, () -> featureList.resolveFeature("z"));
+
+		// The list of names is copied
+		names.set(0, "z");
+
+		assertSame(a, featureList.resolveFeature("x"));
+		assertThrows(SchemaException.class, () -> featureList.resolveFeature("z"));
+
+		// In-place modification
+		(featureList.getNames()).set(0, "z");
+
+		assertSame(a, featureList.resolveFeature("z"));
+		assertSame(c, featureList.resolveFeature("x"));
+
+		featureList.setNames(Arrays.asList("c", "b", "a"));
+
+		assertSame(c, featureList.resolveFeature("a"));
+		assertEquals(-1, featureList.indexOfName("z"));
+	}
+
+	@Test
+	public void resolveUniqueFeature(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Feature a = new ContinuousFeature(encoder, "a", DataType.DOUBLE);
+		Feature b = new ContinuousFeature(encoder, "b", DataType.DOUBLE);
+		Feature c = new ContinuousFeature(encoder, "c", DataType.DOUBLE);
+
+		FeatureList featureList = new FeatureList(Arrays.asList(a, b, c), Arrays.asList("a", "b", "c"));
+
+		assertSame(b, featureList.resolveFeature("b"));
+
+		// In-place modification
+		(featureList.getNames()).set(1, "x");
+
+		assertSame(b, featureList.resolveFeature("x"));
+		assertEquals(-1, featureList.indexOfName("b"));
+
+		(featureList.getNames()).set(2, "b");
+
+		assertSame(c, featureList.resolveFeature("b"));
+		assertEquals(1, featureList.indexOfName("x"));
+	}
+
+	@Test
+	public void findSchemaFeature(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Feature a = new ContinuousFeature(encoder, "a", DataType.DOUBLE);
+		Feature b = new ContinuousFeature(encoder, "b", DataType.DOUBLE);
+
+		List<Feature> features = new ArrayList<>(Arrays.asList(a, b));
+
+		Schema schema = new Schema(encoder, null, features);
+
+		assertEquals(0, schema.getFeatureIndex("a"));
+		assertEquals(1, schema.getFeatureIndex("b"));
+		assertEquals(-1, schema.getFeatureIndex("c"));
+
+		Feature c = new ContinuousFeature(encoder, "c", DataType.DOUBLE);
+
+		features.add(0, c);
+
+		schema = new Schema(encoder, null, features);
+
+		assertEquals(0, schema.getFeatureIndex("c"));
+		assertSame(a, schema.findFeature("a"));
+		assertNull(schema.findFeature("d"));
+
+		assertSame(a, FeatureUtil.findFeature(schema, "a"));
+		assertSame(a, FeatureUtil.findLabelFeature(schema, new ContinuousLabel("a", DataType.DOUBLE)));
+
+		Schema relabeledSchema = schema.toAnonymousRegressorSchema(DataType.DOUBLE);
+
+		assertEquals(2, relabeledSchema.getFeatureIndex("b"));
+		assertSame(b, relabeledSchema.findFeature("b"));
+	}
+}
\ No newline at end of file
@@ -18,17 +18,26 @@
  */
 package org.jpmml.converter;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
+import org.dmg.pmml.Apply;
 import org.dmg.pmml.DataField;
 import org.dmg.pmml.DataType;
+import org.dmg.pmml.FieldRef;
 import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMMLFunctions;
 import org.dmg.pmml.Value;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class FeatureTest {
 
@@ -167,6 +176,108 @@ public class FeatureTest {
 		assertNotNull(encoder.getDerivedField("x=2"));
 	}
 
+	@Test
+	public void hashCodeAndEquals(){
+		PMMLEncoder encoder = new PMMLEncoder();
+
+		DataField dataField = encoder.createDataField("x", OpType.CATEGORICAL, DataType.INTEGER)
+			.addValues(new Value("1"), new Value("2"));
+
+		InteractionFeature interaction = new InteractionFeature(encoder, "x=1:x=2", DataType.DOUBLE, Arrays.asList(new BinaryFeature(encoder, dataField, "1"), new BinaryFeature(encoder, dataField, "2")));
+		InteractionFeature equalInteraction = new InteractionFeature(encoder, "x=1:x=2", DataType.DOUBLE, Arrays.asList(new BinaryFeature(encoder, dataField, "1"), new BinaryFeature(encoder, dataField, "2")));
+		InteractionFeature otherInteraction = new InteractionFeature(encoder, "x=1:x=2", DataType.DOUBLE, Arrays.asList(new BinaryFeature(encoder, dataField, "1"), new BinaryFeature(encoder, dataField, "1")));
+
+		assertEquals(interaction.hashCode(), equalInteraction.hashCode());
+		assertEquals(interaction, equalInteraction);
+		assertNotEquals(interaction, otherInteraction);
+
+		assertThrows(UnsupportedOperationException.class, () -> (interaction.getFeatures()).clear());
+
+		CategoricalFeature categoricalFeature = new CategoricalFeature(encoder, dataField);
+
+		assertThrows(UnsupportedOperationException.class, () -> (categoricalFeature.getValues()).clear());
+
+		List<Object> values = new ArrayList<>(Arrays.asList("1", "2"));
+
+		CategoricalFeature copiedCategoricalFeature = new CategoricalFeature(encoder, "x", DataType.INTEGER, values);
+
+		int hashCode = copiedCategoricalFeature.hashCode();
+
+		// Modifications after construction do not leak into the feature
+		values.set(1, "3");
+
+		assertEquals(Arrays.asList("1", "2"), copiedCategoricalFeature.getValues());
+		assertEquals(hashCode, copiedCategoricalFeature.hashCode());
+
+		CategoricalFeature nullableCategoricalFeature = new CategoricalFeature(encoder, "x", DataType.STRING, Arrays.asList("1", null));
+
+		assertEquals(1, (nullableCategoricalFeature.getValues()).indexOf(null));
+		assertEquals(-1, (copiedCategoricalFeature.getValues()).indexOf(null));
+	}
+
+	@Test
+	public void memoizeContinuousFeature(){
+		PMMLEncoder encoder = new PMMLEncoder();
+
+		DataField dataField = encoder.createDataField("x", OpType.CATEGORICAL, DataType.INTEGER)
+			.addValues(new Value("1"), new Value("2"), new Value("3"));
+
+		BinaryFeature binaryOne = new BinaryFeature(encoder, dataField, "1");
+
+		ContinuousFeature continuousOne = binaryOne.toContinuousFeature();
+
+		assertSame(continuousOne, binaryOne.toContinuousFeature());
+		assertSame(continuousOne, binaryOne.toContinuousFeature(DataType.DOUBLE));
+
+		ContinuousFeature continuousFloatOne = binaryOne.toContinuousFeature(DataType.FLOAT);
+
+		assertSame(continuousFloatOne, binaryOne.toContinuousFeature(DataType.FLOAT));
+
+		encoder.removeDerivedField(continuousFloatOne.getName());
+
+		assertNull(encoder.getDerivedField(continuousFloatOne.getName()));
+
+		ContinuousFeature recreatedContinuousFloatOne = binaryOne.toContinuousFeature(DataType.FLOAT);
+
+		assertNotSame(continuousFloatOne, recreatedContinuousFloatOne);
+		assertEquals(continuousFloatOne, recreatedContinuousFloatOne);
+
+		assertNotNull(encoder.getDerivedField(recreatedContinuousFloatOne.getName()));
+	}
+
+	@Test
+	public void interactionFeaturePrefixSharing(){
+		PMMLEncoder encoder = new PMMLEncoder();
+
+		Feature a = new ContinuousFeature(encoder, encoder.createDataField("a", OpType.CONTINUOUS, DataType.DOUBLE));
+		Feature b = new ContinuousFeature(encoder, encoder.createDataField("b", OpType.CONTINUOUS, DataType.DOUBLE));
+		Feature c = new ContinuousFeature(encoder, encoder.createDataField("c", OpType.CONTINUOUS, DataType.DOUBLE));
+		Feature d = new ContinuousFeature(encoder, encoder.createDataField("d", OpType.CONTINUOUS, DataType.DOUBLE));
+
+		InteractionFeature abc = new InteractionFeature(encoder, "a:b:c", DataType.DOUBLE, Arrays.asList(a, b, c), true);
+		InteractionFeature abcd = new InteractionFeature(encoder, "a:b:c:d", DataType.DOUBLE, Arrays.asList(a, b, c, d), true);
+		InteractionFeature abd = new InteractionFeature(encoder, "a:b:d", DataType.DOUBLE, Arrays.asList(a, b, d), true);
+
+		assertEquals(abc, new InteractionFeature(encoder, "a:b:c", DataType.DOUBLE, Arrays.asList(a, b, c)));
+
+		abc.toContinuousFeature();
+		abcd.toContinuousFeature();
+		abd.toContinuousFeature();
+
+		assertEquals(Arrays.asList("interaction(a, b)", "a:b:c", "a:b:c:d", "a:b:d"), new ArrayList<>((encoder.getDerivedFields()).keySet()));
+
+		Apply apply = (Apply)(encoder.getDerivedField("a:b:c:d")).requireExpression();
+
+		assertEquals(PMMLFunctions.MULTIPLY, apply.requireFunction());
+		assertEquals("a:b:c", ((FieldRef)(apply.getExpressions()).get(0)).requireField());
+		assertEquals("d", ((FieldRef)(apply.getExpressions()).get(1)).requireField());
+
+		apply = (Apply)(encoder.getDerivedField("a:b:d")).requireExpression();
+
+		assertEquals("interaction(a, b)", ((FieldRef)(apply.getExpressions()).get(0)).requireField());
+		assertEquals("d", ((FieldRef)(apply.getExpressions()).get(1)).requireField());
+	}
+
 	@Test
 	public void powerFeature(){
 		PMMLEncoder encoder = new PMMLEncoder();
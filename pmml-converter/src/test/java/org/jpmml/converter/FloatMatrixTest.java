@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FloatMatrixTest {
+
+	@Test
+	public void getValues(){
+		float[] values = {
+			1f, 2f, 3f,
+			4f, 5f, 6f
+		};
+
+		FloatMatrix matrix = new FloatMatrix(values, 2, 3);
+
+		assertEquals(Arrays.asList(4f, 5f, 6f), matrix.getRowValues(1));
+		assertEquals(Arrays.asList(3f, 6f), matrix.getColumnValues(2));
+
+		assertArrayEquals(new float[]{2f, 5f}, (matrix.getColumnValues(1)).toFloatArray());
+
+		assertEquals(5d, matrix.getDouble(1, 1));
+
+		// Views are backed by the array
+		values[4] = 0.5f;
+
+		assertEquals(Arrays.asList(2f, 0.5f), matrix.getColumnValues(1));
+	}
+}
\ No newline at end of file
@@ -18,13 +18,33 @@
  */
 package org.jpmml.converter;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.Iterables;
 import org.dmg.pmml.DataField;
 import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.FieldRef;
 import org.dmg.pmml.InvalidValueTreatmentMethod;
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.MiningSchema;
 import org.dmg.pmml.MissingValueTreatmentMethod;
 import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.UnivariateStats;
+import org.dmg.pmml.regression.NumericPredictor;
+import org.dmg.pmml.regression.RegressionModel;
+import org.dmg.pmml.regression.RegressionTable;
+import org.jpmml.converter.regression.RegressionModelUtil;
+import org.jpmml.converter.visitors.ModelCleaner;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -70,4 +90,123 @@ public class ModelEncoderTest {
 		assertNull(encoder.getDecorator(dataField, MissingValueDecorator.class));
 		assertNull(encoder.getDecorator(dataField, OutlierDecorator.class));
 	}
+
+	@Test
+	public void deduplicateDerivedFields(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		DataField targetField = encoder.createDataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField activeField = encoder.createDataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		DerivedField left = encoder.createDerivedField("x_squared", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef("x"), new FieldRef("x")));
+		DerivedField right = encoder.createDerivedField("x_power", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef("x"), new FieldRef("x")));
+
+		List<Feature> features = Arrays.asList(new ContinuousFeature(encoder, activeField), new ContinuousFeature(encoder, left), new ContinuousFeature(encoder, right));
+
+		Schema schema = new Schema(encoder, new ContinuousLabel(targetField), features);
+
+		RegressionModel regressionModel = RegressionModelUtil.createRegression(schema.getFeatures(), Arrays.asList(1d, 2d, 3d), null, null, schema);
+
+		encoder.addFeatureImportance(features.get(1), 1d);
+		encoder.addFeatureImportance(features.get(2), 2d);
+
+		UnivariateStats univariateStats = new UnivariateStats()
+			.setField("x_power");
+
+		encoder.addUnivariateStats(univariateStats);
+
+		PMML pmml = encoder.encodePMML(regressionModel);
+
+		assertEquals(Arrays.asList(left), (pmml.getTransformationDictionary()).getDerivedFields());
+
+		assertSame(left, encoder.getDerivedField("x_squared"));
+		assertNull(encoder.getDerivedField("x_power"));
+
+		RegressionTable regressionTable = Iterables.getOnlyElement(regressionModel.getRegressionTables());
+
+		List<String> names = (regressionTable.getNumericPredictors()).stream()
+			.map(NumericPredictor::requireField)
+			.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList("x", "x_squared", "x_squared"), names);
+
+		MiningSchema miningSchema = regressionModel.requireMiningSchema();
+
+		MiningField miningField = (miningSchema.getMiningFields()).stream()
+			.filter(field -> ("x").equals(field.requireName()))
+			.findFirst()
+			.get();
+
+		// The importance of the merged "x_power" feature is not lost
+		assertEquals(3d, (miningField.getImportance()).doubleValue());
+
+		assertEquals("x_squared", univariateStats.getField());
+	}
+
+	@Test
+	public void measureConversion(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		DataField targetField = encoder.createDataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField activeField = encoder.createDataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		// Not referenced by the model
+		encoder.createDataField("z", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		Schema schema = new Schema(encoder, new ContinuousLabel(targetField), Collections.singletonList(new ContinuousFeature(encoder, activeField)));
+
+		RegressionModel regressionModel = RegressionModelUtil.createRegression(schema.getFeatures(), Collections.singletonList(2d), 1d, null, schema);
+
+		List<ConversionMetrics> metrics = new ArrayList<>();
+
+		encoder.setConversionListener(metrics::add);
+
+		PMML pmml = encoder.encodePMML(regressionModel);
+
+		assertEquals(2, ((pmml.getDataDictionary()).getDataFields()).size());
+
+		List<String> phases = metrics.stream()
+			.filter(phaseMetrics -> !phaseMetrics.isVisitorPass())
+			.map(ConversionMetrics::getPhase)
+			.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList(ConversionListener.PHASE_ENCODE_MODEL, ConversionListener.PHASE_CLEAN_MODEL, ConversionListener.PHASE_ENCODE_DECORATORS, ConversionListener.PHASE_ENCODE_FEATURE_IMPORTANCES, ConversionListener.PHASE_ENCODE_UNIVARIATE_STATS, ConversionListener.PHASE_CLEAN_PMML), phases);
+
+		List<ConversionMetrics> passMetrics = metrics.stream()
+			.filter(ConversionMetrics::isVisitorPass)
+			.collect(Collectors.toList());
+
+		assertEquals(6 + 1, passMetrics.size());
+
+		assertTrue(passMetrics.stream().anyMatch(pass -> (pass.getVisitorClazzes()).contains(ModelCleaner.class)));
+
+		long nodesVisited = 0L;
+
+		for(ConversionMetrics pass : passMetrics){
+			assertTrue(pass.getWallTime() >= 0L);
+			assertTrue(pass.getNodesVisited() > 0L);
+			assertEquals(-1L, pass.getObjectCount());
+			assertEquals(-1L, pass.getObjectsRemoved());
+
+			if((ConversionListener.PHASE_CLEAN_MODEL).equals(pass.getPhase())){
+				nodesVisited += pass.getNodesVisited();
+			}
+		}
+
+		ConversionMetrics cleanModelMetrics = metrics.stream()
+			.filter(phaseMetrics -> !phaseMetrics.isVisitorPass() && (ConversionListener.PHASE_CLEAN_MODEL).equals(phaseMetrics.getPhase()))
+			.findFirst()
+			.get();
+
+		assertEquals(nodesVisited, cleanModelMetrics.getNodesVisited());
+		assertTrue(cleanModelMetrics.getObjectCount() > 0L);
+
+		// The unused DataField element
+		assertTrue(cleanModelMetrics.getObjectsRemoved() >= 1L);
+
+		ConversionMetrics encodeModelMetrics = metrics.get(0);
+
+		assertEquals(-1L, encodeModelMetrics.getNodesVisited());
+		assertEquals(-1L, encodeModelMetrics.getObjectCount());
+	}
 }
\ No newline at end of file
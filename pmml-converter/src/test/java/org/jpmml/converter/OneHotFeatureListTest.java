@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.dmg.pmml.DataType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OneHotFeatureListTest {
+
+	@Test
+	public void get(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Feature a = new ContinuousFeature(encoder, "a", DataType.DOUBLE);
+		Feature b = new CategoricalFeature(encoder, "b", DataType.STRING, Arrays.asList("x", "y", "z"));
+		Feature c = new ContinuousFeature(encoder, "c", DataType.DOUBLE);
+
+		OneHotFeatureList features = new OneHotFeatureList()
+			.addFeature(a)
+			.addBinaryFeatures(b, Arrays.asList("x", "y", "z"))
+			.addBinaryFeatures(b, Collections.emptyList())
+			.addFeature(c);
+
+		assertEquals(5, features.size());
+
+		assertSame(a, features.get(0));
+		assertSame(c, features.get(4));
+
+		List<Feature> expectedFeatures = Arrays.asList(a, new BinaryFeature(encoder, b, "x"), new BinaryFeature(encoder, b, "y"), new BinaryFeature(encoder, b, "z"), c);
+
+		assertEquals(expectedFeatures, features);
+
+		BinaryFeature binaryFeature = (BinaryFeature)features.get(2);
+
+		assertSame(binaryFeature, features.get(2));
+
+		assertEquals("b", binaryFeature.getName());
+		assertEquals(DataType.STRING, binaryFeature.getDataType());
+		assertEquals("y", binaryFeature.getValue());
+
+		assertThrows(IndexOutOfBoundsException.class, () -> features.get(5));
+
+		assertEquals(1, features.indexOfName("b"));
+		assertEquals(4, features.indexOfName("c"));
+		assertEquals(-1, features.indexOfName("d"));
+	}
+
+	@Test
+	public void wideSchema(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Integer[] values = new Integer[100_000];
+		for(int i = 0; i < values.length; i++){
+			values[i] = i;
+		}
+
+		Feature feature = new CategoricalFeature(encoder, "x", DataType.INTEGER, Arrays.asList(values));
+
+		OneHotFeatureList features = new OneHotFeatureList();
+
+		for(int i = 0; i < 10; i++){
+			features.addBinaryFeatures(feature, Arrays.asList(values));
+		}
+
+		Schema schema = new Schema(encoder, null, features);
+
+		assertEquals(1_000_000, (schema.getFeatures()).size());
+
+		for(int index : new int[]{0, 99_999, 100_000, 555_555, 999_999}){
+			BinaryFeature binaryFeature = (BinaryFeature)schema.getFeature(index);
+
+			assertEquals(index % 100_000, binaryFeature.getValue());
+		}
+
+		assertEquals(0, schema.getFeatureIndex("x"));
+
+		BinaryFeature binaryFeature = (BinaryFeature)FeatureUtil.findFeature(features, "x");
+
+		assertEquals(0, binaryFeature.getValue());
+
+		assertNull(FeatureUtil.findFeature(features, "y"));
+	}
+}
\ No newline at end of file
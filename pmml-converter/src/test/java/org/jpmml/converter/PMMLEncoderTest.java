@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLFunctions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PMMLEncoderTest {
+
+	@Test
+	public void symbolTable(){
+		PMMLEncoder encoder = new PMMLEncoder();
+
+		DataField x = encoder.createDataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DerivedField xSquared = encoder.createDerivedField("x_squared", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef("x"), new FieldRef("x")));
+		DataField y = encoder.createDataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		assertEquals(0, encoder.getFieldId("x"));
+		assertEquals(1, encoder.getFieldId("x_squared"));
+		assertEquals(2, encoder.getFieldId("y"));
+		assertEquals(-1, encoder.getFieldId("z"));
+
+		assertSame(x, encoder.getField("x"));
+		assertSame(x, encoder.getDataField("x"));
+		assertNull(encoder.getDerivedField("x"));
+
+		assertSame(xSquared, encoder.getField(1));
+		assertSame(xSquared, encoder.getDerivedField("x_squared"));
+		assertNull(encoder.getDataField("x_squared"));
+
+		assertThrows(NamingException.class, () -> encoder.createDerivedField("x", OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("y")));
+		assertThrows(SchemaException.class, () -> encoder.removeDerivedField("x"));
+
+		assertSame(x, encoder.removeDataField("x"));
+
+		assertEquals(-1, encoder.getFieldId("x"));
+		assertNull(encoder.getField(0));
+		assertSame(y, encoder.getField(2));
+		assertThrows(SchemaException.class, () -> encoder.getField("x"));
+
+		DataField newX = encoder.createDataField("x", OpType.CATEGORICAL, DataType.STRING);
+
+		assertEquals(3, encoder.getFieldId("x"));
+		assertEquals(4, encoder.getFieldIdBound());
+
+		assertEquals(Arrays.asList("y", "x"), Arrays.asList((encoder.getDataFields()).keySet().toArray()));
+		assertEquals(Arrays.asList("x_squared"), Arrays.asList((encoder.getDerivedFields()).keySet().toArray()));
+
+		PMML pmml = encoder.encodePMML();
+
+		assertEquals(Arrays.asList(y, newX), (pmml.requireDataDictionary()).getDataFields());
+		assertEquals(Arrays.asList(xSquared), (pmml.getTransformationDictionary()).getDerivedFields());
+	}
+
+	@Test
+	public void fieldViews(){
+		PMMLEncoder encoder = new PMMLEncoder();
+
+		Map<String, DataField> dataFields = encoder.getDataFields();
+		Map<String, DerivedField> derivedFields = encoder.getDerivedFields();
+
+		assertTrue(dataFields.isEmpty());
+		assertTrue(derivedFields.isEmpty());
+
+		DataField x = encoder.createDataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DerivedField xSquared = encoder.createDerivedField("x_squared", OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef("x"), new FieldRef("x")));
+
+		assertEquals(1, dataFields.size());
+		assertSame(x, dataFields.get("x"));
+		assertFalse(dataFields.containsKey("x_squared"));
+
+		assertEquals(1, derivedFields.size());
+		assertSame(xSquared, derivedFields.get("x_squared"));
+		assertFalse(derivedFields.containsKey("x"));
+
+		DataField y = new DataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		assertNull(dataFields.put("y", y));
+
+		assertSame(y, encoder.getDataField("y"));
+
+		assertThrows(IllegalArgumentException.class, () -> dataFields.put("z", new DataField("y", OpType.CONTINUOUS, DataType.DOUBLE)));
+		assertThrows(NamingException.class, () -> derivedFields.put("y", new DerivedField("y", OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("x"))));
+
+		assertSame(x, dataFields.remove("x"));
+		assertNull(dataFields.remove("x_squared"));
+
+		assertNull(encoder.getDataField("x"));
+
+		assertEquals(Arrays.asList("y"), Arrays.asList(dataFields.keySet().toArray()));
+		assertEquals(Arrays.asList("x_squared"), Arrays.asList(derivedFields.keySet().toArray()));
+
+		(derivedFields.values()).removeIf(derivedField -> true);
+
+		assertTrue(derivedFields.isEmpty());
+		assertNull(encoder.getDerivedField("x_squared"));
+
+		encoder.removeDataField("y");
+
+		assertTrue(dataFields.isEmpty());
+		assertEquals(Arrays.asList(), Arrays.asList(dataFields.keySet().toArray()));
+	}
+
+	@Test
+	public void compactFields(){
+		PMMLEncoder encoder = new PMMLEncoder();
+
+		for(int i = 0; i < 100; i++){
+			encoder.createDataField("x" + i, OpType.CONTINUOUS, DataType.DOUBLE);
+		}
+
+		for(int i = 0; i < 90; i++){
+			encoder.removeDataField("x" + i);
+		}
+
+		assertEquals(100, encoder.getFieldIdBound());
+
+		DataField y = encoder.createDataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		assertEquals(11, encoder.getFieldIdBound());
+
+		for(int i = 90; i < 100; i++){
+			assertEquals(i - 90, encoder.getFieldId("x" + i));
+		}
+
+		assertEquals(10, encoder.getFieldId("y"));
+		assertSame(y, encoder.getField(10));
+
+		assertEquals(11, (encoder.getDataFields()).size());
+	}
+}
\ No newline at end of file
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.mining.MiningModel;
+import org.dmg.pmml.mining.Segment;
+import org.dmg.pmml.mining.Segmentation;
+import org.dmg.pmml.regression.RegressionModel;
+import org.jpmml.converter.mining.MiningModelUtil;
+import org.jpmml.converter.regression.RegressionModelUtil;
+import org.jpmml.model.JAXBUtil;
+import org.jpmml.model.ReflectionUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PMMLStreamWriterTest {
+
+	@Test
+	public void encodePMML() throws Exception {
+		ModelEncoder encoder = new ModelEncoder();
+
+		PMML pmml = encoder.encodePMML(createModel(encoder));
+
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		encoder = new ModelEncoder();
+
+		MiningModel miningModel = createModel(encoder);
+
+		List<Segment> segments = new ArrayList<>((miningModel.getSegmentation()).getSegments());
+
+		List<ConversionMetrics> metrics = new ArrayList<>();
+
+		encoder.setConversionListener(metrics::add);
+
+		encoder.encodePMML(miningModel, os);
+
+		assertEquals(segments, (miningModel.getSegmentation()).getSegments());
+
+		List<String> phases = metrics.stream()
+			.filter(phaseMetrics -> !phaseMetrics.isVisitorPass())
+			.map(ConversionMetrics::getPhase)
+			.collect(Collectors.toList());
+
+		assertEquals(Arrays.asList(ConversionListener.PHASE_ENCODE_MODEL, ConversionListener.PHASE_CLEAN_MODEL, ConversionListener.PHASE_ENCODE_DECORATORS, ConversionListener.PHASE_ENCODE_FEATURE_IMPORTANCES, ConversionListener.PHASE_ENCODE_UNIVARIATE_STATS, ConversionListener.PHASE_CLEAN_PMML), phases);
+
+		PMML streamedPmml = unmarshal(os.toByteArray());
+
+		assertTrue(ReflectionUtil.equals(clean(unmarshal(marshal(pmml))), clean(streamedPmml)));
+	}
+
+	static
+	private MiningModel createModel(ModelEncoder encoder){
+		DataField targetField = encoder.createDataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		List<ContinuousFeature> features = new ArrayList<>();
+
+		for(String name : Arrays.asList("x1", "x2", "x3")){
+			DataField dataField = encoder.createDataField(name, OpType.CONTINUOUS, DataType.DOUBLE);
+
+			features.add(new ContinuousFeature(encoder, dataField));
+		}
+
+		// Not referenced by the model
+		encoder.createDataField("z", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		Schema schema = new Schema(encoder, new ContinuousLabel(targetField), features);
+
+		List<RegressionModel> regressionModels = new ArrayList<>();
+
+		for(ContinuousFeature feature : features){
+			RegressionModel regressionModel = RegressionModelUtil.createRegression(Collections.singletonList(feature), Collections.singletonList(2d), 1d, null, schema.toAnonymousSchema());
+
+			regressionModels.add(regressionModel);
+		}
+
+		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, ModelUtil.createMiningSchema(schema.getLabel()))
+			.setSegmentation(MiningModelUtil.createSegmentation(Segmentation.MultipleModelMethod.SUM, Segmentation.MissingPredictionTreatment.RETURN_MISSING, regressionModels));
+
+		return miningModel;
+	}
+
+	static
+	private PMML clean(PMML pmml){
+		// Differs between runs
+		(pmml.getHeader()).setTimestamp(null);
+
+		return pmml;
+	}
+
+	static
+	private byte[] marshal(PMML pmml) throws JAXBException {
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+		Marshaller marshaller = (JAXBUtil.getContext()).createMarshaller();
+		marshaller.marshal(pmml, os);
+
+		return os.toByteArray();
+	}
+
+	static
+	private PMML unmarshal(byte[] bytes) throws JAXBException {
+		Unmarshaller unmarshaller = (JAXBUtil.getContext()).createUnmarshaller();
+
+		return (PMML)unmarshaller.unmarshal(new ByteArrayInputStream(bytes));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PersistentMapTest {
+
+	@Test
+	public void with(){
+		Map<String, Integer> expectedMap = new LinkedHashMap<>();
+
+		PersistentMap<String, Integer> map = PersistentMap.empty();
+
+		List<PersistentMap<String, Integer>> versions = new ArrayList<>();
+
+		for(int i = 0; i < 5000; i++){
+			String key = "x" + (i % 3000);
+
+			expectedMap.put(key, i);
+
+			map = map.with(key, i);
+
+			versions.add(map);
+		}
+
+		assertEquals(expectedMap, map);
+		assertEquals(new ArrayList<>(expectedMap.keySet()), new ArrayList<>(map.keySet()));
+		assertEquals(new ArrayList<>(expectedMap.values()), new ArrayList<>(map.values()));
+
+		// Older versions are not affected
+		PersistentMap<String, Integer> firstVersion = versions.get(0);
+
+		assertEquals(1, firstVersion.size());
+		assertEquals((Integer)0, firstVersion.get("x0"));
+		assertNull(firstVersion.get("x1"));
+
+		PersistentMap<String, Integer> midVersion = versions.get(2999);
+
+		assertEquals(3000, midVersion.size());
+		assertEquals((Integer)0, midVersion.get("x0"));
+		assertEquals((Integer)2999, midVersion.get("x2999"));
+
+		assertSame(map, map.with("x0", map.get("x0")));
+
+		assertThrows(UnsupportedOperationException.class, () -> firstVersion.put("x1", 1));
+	}
+
+	@Test
+	public void withCollisions(){
+		PersistentMap<Key, String> map = PersistentMap.empty();
+
+		Key first = new Key("first", 42);
+		Key second = new Key("second", 42);
+		Key third = new Key("third", 42 + (1 << 20));
+
+		map = map.with(first, "1").with(second, "2").with(third, "3").with(null, "null");
+
+		assertEquals(4, map.size());
+		assertEquals("1", map.get(new Key("first", 42)));
+		assertEquals("2", map.get(new Key("second", 42)));
+		assertEquals("3", map.get(new Key("third", 42 + (1 << 20))));
+		assertEquals("null", map.get(null));
+		assertFalse(map.containsKey(new Key("fourth", 42)));
+
+		map = map.with(new Key("first", 42), "one");
+
+		assertEquals(4, map.size());
+		assertEquals(Arrays.asList("one", "2", "3", "null"), new ArrayList<>(map.values()));
+	}
+
+	@Test
+	public void categoryManager(){
+		CategoryManager categoryManager = new CategoryManager();
+
+		Predicate<Object> filter = categoryManager.getValueFilter("x");
+
+		assertTrue(filter.test("a"));
+
+		CategoryManager xCategoryManager = categoryManager.fork("x", Arrays.asList("a", "b"));
+
+		filter = xCategoryManager.getValueFilter("x");
+
+		assertTrue(filter.test("a"));
+		assertFalse(filter.test("c"));
+
+		Set<Object> values = xCategoryManager.getValue("x");
+
+		assertSame(filter, xCategoryManager.getValueFilter("x"));
+		assertEquals(values, new LinkedHashMap<>(xCategoryManager.getValueMap()).get("x"));
+
+		assertNull(categoryManager.getValue("x"));
+	}
+
+	static
+	private class Key {
+
+		private String name = null;
+
+		private int hashCode = 0;
+
+
+		private Key(String name, int hashCode){
+			this.name = name;
+			this.hashCode = hashCode;
+		}
+
+		@Override
+		public int hashCode(){
+			return this.hashCode;
+		}
+
+		@Override
+		public boolean equals(Object object){
+
+			if(object instanceof Key){
+				Key that = (Key)object;
+
+				return Objects.equals(this.name, that.name) && (this.hashCode == that.hashCode);
+			}
+
+			return false;
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.SimplePredicate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ShardedPMMLObjectCacheTest {
+
+	@Test
+	public void intern(){
+		ShardedPMMLObjectCache<Predicate> cache = new ShardedPMMLObjectCache<>();
+
+		PredicateManager predicateManager = new PredicateManager(cache);
+		PredicateManager sharingPredicateManager = new PredicateManager(cache);
+
+		Feature feature = new ContinuousFeature(new ModelEncoder(), "x", DataType.DOUBLE);
+
+		Predicate predicate = predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.LESS_THAN, 1.5d);
+
+		assertSame(predicate, predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.LESS_THAN, 1.5d));
+		assertSame(predicate, sharingPredicateManager.createSimplePredicate(feature, SimplePredicate.Operator.LESS_THAN, 1.5d));
+
+		assertNotSame(predicate, predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.LESS_THAN, 2.5d));
+		assertNotSame(predicate, predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.LESS_OR_EQUAL, 1.5d));
+
+		assertEquals(3, cache.size());
+		assertEquals(2, cache.getHitCount());
+		assertEquals(3, cache.getMissCount());
+		assertEquals(0, cache.getEvictionCount());
+	}
+
+	@Test
+	public void evict(){
+		ShardedPMMLObjectCache<Predicate> cache = new ShardedPMMLObjectCache<>(4, 8);
+
+		PredicateManager predicateManager = new PredicateManager(cache);
+
+		Feature feature = new ContinuousFeature(new ModelEncoder(), "x", DataType.DOUBLE);
+
+		for(int i = 0; i < 100; i++){
+			predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.LESS_THAN, i);
+		}
+
+		assertTrue(cache.size() <= 8);
+		assertEquals(100, cache.getMissCount());
+		assertEquals(100 - cache.size(), cache.getEvictionCount());
+
+		assertThrows(IllegalArgumentException.class, () -> new ShardedPMMLObjectCache<>(0));
+	}
+
+	@Test
+	public void concurrentIntern(){
+		ShardedPMMLObjectCache<Predicate> cache = new ShardedPMMLObjectCache<>();
+
+		PredicateManager predicateManager = new PredicateManager(cache);
+
+		Feature feature = new ContinuousFeature(new ModelEncoder(), "x", DataType.DOUBLE);
+
+		List<Predicate> predicates = IntStream.range(0, 10_000).parallel()
+			.mapToObj(i -> predicateManager.createSimplePredicate(feature, SimplePredicate.Operator.LESS_THAN, i % 100))
+			.collect(Collectors.toList());
+
+		assertEquals(100, cache.size());
+		assertEquals(100, cache.getMissCount());
+		assertEquals(10_000 - 100, cache.getHitCount());
+
+		for(int i = 0; i < predicates.size(); i++){
+			assertSame(predicates.get(i % 100), predicates.get(i));
+		}
+	}
+}
\ No newline at end of file
@@ -24,6 +24,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Floats;
+import org.dmg.pmml.MathContext;
 import org.dmg.pmml.general_regression.GeneralRegressionModel;
 import org.dmg.pmml.general_regression.PCell;
 import org.dmg.pmml.general_regression.PPCell;
@@ -31,9 +34,11 @@ import org.dmg.pmml.general_regression.ParameterCell;
 import org.jpmml.converter.Feature;
 import org.jpmml.converter.ModelEncoder;
 import org.jpmml.converter.ModelTest;
+import org.jpmml.model.ReflectionUtil;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GeneralRegressionModelUtilTest extends ModelTest {
 
@@ -68,6 +73,36 @@ public class GeneralRegressionModelUtilTest extends ModelTest {
 		assertParameter(generalRegressionModel, "p1", (2d * 5d), Arrays.asList("x1", "x2"));
 	}
 
+	@Test
+	public void encodeRegressionTablePrimitive(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<Feature> features = Arrays.asList(
+			createConstantFeature(encoder, 3d),
+			createInteractionFeature(encoder, "x1", 5d, "x2"),
+			createInteractionFeature(encoder, "x3")
+		);
+
+		double[] coefficients = {2d, 0d, 4d};
+
+		GeneralRegressionModel expectedGeneralRegressionModel = GeneralRegressionModelUtil.encodeRegressionTable(new GeneralRegressionModel(), features, Doubles.asList(coefficients), 1d, null);
+		GeneralRegressionModel generalRegressionModel = GeneralRegressionModelUtil.encodeRegressionTable(new GeneralRegressionModel(), features, coefficients, 1d, null);
+
+		assertTrue(ReflectionUtil.equals(expectedGeneralRegressionModel, generalRegressionModel));
+
+		float[] floatCoefficients = Floats.toArray(Doubles.asList(coefficients));
+
+		expectedGeneralRegressionModel = GeneralRegressionModelUtil.encodeRegressionTable(new GeneralRegressionModel(), features, Floats.asList(floatCoefficients), 1d, null);
+		generalRegressionModel = GeneralRegressionModelUtil.encodeRegressionTable(new GeneralRegressionModel(), features, floatCoefficients, 1d, null);
+
+		assertTrue(ReflectionUtil.equals(expectedGeneralRegressionModel, generalRegressionModel));
+
+		expectedGeneralRegressionModel = GeneralRegressionModelUtil.encodeRegressionTable(MathContext.FLOAT, new GeneralRegressionModel(), features, Doubles.asList(coefficients), 1d, null);
+		generalRegressionModel = GeneralRegressionModelUtil.encodeRegressionTable(MathContext.FLOAT, new GeneralRegressionModel(), features, coefficients, 1d, null);
+
+		assertTrue(ReflectionUtil.equals(expectedGeneralRegressionModel, generalRegressionModel));
+	}
+
 	static
 	private void assertState(GeneralRegressionModel generalRegressionModel, boolean hasParameters, boolean hasPCells, boolean hasPPCells){
 		assertEquals(hasParameters, (generalRegressionModel.getParameterList()).hasParameters());
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.neural_network;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Floats;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.neural_network.NeuralInput;
+import org.dmg.pmml.neural_network.NeuralInputs;
+import org.dmg.pmml.neural_network.NeuralLayer;
+import org.dmg.pmml.neural_network.Neuron;
+import org.jpmml.converter.ContinuousFeature;
+import org.jpmml.converter.DoubleMatrix;
+import org.jpmml.converter.Feature;
+import org.jpmml.converter.FloatMatrix;
+import org.jpmml.converter.ModelEncoder;
+import org.jpmml.model.ReflectionUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class NeuralNetworkUtilTest {
+
+	@Test
+	public void createNeuralLayer(){
+		int numberOfInputs = 7;
+		int numberOfNeurons = 50;
+
+		List<NeuralInput> entities = createEntities(numberOfInputs);
+
+		SplittableRandom random = new SplittableRandom(42L);
+
+		double[] weights = new double[numberOfNeurons * numberOfInputs];
+
+		for(int i = 0; i < weights.length; i++){
+			weights[i] = (random.nextDouble() < 0.5d) ? random.nextDouble() : 0d;
+		}
+
+		weights[1] = Double.NaN;
+
+		double[] biases = new double[numberOfNeurons];
+
+		for(int i = 0; i < biases.length; i++){
+			biases[i] = (i % 2 == 0) ? i : 0d;
+		}
+
+		IntFunction<String> idFunction = (index) -> "1/" + String.valueOf(index + 1);
+
+		NeuralLayer expectedNeuralLayer = new NeuralLayer();
+
+		for(int i = 0; i < numberOfNeurons; i++){
+			List<Double> neuronWeights = Doubles.asList(weights).subList(i * numberOfInputs, (i + 1) * numberOfInputs);
+
+			Neuron neuron = NeuralNetworkUtil.createNeuron(entities, neuronWeights, biases[i])
+				.setId(idFunction.apply(i));
+
+			expectedNeuralLayer.addNeurons(neuron);
+		}
+
+		NeuralLayer neuralLayer = NeuralNetworkUtil.createNeuralLayer(entities, weights, biases, idFunction);
+
+		assertTrue(ReflectionUtil.equals(expectedNeuralLayer, neuralLayer));
+
+		Neuron neuron = (neuralLayer.getNeurons()).get(0);
+
+		assertEquals("1/1", neuron.requireId());
+		assertNull(neuron.getBias());
+		assertFalse((neuron.getConnections()).stream().anyMatch(connection -> ("input/2").equals(connection.getFrom())));
+
+		neuralLayer = NeuralNetworkUtil.createNeuralLayer(entities, new DoubleMatrix(weights, numberOfNeurons, numberOfInputs), Doubles.asList(biases), idFunction, ForkJoinPool.commonPool());
+
+		assertTrue(ReflectionUtil.equals(expectedNeuralLayer, neuralLayer));
+
+		// Transposed layout, with one column per neuron
+		double[] transposedWeights = new double[weights.length];
+
+		for(int i = 0; i < numberOfNeurons; i++){
+
+			for(int j = 0; j < numberOfInputs; j++){
+				transposedWeights[(j * numberOfNeurons) + i] = weights[(i * numberOfInputs) + j];
+			}
+		}
+
+		neuralLayer = NeuralNetworkUtil.createNeuralLayer(entities, new DoubleMatrix(transposedWeights, numberOfNeurons, numberOfInputs, true), Doubles.asList(biases), idFunction, null);
+
+		assertTrue(ReflectionUtil.equals(expectedNeuralLayer, neuralLayer));
+	}
+
+	@Test
+	public void createFloatNeuralLayer(){
+		List<NeuralInput> entities = createEntities(2);
+
+		float[] weights = {
+			1f, 0f,
+			0.5f, -0.5f
+		};
+
+		float[] biases = {0f, 1f};
+
+		IntFunction<String> idFunction = (index) -> "1/" + String.valueOf(index + 1);
+
+		NeuralLayer neuralLayer = NeuralNetworkUtil.createNeuralLayer(entities, weights, biases, idFunction);
+
+		NeuralLayer expectedNeuralLayer = new NeuralLayer()
+			.addNeurons(NeuralNetworkUtil.createNeuron(entities, Floats.asList(1f, 0f), 0f).setId("1/1"))
+			.addNeurons(NeuralNetworkUtil.createNeuron(entities, Floats.asList(0.5f, -0.5f), 1f).setId("1/2"));
+
+		assertTrue(ReflectionUtil.equals(expectedNeuralLayer, neuralLayer));
+
+		neuralLayer = NeuralNetworkUtil.createNeuralLayer(entities, new FloatMatrix(weights, 2, 2), Floats.asList(biases), idFunction, ForkJoinPool.commonPool());
+
+		assertTrue(ReflectionUtil.equals(expectedNeuralLayer, neuralLayer));
+
+		assertThrows(NullPointerException.class, () -> NeuralNetworkUtil.createNeuralLayer(entities, weights, biases, null));
+	}
+
+	static
+	private List<NeuralInput> createEntities(int size){
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<Feature> features = new ArrayList<>();
+
+		for(int i = 0; i < size; i++){
+			features.add(new ContinuousFeature(encoder, "x" + (i + 1), DataType.DOUBLE));
+		}
+
+		NeuralInputs neuralInputs = NeuralNetworkUtil.createNeuralInputs(features, DataType.DOUBLE);
+
+		return neuralInputs.getNeuralInputs();
+	}
+}
\ No newline at end of file
@@ -18,13 +18,19 @@
  */
 package org.jpmml.converter.regression;
 
+import java.util.AbstractList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import com.google.common.collect.Iterables;
+import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Floats;
 import org.dmg.pmml.DataType;
 import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.MathContext;
 import org.dmg.pmml.regression.CategoricalPredictor;
 import org.dmg.pmml.regression.NumericPredictor;
 import org.dmg.pmml.regression.PredictorTerm;
@@ -34,9 +40,13 @@ import org.jpmml.converter.ContinuousFeature;
 import org.jpmml.converter.Feature;
 import org.jpmml.converter.ModelEncoder;
 import org.jpmml.converter.ModelTest;
+import org.jpmml.converter.ProductFeature;
+import org.jpmml.converter.Schema;
+import org.jpmml.model.ReflectionUtil;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RegressionModelUtilTest extends ModelTest {
 
@@ -103,6 +113,93 @@ public class RegressionModelUtilTest extends ModelTest {
 		assertEquals(1d + 1d, numericPredictor.requireCoefficient());
 	}
 
+	@Test
+	public void createRegressionTablePrimitive(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Feature continuousFeature = new ContinuousFeature(encoder, "x", DataType.DOUBLE);
+		Feature booleanFeature = new BooleanFeature(encoder, "b");
+
+		List<Feature> features = Arrays.asList(
+			continuousFeature,
+			booleanFeature,
+			new ProductFeature(encoder, continuousFeature, 3d),
+			createConstantFeature(encoder, 3d),
+			createInteractionFeature(encoder, "x1", 5d, "x2"),
+			new ContinuousFeature(encoder, "y", DataType.DOUBLE),
+			booleanFeature,
+			continuousFeature
+		);
+
+		double[] coefficients = {1.5d, 2d, 0.5d, 2d, 4d, 0d, Double.NaN, -1d};
+
+		for(MathContext mathContext : Arrays.asList(null, MathContext.DOUBLE, MathContext.FLOAT)){
+			RegressionTable expectedRegressionTable = RegressionModelUtil.createRegressionTable(mathContext, features, Doubles.asList(coefficients), 1d);
+			RegressionTable regressionTable = RegressionModelUtil.createRegressionTable(mathContext, features, coefficients, 1d);
+
+			assertTrue(ReflectionUtil.equals(expectedRegressionTable, regressionTable));
+
+			float[] floatCoefficients = Floats.toArray(Doubles.asList(coefficients));
+
+			expectedRegressionTable = RegressionModelUtil.createRegressionTable(mathContext, features, Floats.asList(floatCoefficients), 1d);
+			regressionTable = RegressionModelUtil.createRegressionTable(mathContext, features, floatCoefficients, 1d);
+
+			assertTrue(ReflectionUtil.equals(expectedRegressionTable, regressionTable));
+		}
+
+		RegressionTable regressionTable = RegressionModelUtil.createRegressionTable(features, coefficients, 1d);
+
+		NumericPredictor numericPredictor = Iterables.getOnlyElement(regressionTable.getNumericPredictors());
+
+		assertEquals("x", numericPredictor.requireField());
+		assertEquals(1.5d + (0.5d * 3d) - 1d, numericPredictor.requireCoefficient());
+
+		CategoricalPredictor categoricalPredictor = Iterables.getOnlyElement(regressionTable.getCategoricalPredictors());
+
+		assertEquals(2d, categoricalPredictor.requireCoefficient());
+	}
+
+	@Test
+	public void createSparseRegressionTable(){
+		ModelEncoder encoder = new ModelEncoder();
+
+		Set<Integer> resolvedIndexes = new TreeSet<>();
+
+		List<Feature> features = new AbstractList<Feature>(){
+
+			@Override
+			public Feature get(int index){
+				resolvedIndexes.add(index);
+
+				return new ContinuousFeature(encoder, "x" + index, DataType.DOUBLE);
+			}
+
+			@Override
+			public int size(){
+				return 10_000_000;
+			}
+		};
+
+		Schema schema = new Schema(encoder, null, features);
+
+		int[] indices = {7, 42, 9_999_999, 100, 42};
+		double[] coefficients = {1d, 2d, 3d, 0d, 0.5d};
+
+		RegressionTable regressionTable = RegressionModelUtil.createRegressionTable(schema, indices, coefficients, 1d);
+
+		assertEquals(new TreeSet<>(Arrays.asList(7, 42, 9_999_999)), resolvedIndexes);
+
+		List<Feature> denseFeatures = Arrays.asList(features.get(7), features.get(42), features.get(9_999_999), features.get(42));
+		double[] denseCoefficients = {1d, 2d, 3d, 0.5d};
+
+		assertTrue(ReflectionUtil.equals(RegressionModelUtil.createRegressionTable(denseFeatures, denseCoefficients, 1d), regressionTable));
+
+		List<NumericPredictor> numericPredictors = regressionTable.getNumericPredictors();
+
+		assertEquals(3, numericPredictors.size());
+		assertEquals(2d + 0.5d, (numericPredictors.get(1)).requireCoefficient());
+	}
+
 	static
 	private void assertState(RegressionTable regressionTable, double intercept, boolean hasNumericTerms, boolean hasCategoricalTerms, boolean hasInteractionTerms){
 		assertEquals((Double)intercept, (Double)regressionTable.requireIntercept());
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.support_vector_machine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import com.google.common.primitives.Doubles;
+import org.dmg.pmml.ComplexArray;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.RealSparseArray;
+import org.dmg.pmml.support_vector_machine.VectorDictionary;
+import org.dmg.pmml.support_vector_machine.VectorFields;
+import org.dmg.pmml.support_vector_machine.VectorInstance;
+import org.jpmml.converter.CMatrix;
+import org.jpmml.converter.ContinuousFeature;
+import org.jpmml.converter.DoubleMatrix;
+import org.jpmml.converter.Feature;
+import org.jpmml.converter.ModelEncoder;
+import org.jpmml.converter.Schema;
+import org.jpmml.model.ReflectionUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LibSVMUtilTest {
+
+	@Test
+	public void createVectorDictionary(){
+		int numberOfVectors = 1000;
+		int numberOfFeatures = 5;
+
+		double[] values = new double[numberOfVectors * numberOfFeatures];
+
+		for(int i = 0; i < numberOfVectors; i++){
+			// The third feature is never used
+			values[(i * numberOfFeatures) + 0] = (i % 2 == 0) ? i : 0d;
+			values[(i * numberOfFeatures) + 1] = (i % 3 == 0) ? -i : 0d;
+			values[(i * numberOfFeatures) + 3] = (i % 5 == 0) ? 0.5d : 0d;
+			values[(i * numberOfFeatures) + 4] = (i == numberOfVectors - 1) ? 1d : 0d;
+		}
+
+		List<String> ids = new ArrayList<>();
+
+		for(int i = 0; i < numberOfVectors; i++){
+			ids.add(String.valueOf(i));
+		}
+
+		ModelEncoder encoder = new ModelEncoder();
+
+		List<Feature> features = new ArrayList<>();
+
+		for(int i = 0; i < numberOfFeatures; i++){
+			features.add(new ContinuousFeature(encoder, "x" + (i + 1), DataType.DOUBLE));
+		}
+
+		Schema schema = new Schema(encoder, null, features);
+
+		CMatrix<Double> sv = new CMatrix<>(new ArrayList<>(Doubles.asList(values)), numberOfVectors, numberOfFeatures);
+
+		VectorDictionary vectorDictionary = LibSVMUtil.createVectorDictionary(sv, ids, schema);
+
+		VectorFields vectorFields = vectorDictionary.getVectorFields();
+
+		assertEquals(4, (vectorFields.getContent()).size());
+
+		List<VectorInstance> vectorInstances = vectorDictionary.getVectorInstances();
+
+		assertEquals(numberOfVectors, vectorInstances.size());
+
+		// Non-zero values for x1, x2 and x4
+		VectorInstance vectorInstance = vectorInstances.get(30);
+
+		assertEquals("30", vectorInstance.getId());
+		assertNull(vectorInstance.getRealSparseArray());
+		assertEquals(Arrays.asList(30d, -30d, 0.5d, 0d), ((ComplexArray)vectorInstance.getArray()).getValue());
+
+		// Non-zero value for x1
+		vectorInstance = vectorInstances.get(2);
+
+		RealSparseArray sparseArray = vectorInstance.getRealSparseArray();
+
+		assertNotNull(sparseArray);
+		assertNull(vectorInstance.getArray());
+
+		assertEquals((Integer)4, sparseArray.getN());
+		assertEquals(Arrays.asList(1), sparseArray.getIndices());
+		assertEquals(Arrays.asList(2d), sparseArray.getEntries());
+
+		assertTrue(ReflectionUtil.equals(vectorDictionary, LibSVMUtil.createVectorDictionary(sv, ids, schema, ForkJoinPool.commonPool())));
+
+		DoubleMatrix primitiveSv = new DoubleMatrix(values, numberOfVectors, numberOfFeatures);
+
+		assertTrue(ReflectionUtil.equals(vectorDictionary, LibSVMUtil.createVectorDictionary(primitiveSv, ids, schema)));
+		assertTrue(ReflectionUtil.equals(vectorDictionary, LibSVMUtil.createVectorDictionary(primitiveSv, ids, schema, ForkJoinPool.commonPool())));
+	}
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableMap;
+import org.dmg.pmml.DataDictionary;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.Expression;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.Header;
+import org.dmg.pmml.LocalTransformations;
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.TransformationDictionary;
+import org.dmg.pmml.Version;
+import org.dmg.pmml.regression.NumericPredictor;
+import org.dmg.pmml.regression.RegressionModel;
+import org.dmg.pmml.regression.RegressionTable;
+import org.jpmml.converter.ExpressionUtil;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DerivedFieldDeduplicatorTest {
+
+	@Test
+	public void deduplicate(){
+		TransformationDictionary transformationDictionary = new TransformationDictionary()
+			.addDerivedFields(
+				createDerivedField("a", ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef("x"), ExpressionUtil.createConstant(2d))),
+				createDerivedField("b", ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef("x"), ExpressionUtil.createConstant(2d))),
+				createDerivedField("c", ExpressionUtil.createApply(PMMLFunctions.LN, new FieldRef("a"))),
+				createDerivedField("d", ExpressionUtil.createApply(PMMLFunctions.LN, new FieldRef("b"))),
+				// Differs by the constant
+				createDerivedField("e", ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, new FieldRef("x"), ExpressionUtil.createConstant(3d)))
+			);
+
+		LocalTransformations localTransformations = new LocalTransformations()
+			.addDerivedFields(
+				createDerivedField("f", new FieldRef("d")),
+				createDerivedField("g", new FieldRef("c"))
+			);
+
+		MiningSchema miningSchema = new MiningSchema()
+			.addMiningFields(new MiningField("x"), new MiningField("b"));
+
+		RegressionTable regressionTable = new RegressionTable(0d)
+			.addNumericPredictors(new NumericPredictor("b", 1d), new NumericPredictor("e", 1d), new NumericPredictor("g", 1d));
+
+		RegressionModel regressionModel = new RegressionModel(MiningFunction.REGRESSION, miningSchema, Collections.singletonList(regressionTable))
+			.setLocalTransformations(localTransformations);
+
+		PMML pmml = new PMML(Version.PMML_4_4.getVersion(), new Header(), new DataDictionary())
+			.setTransformationDictionary(transformationDictionary)
+			.addModels(regressionModel);
+
+		DerivedFieldDeduplicator deduplicator = new DerivedFieldDeduplicator();
+		deduplicator.applyTo(pmml);
+
+		assertEquals(Arrays.asList("a", "c", "e"), getNames(transformationDictionary.getDerivedFields()));
+		assertEquals(Arrays.asList("f"), getNames(localTransformations.getDerivedFields()));
+
+		DerivedField derivedField = (localTransformations.getDerivedFields()).get(0);
+
+		assertEquals("c", ((FieldRef)derivedField.requireExpression()).requireField());
+
+		assertEquals(Arrays.asList("x", "a"), (miningSchema.getMiningFields()).stream().map(MiningField::requireName).collect(Collectors.toList()));
+		assertEquals(Arrays.asList("a", "e", "f"), (regressionTable.getNumericPredictors()).stream().map(NumericPredictor::requireField).collect(Collectors.toList()));
+
+		Map<Model, Map<String, String>> fieldRenamings = deduplicator.getFieldRenamings();
+
+		assertEquals(ImmutableMap.of("b", "a", "d", "c", "g", "f"), fieldRenamings.get(regressionModel));
+	}
+
+	static
+	private DerivedField createDerivedField(String name, Expression expression){
+		return new DerivedField(name, OpType.CONTINUOUS, DataType.DOUBLE, expression);
+	}
+
+	static
+	private List<String> getNames(List<DerivedField> derivedFields){
+		return derivedFields.stream()
+			.map(DerivedField::requireName)
+			.collect(Collectors.toList());
+	}
+}
\ No newline at end of file
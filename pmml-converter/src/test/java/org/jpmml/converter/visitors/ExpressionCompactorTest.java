@@ -19,16 +19,21 @@
 package org.jpmml.converter.visitors;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.dmg.pmml.Apply;
 import org.dmg.pmml.Constant;
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
 import org.dmg.pmml.Expression;
 import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.OpType;
 import org.dmg.pmml.PMMLFunctions;
 import org.jpmml.converter.ExpressionUtil;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 public class ExpressionCompactorTest {
 
@@ -96,6 +101,52 @@ public class ExpressionCompactorTest {
 		checkNegation(PMMLFunctions.LESSOREQUAL, PMMLFunctions.GREATERTHAN, fieldRef, constant);
 	}
 
+	@Test
+	public void compactArithmeticExpression(){
+		FieldRef fieldRef = new FieldRef("x");
+
+		assertSame(fieldRef, compactExpression(ExpressionUtil.toNegative(ExpressionUtil.toNegative(fieldRef))));
+
+		assertSame(fieldRef, compactExpression(ExpressionUtil.createApply(PMMLFunctions.ADD, fieldRef, ExpressionUtil.createConstant(0))));
+		assertSame(fieldRef, compactExpression(ExpressionUtil.createApply(PMMLFunctions.SUBTRACT, fieldRef, ExpressionUtil.createConstant(0))));
+		assertSame(fieldRef, compactExpression(ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createConstant(1), fieldRef)));
+
+		Constant constant = (Constant)compactExpression(ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createConstant(2), ExpressionUtil.createApply(PMMLFunctions.ADD, ExpressionUtil.createConstant(1), ExpressionUtil.createConstant(2))));
+
+		assertEquals(DataType.INTEGER, constant.getDataType());
+		assertEquals(6, constant.getValue());
+
+		constant = (Constant)compactExpression(ExpressionUtil.createApply(PMMLFunctions.DIVIDE, ExpressionUtil.createConstant(1), ExpressionUtil.createConstant(2)));
+
+		assertEquals(DataType.DOUBLE, constant.getDataType());
+		assertEquals(0.5d, constant.getValue());
+
+		Apply apply = (Apply)compactExpression(ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createConstant(3), ExpressionUtil.toNegative(fieldRef)));
+
+		assertEquals(PMMLFunctions.MULTIPLY, apply.requireFunction());
+
+		List<Expression> expressions = apply.getExpressions();
+
+		assertEquals(2, expressions.size());
+
+		constant = (Constant)expressions.get(0);
+
+		assertEquals(-3, constant.getValue());
+		assertSame(fieldRef, expressions.get(1));
+
+		checkUnfolded(ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, fieldRef, ExpressionUtil.createConstant(1d)));
+		checkUnfolded(ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, fieldRef, ExpressionUtil.createConstant(0)));
+		checkUnfolded(ExpressionUtil.createApply(PMMLFunctions.DIVIDE, ExpressionUtil.createConstant(1), ExpressionUtil.createConstant(0)));
+		checkUnfolded(ExpressionUtil.createApply(PMMLFunctions.MULTIPLY, ExpressionUtil.createConstant(Integer.MAX_VALUE), ExpressionUtil.createConstant(2)));
+		checkUnfolded(ExpressionUtil.createApply(PMMLFunctions.ADD, fieldRef, ExpressionUtil.createConstant(0))
+			.setMapMissingTo(0));
+	}
+
+	static
+	private void checkUnfolded(Apply apply){
+		assertSame(apply, compactExpression(apply));
+	}
+
 	static
 	private void checkNegation(String function, String negatedFunction, Expression... expressions){
 		Apply apply = ExpressionUtil.createApply(function, expressions);
@@ -118,4 +169,14 @@ public class ExpressionCompactorTest {
 
 		return apply;
 	}
+
+	static
+	private Expression compactExpression(Expression expression){
+		DerivedField derivedField = new DerivedField("y", OpType.CONTINUOUS, DataType.DOUBLE, expression);
+
+		ExpressionCompactor compactor = new ExpressionCompactor();
+		compactor.applyTo(derivedField);
+
+		return derivedField.requireExpression();
+	}
 }
\ No newline at end of file
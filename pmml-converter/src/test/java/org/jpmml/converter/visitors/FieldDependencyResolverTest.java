@@ -22,17 +22,27 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import org.dmg.pmml.DataDictionary;
 import org.dmg.pmml.DataField;
+import org.dmg.pmml.DataType;
 import org.dmg.pmml.DerivedField;
 import org.dmg.pmml.Field;
+import org.dmg.pmml.FieldRef;
+import org.dmg.pmml.Header;
+import org.dmg.pmml.OpType;
 import org.dmg.pmml.OutputField;
 import org.dmg.pmml.PMML;
+import org.dmg.pmml.PMMLFunctions;
+import org.dmg.pmml.TransformationDictionary;
 import org.dmg.pmml.Visitor;
 import org.dmg.pmml.VisitorAction;
+import org.jpmml.converter.ExpressionUtil;
+import org.jpmml.converter.PMMLEncoder;
 import org.jpmml.model.resources.ChainedSegmentationTest;
 import org.jpmml.model.resources.NestedSegmentationTest;
 import org.jpmml.model.resources.ResourceUtil;
@@ -142,6 +152,50 @@ public class FieldDependencyResolverTest {
 		visitor.applyTo(pmml);
 	}
 
+	@Test
+	public void expandDeep(){
+		DataField x = new DataField("x", OpType.CONTINUOUS, DataType.DOUBLE);
+		DataField y = new DataField("y", OpType.CONTINUOUS, DataType.DOUBLE);
+
+		TransformationDictionary transformationDictionary = new TransformationDictionary();
+
+		DerivedField derivedField = new DerivedField("x_0", OpType.CONTINUOUS, DataType.DOUBLE, new FieldRef("x"));
+
+		transformationDictionary.addDerivedFields(derivedField);
+
+		// Exceeds the height limit of the old fixpoint iteration algorithm
+		for(int i = 1; i < 200; i++){
+			DerivedField prevDerivedField = derivedField;
+
+			derivedField = new DerivedField("x_" + i, OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createApply(PMMLFunctions.ADD, new FieldRef(prevDerivedField.requireName()), new FieldRef(((i % 2) == 0) ? "x" : "y")));
+
+			transformationDictionary.addDerivedFields(derivedField);
+		}
+
+		PMML pmml = new PMML(PMMLEncoder.VERSION.getVersion(), new Header(), new DataDictionary().addDataFields(x, y))
+			.setTransformationDictionary(transformationDictionary);
+
+		FieldDependencyResolver resolver = new FieldDependencyResolver();
+		resolver.applyTo(pmml);
+
+		Set<Field<?>> fields = new LinkedHashSet<>();
+		fields.add(derivedField);
+
+		Set<Field<?>> expandedFields = resolver.expand(fields, resolver.getGlobalDerivedFields());
+
+		assertEquals(new HashSet<>(Arrays.asList(x, y)), fields);
+		assertEquals(200, expandedFields.size());
+
+		fields = new LinkedHashSet<>();
+		fields.add(derivedField);
+
+		assertEquals(expandedFields, resolver.expand(fields, resolver.getGlobalDerivedFieldIds()));
+		assertEquals(new HashSet<>(Arrays.asList(x, y)), fields);
+
+		assertEquals(200, (resolver.getGlobalDerivedFieldIds()).cardinality());
+		assertEquals(0, (resolver.getLocalDerivedFieldIds()).cardinality());
+	}
+
 	static
 	private void checkFields(Collection<String> names, Set<Field<?>> fields){
 		assertEquals(new HashSet<>(names), FieldUtil.nameSet(fields));
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.dmg.pmml.DataType;
+import org.dmg.pmml.DerivedField;
+import org.dmg.pmml.LocalTransformations;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.OpType;
+import org.dmg.pmml.Output;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.Targets;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.jpmml.converter.ExpressionUtil;
+import org.jpmml.model.ReflectionUtil;
+import org.jpmml.model.resources.ChainedSegmentationTest;
+import org.jpmml.model.resources.NestedSegmentationTest;
+import org.jpmml.model.resources.ResourceUtil;
+import org.jpmml.model.visitors.AbstractVisitor;
+import org.jpmml.model.visitors.VisitorBattery;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModelCleanerBatteryTest {
+
+	@Test
+	public void getPasses(){
+		ModelCleanerBattery modelCleanerBattery = new ModelCleanerBattery();
+
+		List<List<Class<? extends Visitor>>> passes = modelCleanerBattery.getPasses();
+
+		assertEquals(5, passes.size());
+		assertEquals(4, (passes.get(4)).size());
+
+		modelCleanerBattery = new ModelCleanerBattery(true);
+
+		passes = modelCleanerBattery.getPasses();
+
+		assertEquals(6, passes.size());
+		assertEquals(Arrays.asList(DerivedFieldDeduplicator.class), passes.get(0));
+
+		PMMLCleanerBattery pmmlCleanerBattery = new PMMLCleanerBattery();
+
+		passes = pmmlCleanerBattery.getPasses();
+
+		assertEquals(1, passes.size());
+		assertEquals(2, (passes.get(0)).size());
+	}
+
+	@Test
+	public void cleanChained() throws Exception {
+		checkClean(ResourceUtil.unmarshal(ChainedSegmentationTest.class), ResourceUtil.unmarshal(ChainedSegmentationTest.class));
+	}
+
+	@Test
+	public void cleanNested() throws Exception {
+		checkClean(ResourceUtil.unmarshal(NestedSegmentationTest.class), ResourceUtil.unmarshal(NestedSegmentationTest.class));
+	}
+
+	@Test
+	public void cleanNestedContainers() throws Exception {
+		PMML expectedPmml = ResourceUtil.unmarshal(NestedSegmentationTest.class);
+		PMML actualPmml = ResourceUtil.unmarshal(NestedSegmentationTest.class);
+
+		addContainers(expectedPmml);
+		addContainers(actualPmml);
+
+		checkClean(expectedPmml, actualPmml);
+
+		List<Model> models = new ArrayList<>();
+
+		Visitor visitor = new AbstractVisitor(){
+
+			@Override
+			public VisitorAction visit(Model model){
+				models.add(model);
+
+				return super.visit(model);
+			}
+		};
+		visitor.applyTo(actualPmml);
+
+		assertTrue(models.size() > 2);
+
+		for(Model model : models){
+			LocalTransformations localTransformations = model.getLocalTransformations();
+			Targets targets = model.getTargets();
+			Output output = model.getOutput();
+
+			assertTrue(localTransformations == null || localTransformations.hasDerivedFields());
+			assertTrue(targets == null || targets.hasTargets());
+			assertTrue(output == null || output.hasOutputFields());
+		}
+	}
+
+	/**
+	 * <p>
+	 * Adds empty (or soon to be empty) field containers to models at all levels of the segmentation hierarchy.
+	 * </p>
+	 */
+	static
+	private void addContainers(PMML pmml){
+		Visitor visitor = new AbstractVisitor(){
+
+			private int count = 0;
+
+
+			@Override
+			public VisitorAction visit(Model model){
+
+				if(model.getLocalTransformations() == null){
+					DerivedField derivedField = new DerivedField("unused" + String.valueOf(this.count), OpType.CONTINUOUS, DataType.DOUBLE, ExpressionUtil.createConstant(this.count));
+
+					model.setLocalTransformations(new LocalTransformations()
+						.addDerivedFields(derivedField));
+				} // End if
+
+				if(model.getTargets() == null){
+					model.setTargets(new Targets());
+				} // End if
+
+				if(model.getOutput() == null){
+					model.setOutput(new Output());
+				}
+
+				this.count++;
+
+				return super.visit(model);
+			}
+		};
+		visitor.applyTo(pmml);
+	}
+
+	static
+	private void checkClean(PMML expectedPmml, PMML actualPmml){
+		VisitorBattery sequentialBattery = new VisitorBattery();
+		sequentialBattery.addAll(new ModelCleanerBattery());
+		sequentialBattery.addAll(new PMMLCleanerBattery());
+
+		sequentialBattery.applyTo(expectedPmml);
+
+		ModelCleanerBattery modelCleanerBattery = new ModelCleanerBattery();
+		modelCleanerBattery.applyTo(actualPmml);
+
+		PMMLCleanerBattery pmmlCleanerBattery = new PMMLCleanerBattery();
+		pmmlCleanerBattery.applyTo(actualPmml);
+
+		assertTrue(ReflectionUtil.equals(expectedPmml, actualPmml));
+	}
+}
\ No newline at end of file
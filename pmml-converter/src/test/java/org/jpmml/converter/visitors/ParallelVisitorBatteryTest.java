@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2026 Villu Ruusmann
+ *
+ * This file is part of JPMML-Converter
+ *
+ * JPMML-Converter is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * JPMML-Converter is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with JPMML-Converter.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.jpmml.converter.visitors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dmg.pmml.False;
+import org.dmg.pmml.MiningField;
+import org.dmg.pmml.MiningFunction;
+import org.dmg.pmml.MiningSchema;
+import org.dmg.pmml.Model;
+import org.dmg.pmml.PMML;
+import org.dmg.pmml.Predicate;
+import org.dmg.pmml.SimplePredicate;
+import org.dmg.pmml.True;
+import org.dmg.pmml.Visitor;
+import org.dmg.pmml.VisitorAction;
+import org.dmg.pmml.mining.MiningModel;
+import org.dmg.pmml.mining.Segment;
+import org.dmg.pmml.mining.Segmentation;
+import org.dmg.pmml.tree.ComplexNode;
+import org.dmg.pmml.tree.Node;
+import org.dmg.pmml.tree.TreeModel;
+import org.jpmml.converter.ModelEncoder;
+import org.jpmml.model.ReflectionUtil;
+import org.jpmml.model.resources.ChainedSegmentationTest;
+import org.jpmml.model.resources.NestedSegmentationTest;
+import org.jpmml.model.resources.ResourceUtil;
+import org.jpmml.model.visitors.AbstractVisitor;
+import org.jpmml.model.visitors.VisitorBattery;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelVisitorBatteryTest {
+
+	@Test
+	public void cleanEnsemble(){
+		MiningModel expectedMiningModel = createEnsemble(3, 50);
+		MiningModel actualMiningModel = createEnsemble(3, 50);
+
+		assertTrue(ReflectionUtil.equals(expectedMiningModel, actualMiningModel));
+
+		VisitorBattery sequentialBattery = new VisitorBattery();
+		sequentialBattery.add(TreeModelPruner.class);
+		sequentialBattery.add(ExpressionCompactor.class);
+		sequentialBattery.add(AttributeCleaner.class);
+
+		sequentialBattery.applyTo(expectedMiningModel);
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+		try {
+			VisitorBattery parallelBattery = new ParallelVisitorBattery(forkJoinPool);
+			parallelBattery.addAll(sequentialBattery);
+
+			parallelBattery.applyTo(actualMiningModel);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+
+		assertTrue(ReflectionUtil.equals(expectedMiningModel, actualMiningModel));
+	}
+
+	@Test
+	public void applyVisitors(){
+		MiningModel expectedMiningModel = createEnsemble(3, 50);
+		MiningModel actualMiningModel = createEnsemble(3, 50);
+
+		List<Class<? extends Visitor>> visitorClazzes = Arrays.asList(TreeModelPruner.class, ExpressionCompactor.class);
+
+		ModelEncoder encoder = new ModelEncoder();
+		encoder.applyVisitors(expectedMiningModel, visitorClazzes);
+
+		List<Segment> segments = new ArrayList<>((actualMiningModel.getSegmentation()).getSegments());
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+		try {
+			encoder.setForkJoinPool(forkJoinPool);
+			encoder.applyVisitors(actualMiningModel, visitorClazzes);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+
+		assertEquals(segments, (actualMiningModel.getSegmentation()).getSegments());
+
+		assertTrue(ReflectionUtil.equals(expectedMiningModel, actualMiningModel));
+	}
+
+	@Test
+	public void cleanSharedObjects(){
+		SimplePredicate sharedPredicate = new SimplePredicate("x", SimplePredicate.Operator.LESS_THAN, 0);
+
+		List<Segment> segments = new ArrayList<>();
+
+		for(int i = 0; i < 100; i++){
+			Node root = new ComplexNode()
+				.setScore(i)
+				.setPredicate(True.INSTANCE)
+				.addNodes(new ComplexNode(1, sharedPredicate), new ComplexNode(2, True.INSTANCE));
+
+			TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, createMiningSchema(), root);
+
+			segments.add(new Segment(sharedPredicate, treeModel));
+		}
+
+		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, createMiningSchema())
+			.setSegmentation(new Segmentation(Segmentation.MultipleModelMethod.SUM, segments));
+
+		ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+
+		try {
+			VisitorBattery parallelBattery = new ParallelVisitorBattery(forkJoinPool);
+			parallelBattery.add(SharedPredicateCounter.class);
+
+			SharedPredicateCounter.sharedPredicate = sharedPredicate;
+
+			parallelBattery.applyTo(miningModel);
+		} finally {
+			forkJoinPool.shutdown();
+		}
+
+		assertEquals(1, SharedPredicateCounter.count.get());
+	}
+
+	@Test
+	public void cleanChained() throws Exception {
+		checkClean(ResourceUtil.unmarshal(ChainedSegmentationTest.class), ResourceUtil.unmarshal(ChainedSegmentationTest.class));
+	}
+
+	@Test
+	public void cleanNested() throws Exception {
+		checkClean(ResourceUtil.unmarshal(NestedSegmentationTest.class), ResourceUtil.unmarshal(NestedSegmentationTest.class));
+	}
+
+	static
+	private void checkClean(PMML expectedPmml, PMML actualPmml){
+		VisitorBattery sequentialBattery = new VisitorBattery();
+		sequentialBattery.addAll(new PMMLCleanerBattery());
+
+		sequentialBattery.applyTo(expectedPmml);
+
+		VisitorBattery parallelBattery = new ParallelVisitorBattery();
+		parallelBattery.addAll(new PMMLCleanerBattery());
+
+		parallelBattery.applyTo(actualPmml);
+
+		assertTrue(ReflectionUtil.equals(expectedPmml, actualPmml));
+	}
+
+	static
+	private MiningModel createEnsemble(int depth, int size){
+		List<Segment> segments = new ArrayList<>();
+
+		for(int i = 0; i < size; i++){
+			Model model;
+
+			// Nest every tenth segment
+			if(i % 10 == 9){
+				model = createEnsemble(depth, 5);
+			} else
+
+			{
+				model = createTree(depth, i);
+			}
+
+			Segment segment = new Segment(True.INSTANCE, model)
+				.setId(String.valueOf(i + 1));
+
+			segments.add(segment);
+		}
+
+		MiningModel miningModel = new MiningModel(MiningFunction.REGRESSION, createMiningSchema())
+			.setSegmentation(new Segmentation(Segmentation.MultipleModelMethod.SUM, segments));
+
+		return miningModel;
+	}
+
+	static
+	private TreeModel createTree(int depth, int seed){
+		Node root = createNode(0, depth, seed, True.INSTANCE);
+
+		TreeModel treeModel = new TreeModel(MiningFunction.REGRESSION, createMiningSchema(), root)
+			.setMissingValueStrategy(TreeModel.MissingValueStrategy.NONE);
+
+		return treeModel;
+	}
+
+	static
+	private Node createNode(int level, int depth, int seed, Predicate predicate){
+		Node node = new ComplexNode()
+			.setScore(level + seed)
+			.setPredicate(predicate);
+
+		if(level < depth){
+
+			// Single-child chains and false predicates are prunable
+			if((level + seed) % 3 == 0){
+				node.addNodes(createNode(level + 1, depth, seed, predicate));
+			} else
+
+			{
+				node.addNodes(
+					createNode(level + 1, depth, seed, new SimplePredicate("x", SimplePredicate.Operator.LESS_THAN, level)),
+					createNode(level + 1, depth, seed, ((level + seed) % 3 == 1) ? False.INSTANCE : new SimplePredicate("x", SimplePredicate.Operator.GREATER_OR_EQUAL, level))
+				);
+			}
+		}
+
+		return node;
+	}
+
+	static
+	private MiningSchema createMiningSchema(){
+		MiningSchema miningSchema = new MiningSchema()
+			.addMiningFields(new MiningField("x").setUsageType(MiningField.UsageType.ACTIVE));
+
+		return miningSchema;
+	}
+
+	static
+	public class SharedPredicateCounter extends AbstractVisitor {
+
+		private static SimplePredicate sharedPredicate = null;
+
+		private static AtomicInteger count = new AtomicInteger();
+
+
+		@Override
+		public VisitorAction visit(SimplePredicate simplePredicate){
+
+			if(simplePredicate == SharedPredicateCounter.sharedPredicate){
+				SharedPredicateCounter.count.incrementAndGet();
+			}
+
+			return super.visit(simplePredicate);
+		}
+	}
+}
\ No newline at end of file